@@ -0,0 +1,57 @@
+package benchmarks;
+
+import com.feedbacks.FeedbackSystem.security.JwtUtils;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.concurrent.TimeUnit;
+
+// Token issue and validation cost per request.
+// extractUsername / isTokenValid hit the verified-token cache after the first call,
+// parseClaims always goes through signature verification and is the cold-path baseline.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+
+    private static final String SECRET = "benchmark-secret-benchmark-secret-benchmark-secret-0123456789";
+
+    private JwtUtils jwtUtils;
+    private UserDetails userDetails;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtils = new JwtUtils(SECRET, 432000, 10_000);
+        userDetails = User.withUsername("student42@example.com")
+                .password("{noop}secret")
+                .roles("STUDENT")
+                .build();
+        token = jwtUtils.generateToken(userDetails);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtils.generateToken(userDetails);
+    }
+
+    @Benchmark
+    public String extractUsername() {
+        return jwtUtils.extractUsername(token);
+    }
+
+    @Benchmark
+    public boolean isTokenValid() {
+        return jwtUtils.isTokenValid(token, userDetails);
+    }
+
+    @Benchmark
+    public String parseClaims() {
+        return jwtUtils.extractClaim(token, Claims::getSubject);
+    }
+}
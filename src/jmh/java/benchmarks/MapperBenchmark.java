@@ -0,0 +1,83 @@
+package benchmarks;
+
+import com.feedbacks.FeedbackSystem.DTO.EntityDTO.responseDTOs.CourseResponseDTO;
+import com.feedbacks.FeedbackSystem.DTO.EntityDTO.responseDTOs.FeedbackResponseDTO;
+import com.feedbacks.FeedbackSystem.mapper.CourseMapper;
+import com.feedbacks.FeedbackSystem.mapper.FeedbackMapper;
+import com.feedbacks.FeedbackSystem.model.Course;
+import com.feedbacks.FeedbackSystem.model.Feedback;
+import com.feedbacks.FeedbackSystem.model.Instructor;
+import com.feedbacks.FeedbackSystem.model.User;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+// Entity -> response DTO mapping on the hot listing paths (entities fully populated, no database)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    private FeedbackMapper feedbackMapper;
+    private CourseMapper courseMapper;
+    private Feedback feedback;
+    private Feedback anonymousFeedback;
+    private Course course;
+
+    @Setup
+    public void setUp() {
+        Instructor instructor = new Instructor();
+        instructor.setInstructorId(7);
+        instructor.setInstructorName("Jane Doe");
+
+        course = new Course();
+        course.setCourseId(3);
+        course.setCourseName("Distributed Systems");
+        course.setCourseDescription("Consensus, replication and failure handling");
+        course.setInstructor(instructor);
+
+        User student = new User();
+        student.setUserId(42);
+        student.setUsername("student42");
+
+        feedback = feedback(course, instructor, student, false);
+        anonymousFeedback = feedback(course, instructor, student, true);
+
+        feedbackMapper = new FeedbackMapper(null, null, null);
+        courseMapper = new CourseMapper(null);
+    }
+
+    @Benchmark
+    public FeedbackResponseDTO feedbackToResponse() {
+        return feedbackMapper.toResponse(feedback);
+    }
+
+    @Benchmark
+    public FeedbackResponseDTO anonymousFeedbackToResponse() {
+        return feedbackMapper.toResponse(anonymousFeedback);
+    }
+
+    @Benchmark
+    public CourseResponseDTO courseToResponse() {
+        return courseMapper.toResponse(course);
+    }
+
+    private static Feedback feedback(Course course, Instructor instructor, User student, boolean anonymous) {
+        Feedback feedback = new Feedback();
+        feedback.setFeedbackId(1001);
+        feedback.setCourseRating(4);
+        feedback.setInstructorRating(5);
+        feedback.setCourseComment("Well structured, the labs were the best part.");
+        feedback.setInstructorComment("Clear explanations and quick answers.");
+        feedback.setAnonymous(anonymous);
+        feedback.setSubmittedAt(LocalDate.of(2025, 3, 14));
+        feedback.setCourse(course);
+        feedback.setInstructor(instructor);
+        feedback.setStudent(student);
+        return feedback;
+    }
+}
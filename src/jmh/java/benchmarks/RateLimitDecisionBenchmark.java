@@ -0,0 +1,29 @@
+package benchmarks;
+
+import com.feedbacks.FeedbackSystem.DTO.analytics.RateLimitInfo;
+import com.feedbacks.FeedbackSystem.service.ratelimit.RateLimitDecision;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Building the X-RateLimit-* info, done once per feedback submission after the Redis script
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RateLimitDecisionBenchmark {
+
+    private RateLimitDecision decision;
+
+    @Setup
+    public void setUp() {
+        decision = new RateLimitDecision(true, 10, 7, System.currentTimeMillis() + 3_600_000);
+    }
+
+    @Benchmark
+    public RateLimitInfo toInfo() {
+        return decision.toInfo();
+    }
+}
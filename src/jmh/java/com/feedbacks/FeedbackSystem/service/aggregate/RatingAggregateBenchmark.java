@@ -0,0 +1,73 @@
+package com.feedbacks.FeedbackSystem.service.aggregate;
+
+import com.feedbacks.FeedbackSystem.DTO.analytics.RatingAggregateRow;
+import com.feedbacks.FeedbackSystem.service.aggregate.RatingAggregateService.RatingSnapshot;
+import com.feedbacks.FeedbackSystem.service.aggregate.RatingAggregatesChangedEvent.ScoreChange;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// The in-memory part of a rating update: merging a write-behind batch into per-id
+// sum/count deltas and deriving the before/after averages for the change event.
+// Lives in the aggregate package because RatingDeltas is package-private.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RatingAggregateBenchmark {
+
+    @Param({"1", "500"})
+    public int batchSize;
+
+    private List<RatingSnapshot> snapshots;
+    private RatingDeltas merged;
+    private List<RatingAggregateRow> courseRows;
+    // non-final so the JIT cannot constant-fold the division
+    private long ratingSum = 4_321;
+    private long feedbackCount = 1_000;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        LocalDate today = LocalDate.of(2025, 3, 14);
+        snapshots = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            snapshots.add(new RatingSnapshot(today, random.nextInt(50), random.nextInt(20),
+                    1 + random.nextInt(5), 1 + random.nextInt(5)));
+        }
+
+        merged = merge();
+        courseRows = new ArrayList<>();
+        merged.courses.forEach((courseId, delta) ->
+                courseRows.add(new RatingAggregateRow(courseId, 4_000 + delta[0], 1_000 + delta[1])));
+    }
+
+    @Benchmark
+    public RatingDeltas mergeBatch() {
+        return merge();
+    }
+
+    @Benchmark
+    public List<ScoreChange> scoreChanges() {
+        return RatingDeltas.scoreChanges(courseRows, merged.courses);
+    }
+
+    @Benchmark
+    public double average() {
+        return RatingDeltas.average(ratingSum, feedbackCount);
+    }
+
+    private RatingDeltas merge() {
+        RatingDeltas deltas = new RatingDeltas();
+        for (RatingSnapshot snapshot : snapshots) {
+            deltas.add(snapshot, 1);
+        }
+        return deltas;
+    }
+}
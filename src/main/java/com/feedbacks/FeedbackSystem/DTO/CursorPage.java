@@ -0,0 +1,21 @@
+package com.feedbacks.FeedbackSystem.DTO;
+
+import lombok.Getter;
+
+import java.util.List;
+
+// One keyset page. nextCursor is null on the last page; no total count is computed.
+@Getter
+public class CursorPage<T> {
+    private List<T> content;
+    private String nextCursor;
+    private boolean hasNext;
+    private int size;
+
+    public CursorPage(List<T> content, String nextCursor) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+        this.hasNext = nextCursor != null;
+        this.size = content.size();
+    }
+}
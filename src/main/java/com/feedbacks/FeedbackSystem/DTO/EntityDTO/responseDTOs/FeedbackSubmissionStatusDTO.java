@@ -0,0 +1,22 @@
+package com.feedbacks.FeedbackSystem.DTO.EntityDTO.responseDTOs;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class FeedbackSubmissionStatusDTO {
+    private String trackingId;
+    private Status status;
+    // filled once the feedback is stored (feedbackId is 0 while queued)
+    private FeedbackResponseDTO feedback;
+    private String error;
+
+    public enum Status {
+        QUEUED,
+        STORED,
+        FAILED
+    }
+}
@@ -0,0 +1,35 @@
+package com.feedbacks.FeedbackSystem.DTO;
+
+import com.feedbacks.FeedbackSystem.Exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+// Position of the last row a client has seen, in (submittedAt DESC, feedbackId DESC) order.
+// Sent to clients as an opaque url-safe base64 token.
+public record FeedbackCursor(LocalDate submittedAt, int feedbackId) {
+
+    public String encode() {
+        String raw = submittedAt + ":" + feedbackId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // null/blank means "start from the newest feedback"
+    public static FeedbackCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(':');
+            return new FeedbackCursor(
+                    LocalDate.parse(raw.substring(0, separator)),
+                    Integer.parseInt(raw.substring(separator + 1))
+            );
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new BadRequestException("Invalid cursor.");
+        }
+    }
+}
@@ -0,0 +1,5 @@
+package com.feedbacks.FeedbackSystem.DTO;
+
+import com.feedbacks.FeedbackSystem.DTO.EntityDTO.responseDTOs.FeedbackResponseDTO;
+
+public record FeedbackSearchHit(FeedbackResponseDTO feedback, double score) {}
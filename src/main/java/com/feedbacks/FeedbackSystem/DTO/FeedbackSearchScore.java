@@ -0,0 +1,4 @@
+package com.feedbacks.FeedbackSystem.DTO;
+
+// One ranked full-text match: feedback id + relevance (MATCH ... AGAINST score on MySQL)
+public record FeedbackSearchScore(Integer feedbackId, Double score) {}
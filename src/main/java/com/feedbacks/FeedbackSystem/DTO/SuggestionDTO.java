@@ -0,0 +1,4 @@
+package com.feedbacks.FeedbackSystem.DTO;
+
+// One autocomplete match; type is COURSE or INSTRUCTOR
+public record SuggestionDTO(String type, Integer id, String name, Double avgRating, Long feedbackCount) {}
@@ -1,9 +1,13 @@
 package com.feedbacks.FeedbackSystem.DTO.analytics;
 
-import java.time.LocalDateTime;
-
+// retryAfterSeconds is set on rejections and sent as Retry-After
 public record RateLimitInfo(
         Integer limit,
         Integer remaining,
-        String resetAt
-) {}
+        String resetAt,
+        Long retryAfterSeconds
+) {
+    public RateLimitInfo(Integer limit, Integer remaining, String resetAt) {
+        this(limit, remaining, resetAt, null);
+    }
+}
@@ -0,0 +1,4 @@
+package com.feedbacks.FeedbackSystem.DTO.analytics;
+
+// Current rating_sum / feedback_count of one course or instructor
+public record RatingAggregateRow(Integer id, Long ratingSum, Long feedbackCount) {}
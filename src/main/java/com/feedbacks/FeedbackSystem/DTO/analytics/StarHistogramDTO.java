@@ -0,0 +1,20 @@
+package com.feedbacks.FeedbackSystem.DTO.analytics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Summed star columns of feedback_daily_stats; SUM() yields null when nothing matched
+public record StarHistogramDTO(Long one, Long two, Long three, Long four, Long five) {
+
+    // only ratings that actually occur, like the old GROUP BY rating query
+    public List<RatingDistributionDTO> toDistribution() {
+        Long[] counts = {one, two, three, four, five};
+        List<RatingDistributionDTO> distribution = new ArrayList<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] != null && counts[i] > 0) {
+                distribution.add(new RatingDistributionDTO(i + 1, counts[i]));
+            }
+        }
+        return distribution;
+    }
+}
@@ -0,0 +1,46 @@
+package com.feedbacks.FeedbackSystem.DTO.analytics;
+
+import java.time.LocalDate;
+import java.util.Locale;
+
+// Everything a trend result depends on. cacheKey() covers every field, so two callers
+// only share a cache entry when they asked for exactly the same series.
+public record TrendQuery(Granularity granularity,
+                         LocalDate from,
+                         LocalDate to,
+                         Integer courseId,
+                         Integer instructorId) {
+
+    public enum Granularity { DAY, MONTH, YEAR }
+
+    public TrendQuery {
+        if (granularity == null) {
+            granularity = Granularity.MONTH;
+        }
+    }
+
+    // unknown groupBy values fall back to MONTH, as before
+    public static TrendQuery of(String groupBy, LocalDate from, LocalDate to, Integer courseId, Integer instructorId) {
+        Granularity granularity = Granularity.MONTH;
+        if (groupBy != null) {
+            try {
+                granularity = Granularity.valueOf(groupBy.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException ignored) {
+                // keep MONTH
+            }
+        }
+        return new TrendQuery(granularity, from, to, courseId, instructorId);
+    }
+
+    public static TrendQuery unscoped(Granularity granularity) {
+        return new TrendQuery(granularity, null, null, null, null);
+    }
+
+    public String cacheKey() {
+        return granularity
+                + ":" + (from == null ? "*" : from)
+                + ":" + (to == null ? "*" : to)
+                + ":c=" + (courseId == null ? "*" : courseId)
+                + ":i=" + (instructorId == null ? "*" : instructorId);
+    }
+}
@@ -0,0 +1,14 @@
+package com.feedbacks.FeedbackSystem.DTO.export;
+
+// Flat projection streamed by CourseRepository.streamCoursesForExport
+public record CourseExportRow(
+        int courseId,
+        String courseName,
+        String courseDescription,
+        String createdBy,
+        String modifiedBy,
+        String deletedBy,
+        boolean deleted,
+        String instructorName
+) {
+}
@@ -0,0 +1,24 @@
+package com.feedbacks.FeedbackSystem.DTO.export;
+
+import com.feedbacks.FeedbackSystem.model.ExportJob;
+import com.feedbacks.FeedbackSystem.service.export.ExportFormat;
+import com.feedbacks.FeedbackSystem.service.export.ReportType;
+
+import java.time.Instant;
+
+public record ExportJobDTO(
+        String jobId,
+        ReportType report,
+        ExportFormat format,
+        ExportJob.Status status,
+        long rowsWritten,
+        Long totalRows,
+        Integer percent,
+        Long fileSize,
+        String downloadUrl,
+        String error,
+        Instant createdAt,
+        Instant completedAt,
+        Instant expiresAt
+) {
+}
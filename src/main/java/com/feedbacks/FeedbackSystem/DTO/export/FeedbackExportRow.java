@@ -0,0 +1,18 @@
+package com.feedbacks.FeedbackSystem.DTO.export;
+
+import java.time.LocalDate;
+
+// Flat projection streamed by FeedbackRepository.streamFeedbacksForExport
+public record FeedbackExportRow(
+        int feedbackId,
+        String courseName,
+        String instructorName,
+        String studentName,
+        boolean anonymous,
+        int courseRating,
+        int instructorRating,
+        String courseComment,
+        String instructorComment,
+        LocalDate submittedAt
+) {
+}
@@ -0,0 +1,12 @@
+package com.feedbacks.FeedbackSystem.DTO.export;
+
+import java.time.LocalDate;
+
+// Flat projection streamed by UserRepository.streamStudentsForExport (no managed entities)
+public record StudentExportRow(
+        String identityNo,
+        String username,
+        String email,
+        LocalDate createdAt
+) {
+}
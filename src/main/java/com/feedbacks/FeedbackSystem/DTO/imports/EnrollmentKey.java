@@ -0,0 +1,7 @@
+package com.feedbacks.FeedbackSystem.DTO.imports;
+
+public record EnrollmentKey(
+        int studentId,
+        int courseId
+) {
+}
@@ -0,0 +1,16 @@
+package com.feedbacks.FeedbackSystem.DTO.imports;
+
+import java.util.List;
+
+// Outcome of one feedback import. errors holds the first rejected rows only (errorsTruncated tells if more were rejected)
+public record FeedbackImportReport(
+        String fileName,
+        boolean dryRun,
+        int totalRows,
+        int imported,
+        int rejected,
+        List<ImportRowError> errors,
+        boolean errorsTruncated,
+        long tookMillis
+) {
+}
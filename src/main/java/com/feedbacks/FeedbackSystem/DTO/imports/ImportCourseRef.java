@@ -0,0 +1,8 @@
+package com.feedbacks.FeedbackSystem.DTO.imports;
+
+// Live course with its current instructor (null when unassigned), resolved by the feedback import
+public record ImportCourseRef(
+        int courseId,
+        Integer instructorId
+) {
+}
@@ -0,0 +1,9 @@
+package com.feedbacks.FeedbackSystem.DTO.imports;
+
+// row is the 1-based row of the uploaded file (the header is row 1); column is null for row-level errors
+public record ImportRowError(
+        int row,
+        String column,
+        String message
+) {
+}
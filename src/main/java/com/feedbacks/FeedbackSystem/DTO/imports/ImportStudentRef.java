@@ -0,0 +1,12 @@
+package com.feedbacks.FeedbackSystem.DTO.imports;
+
+import com.feedbacks.FeedbackSystem.model.User;
+
+// Projection used by the feedback import to resolve a student column (email or identity number) to a user id
+public record ImportStudentRef(
+        int userId,
+        String email,
+        String identityNo,
+        User.Role role
+) {
+}
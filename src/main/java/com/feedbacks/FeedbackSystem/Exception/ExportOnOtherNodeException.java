@@ -0,0 +1,15 @@
+package com.feedbacks.FeedbackSystem.Exception;
+
+import lombok.Getter;
+
+// 421: the export file lives on another node's disk; the client (or a sticky route) must ask that node
+@Getter
+public class ExportOnOtherNodeException extends RuntimeException {
+
+    private final String ownerNode;
+
+    public ExportOnOtherNodeException(String message, String ownerNode) {
+        super(message);
+        this.ownerNode = ownerNode;
+    }
+}
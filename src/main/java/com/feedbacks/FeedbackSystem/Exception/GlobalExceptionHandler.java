@@ -86,6 +86,9 @@ public class GlobalExceptionHandler {
         headers.add("X-RateLimit-Limit", String.valueOf(info.limit()));
         headers.add("X-RateLimit-Remaining", String.valueOf(info.remaining()));
         headers.add("X-RateLimit-Reset", info.resetAt());
+        if (info.retryAfterSeconds() != null) {
+            headers.add(HttpHeaders.RETRY_AFTER, String.valueOf(info.retryAfterSeconds()));
+        }
 
         return headers;
     }
@@ -109,6 +112,43 @@ public class GlobalExceptionHandler {
         ));
     }
 
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<ApiResponse<?>> handleServiceOverloadedException(ServiceOverloadedException e,
+                                                                           HttpServletRequest request) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(new ApiResponse<>(
+                        HttpStatus.OK.isError(),
+                        e.getLocalizedMessage(),
+                        new ExceptionResponseDTO(
+                                request.getRequestURI(),
+                                503,
+                                e.getMessage(),
+                                "Service overloaded",
+                                Instant.now()
+                        )
+        ));
+    }
+
+    @ExceptionHandler(ExportOnOtherNodeException.class)
+    public ResponseEntity<ApiResponse<?>> handleExportOnOtherNodeException(ExportOnOtherNodeException e,
+                                                                           HttpServletRequest request) {
+        // 421 Misdirected Request: retry against the owning node
+        return ResponseEntity.status(421)
+                .header("X-Export-Node", e.getOwnerNode())
+                .body(new ApiResponse<>(
+                        HttpStatus.OK.isError(),
+                        e.getLocalizedMessage(),
+                        new ExceptionResponseDTO(
+                                request.getRequestURI(),
+                                421,
+                                e.getMessage(),
+                                "Export is stored on another node",
+                                Instant.now()
+                        )
+        ));
+    }
+
     @ExceptionHandler(MailSendingFailedException.class)
     public ResponseEntity<ApiResponse<?>> handleMailSendingFailedException(MailSendingFailedException e,
                                                                     HttpServletRequest request){
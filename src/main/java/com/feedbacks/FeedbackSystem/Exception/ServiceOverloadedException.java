@@ -0,0 +1,15 @@
+package com.feedbacks.FeedbackSystem.Exception;
+
+import lombok.Getter;
+
+// 503 + Retry-After: the node is shedding load, the request itself was fine
+@Getter
+public class ServiceOverloadedException extends RuntimeException{
+
+    private final long retryAfterSeconds;
+
+    public ServiceOverloadedException(String message, long retryAfterSeconds){
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
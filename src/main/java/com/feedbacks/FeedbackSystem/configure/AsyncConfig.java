@@ -0,0 +1,144 @@
+package com.feedbacks.FeedbackSystem.configure;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.AsyncConfigurer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// One bounded pool per async workload so a burst in one (say a large export) cannot starve the others.
+// Every pool is sized from feedback.executors.<name>.*, rejects work once its queue is full,
+// publishes async.executor.* gauges and drains its queue on shutdown (up to await-termination).
+// virtual-threads=true swaps the pool for a SimpleAsyncTaskExecutor that starts one virtual thread per
+// task, capped at max-size concurrent tasks; there is no pool to queue in, so queue-capacity does not
+// apply and a task over the cap is rejected. Only helps workloads that block on I/O (SMTP, JDBC).
+// Plain @Async methods run on the analytics pool.
+@Slf4j
+@Configuration
+public class AsyncConfig implements AsyncConfigurer {
+
+    private final Environment env;
+    private final MeterRegistry meterRegistry;
+    private final Executor analyticsExecutor;
+
+    public AsyncConfig(Environment env, MeterRegistry meterRegistry, @Qualifier("analyticsExecutor") Executor analyticsExecutor) {
+        this.env = env;
+        this.meterRegistry = meterRegistry;
+        this.analyticsExecutor = analyticsExecutor;
+    }
+
+    @Bean(name = "mailExecutor")
+    public static AsyncTaskExecutor mailExecutor(Environment env, MeterRegistry meterRegistry) {
+        return boundedExecutor("mail", 1, 2, 10, env, meterRegistry);
+    }
+
+    @Bean(name = "exportExecutor")
+    public static AsyncTaskExecutor exportExecutor(Environment env, MeterRegistry meterRegistry) {
+        return boundedExecutor("exports", 2, 2, 20, env, meterRegistry);
+    }
+
+    @Bean(name = "analyticsExecutor")
+    public static AsyncTaskExecutor analyticsExecutor(Environment env, MeterRegistry meterRegistry) {
+        return boundedExecutor("analytics", 1, 2, 50, env, meterRegistry);
+    }
+
+    @Override
+    public Executor getAsyncExecutor() {
+        return analyticsExecutor;
+    }
+
+    @Override
+    public AsyncUncaughtExceptionHandler getAsyncUncaughtExceptionHandler() {
+        return (e, method, params) -> log.error("event=ASYNC_TASK_FAILED method={}", method.getName(), e);
+    }
+
+    private static AsyncTaskExecutor boundedExecutor(String name, int coreSize, int maxSize, int queueCapacity,
+                                                     Environment env, MeterRegistry meterRegistry) {
+        String prefix = "feedback.executors." + name + ".";
+        Counter rejected = Counter.builder("async.executor.rejected").tag("pool", name).register(meterRegistry);
+        int awaitTerminationSeconds = env.getProperty(prefix + "await-termination-seconds", Integer.class, 30);
+
+        if (env.getProperty(prefix + "virtual-threads", Boolean.class, false)) {
+            VirtualTaskExecutor executor = new VirtualTaskExecutor(name + "-vt-", rejected);
+            executor.setVirtualThreads(true);
+            executor.setConcurrencyLimit(env.getProperty(prefix + "max-size", Integer.class, maxSize));
+            executor.setRejectTasksWhenLimitReached(true);
+            // close() on shutdown waits this long for running tasks
+            executor.setTaskTerminationTimeout(awaitTerminationSeconds * 1000L);
+
+            Gauge.builder("async.executor.active", executor, VirtualTaskExecutor::getActiveCount)
+                    .tag("pool", name).register(meterRegistry);
+            Gauge.builder("async.executor.queued", executor, e -> 0)
+                    .tag("pool", name).register(meterRegistry);
+            return executor;
+        }
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(env.getProperty(prefix + "core-size", Integer.class, coreSize));
+        executor.setMaxPoolSize(env.getProperty(prefix + "max-size", Integer.class, maxSize));
+        executor.setQueueCapacity(env.getProperty(prefix + "queue-capacity", Integer.class, queueCapacity));
+        executor.setThreadNamePrefix(name + "-");
+        executor.setRejectedExecutionHandler((task, pool) -> {
+            rejected.increment();
+            new ThreadPoolExecutor.AbortPolicy().rejectedExecution(task, pool);
+        });
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(awaitTerminationSeconds);
+
+        Gauge.builder("async.executor.active", executor, ThreadPoolTaskExecutor::getActiveCount)
+                .tag("pool", name).register(meterRegistry);
+        Gauge.builder("async.executor.queued", executor, ThreadPoolTaskExecutor::getQueueSize)
+                .tag("pool", name).register(meterRegistry);
+        Gauge.builder("async.executor.pool.size", executor, ThreadPoolTaskExecutor::getPoolSize)
+                .tag("pool", name).register(meterRegistry);
+        return executor;
+    }
+
+    // Virtual-thread executor that counts running tasks and rejections for the async.executor.* meters.
+    // Both execute(Runnable) and submit(..) go through execute(Runnable, long).
+    static class VirtualTaskExecutor extends SimpleAsyncTaskExecutor {
+
+        private final Counter rejected;
+        private final AtomicInteger active = new AtomicInteger();
+
+        VirtualTaskExecutor(String threadNamePrefix, Counter rejected) {
+            super(threadNamePrefix);
+            this.rejected = rejected;
+        }
+
+        int getActiveCount() {
+            return active.get();
+        }
+
+        @Override
+        @SuppressWarnings("deprecation")
+        public void execute(Runnable task, long startTimeout) {
+            try {
+                super.execute(() -> {
+                    active.incrementAndGet();
+                    try {
+                        task.run();
+                    } finally {
+                        active.decrementAndGet();
+                    }
+                }, startTimeout);
+            } catch (TaskRejectedException e) {
+                rejected.increment();
+                throw e;
+            }
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.feedbacks.FeedbackSystem.configure;
+
+import com.feedbacks.FeedbackSystem.service.cache.CacheInvalidationPublisher;
+import com.feedbacks.FeedbackSystem.service.cache.TwoTierCacheManager;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.boot.autoconfigure.cache.RedisCacheManagerBuilderCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.time.Duration;
+import java.util.LinkedHashSet;
+
+// Caffeine L1 in front of the Redis L2 for every @Cacheable.
+// Declaring our own CacheManager switches Boot's cache auto-configuration off, so the
+// Redis manager is built here from the same spring.cache.* properties and customizers.
+@Configuration
+@EnableConfigurationProperties(CacheProperties.class)
+public class CacheConfig {
+
+    @Bean
+    public RedisCacheManager redisCacheManager(RedisConnectionFactory connectionFactory,
+                                               RedisCacheConfiguration redisCacheConfiguration,
+                                               CacheProperties cacheProperties,
+                                               ObjectProvider<RedisCacheManagerBuilderCustomizer> customizers) {
+        RedisCacheManager.RedisCacheManagerBuilder builder = RedisCacheManager.builder(connectionFactory)
+                .cacheDefaults(redisCacheConfiguration);
+        if (!cacheProperties.getCacheNames().isEmpty()) {
+            builder.initialCacheNames(new LinkedHashSet<>(cacheProperties.getCacheNames()));
+        }
+        if (cacheProperties.getRedis().isEnableStatistics()) {
+            builder.enableStatistics();
+        }
+        customizers.orderedStream().forEach(customizer -> customizer.customize(builder));
+        return builder.build();
+    }
+
+    @Bean
+    public CacheInvalidationPublisher cacheInvalidationPublisher(
+            StringRedisTemplate redisTemplate,
+            @Value("${feedback.cache.l1.invalidation-channel:cache-invalidation}") String channel) {
+        return new CacheInvalidationPublisher(redisTemplate, channel);
+    }
+
+    @Bean
+    @Primary
+    public TwoTierCacheManager cacheManager(RedisCacheManager redisCacheManager,
+                                            CacheInvalidationPublisher publisher,
+                                            MeterRegistry meterRegistry,
+                                            @Value("${feedback.cache.l1.maximum-size:1000}") long maximumSize,
+                                            @Value("${feedback.cache.l1.ttl:PT30S}") Duration ttl) {
+        return new TwoTierCacheManager(redisCacheManager, publisher, meterRegistry, maximumSize, ttl);
+    }
+
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListener(RedisConnectionFactory connectionFactory,
+                                                                   TwoTierCacheManager cacheManager,
+                                                                   CacheInvalidationPublisher publisher) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(cacheManager, new ChannelTopic(publisher.getChannel()));
+        return container;
+    }
+}
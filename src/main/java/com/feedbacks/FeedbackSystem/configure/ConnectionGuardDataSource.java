@@ -0,0 +1,126 @@
+package com.feedbacks.FeedbackSystem.configure;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Admission control in front of the Hikari pool for virtual-thread mode. With one virtual thread per
+// request, thousands of requests can reach getConnection() at once; this fair semaphore queues them FIFO
+// and fails them after acquireTimeout, instead of letting them all contend on the pool. The permit is
+// released when the connection is closed (returned to the pool).
+// A thread that already holds a connection and asks for another (id_generator blocks: IdBlockAllocator's
+// REQUIRES_NEW transaction, Hibernate's @TableGenerator isolated connection) takes one of nestedPermits
+// instead. Those are held for one short statement pair and never wait on a further connection, so with
+// permits <= pool size a caller can't end up holding the last connection while waiting for its second.
+public class ConnectionGuardDataSource extends DelegatingDataSource {
+
+    private final Semaphore permits;
+    private final Semaphore nestedPermits;
+    private final int maxPermits;
+    private final long acquireTimeoutMs;
+    private final AtomicInteger waiting = new AtomicInteger();
+    // connections the current thread has open through this guard
+    private final ThreadLocal<AtomicInteger> held = ThreadLocal.withInitial(AtomicInteger::new);
+
+    // maxPermits in total, nestedPermits of them kept for second connections
+    public ConnectionGuardDataSource(DataSource target, int maxPermits, int nestedPermits, Duration acquireTimeout) {
+        super(target);
+        if (nestedPermits < 1 || nestedPermits >= maxPermits) {
+            throw new IllegalArgumentException("nestedPermits must be between 1 and " + (maxPermits - 1)
+                    + " (permits=" + maxPermits + ")");
+        }
+        this.permits = new Semaphore(maxPermits - nestedPermits, true);
+        this.nestedPermits = new Semaphore(nestedPermits, true);
+        this.maxPermits = maxPermits;
+        this.acquireTimeoutMs = acquireTimeout.toMillis();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        AtomicInteger depth = held.get();
+        Semaphore semaphore = acquire(depth);
+        try {
+            return guard(super.getConnection(), semaphore, depth);
+        } catch (SQLException | RuntimeException e) {
+            semaphore.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        AtomicInteger depth = held.get();
+        Semaphore semaphore = acquire(depth);
+        try {
+            return guard(super.getConnection(username, password), semaphore, depth);
+        } catch (SQLException | RuntimeException e) {
+            semaphore.release();
+            throw e;
+        }
+    }
+
+    public int waiting() {
+        return waiting.get();
+    }
+
+    public int inUse() {
+        return maxPermits - permits.availablePermits() - nestedPermits.availablePermits();
+    }
+
+    private Semaphore acquire(AtomicInteger depth) throws SQLException {
+        Semaphore semaphore = depth.get() == 0 ? permits : nestedPermits;
+        waiting.incrementAndGet();
+        try {
+            if (!semaphore.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new SQLTransientConnectionException(
+                        "Timed out after " + acquireTimeoutMs + "ms waiting for a database connection permit");
+            }
+            return semaphore;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a database connection permit", e);
+        } finally {
+            waiting.decrementAndGet();
+        }
+    }
+
+    // depth is the opening thread's counter, so a close from another thread still releases the right one
+    private Connection guard(Connection connection, Semaphore semaphore, AtomicInteger depth) {
+        depth.incrementAndGet();
+        AtomicBoolean released = new AtomicBoolean();
+        InvocationHandler handler = (proxy, method, args) -> {
+            if ("close".equals(method.getName()) && method.getParameterCount() == 0) {
+                try {
+                    return invoke(connection, method, args);
+                } finally {
+                    if (released.compareAndSet(false, true)) {
+                        depth.decrementAndGet();
+                        semaphore.release();
+                    }
+                }
+            }
+            return invoke(connection, method, args);
+        };
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class}, handler);
+    }
+
+    private static Object invoke(Connection connection, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(connection, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.feedbacks.FeedbackSystem.configure;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+// Wraps the Hikari pool in a ConnectionGuardDataSource (feedback.datasource.guard.enabled, on by default)
+@Configuration
+@ConditionalOnProperty(name = "feedback.datasource.guard.enabled", havingValue = "true")
+public class DataSourceGuardConfig {
+
+    @Bean
+    public static BeanPostProcessor connectionGuardPostProcessor(Environment env) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof HikariDataSource hikari)) {
+                    return bean;
+                }
+                // default: one permit per pooled connection. permits must not exceed the pool size, or the
+                // reserved nested permits no longer guarantee a free connection for id block allocation
+                int permits = env.getProperty("feedback.datasource.guard.permits", Integer.class, hikari.getMaximumPoolSize());
+                if (permits > hikari.getMaximumPoolSize()) {
+                    throw new IllegalStateException("feedback.datasource.guard.permits (" + permits
+                            + ") must not exceed spring.datasource.hikari.maximum-pool-size (" + hikari.getMaximumPoolSize() + ")");
+                }
+                int nestedPermits = env.getProperty("feedback.datasource.guard.nested-permits", Integer.class,
+                        Math.max(1, permits / 10));
+                Duration acquireTimeout = env.getProperty("feedback.datasource.guard.acquire-timeout", Duration.class,
+                        Duration.ofMillis(hikari.getConnectionTimeout()));
+                return new ConnectionGuardDataSource(hikari, permits, nestedPermits, acquireTimeout);
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder connectionGuardMetrics(DataSource dataSource) {
+        return registry -> {
+            if (dataSource instanceof ConnectionGuardDataSource guard) {
+                Gauge.builder("datasource.guard.waiting", guard, ConnectionGuardDataSource::waiting).register(registry);
+                Gauge.builder("datasource.guard.in.use", guard, ConnectionGuardDataSource::inUse).register(registry);
+            }
+        };
+    }
+}
@@ -1,8 +1,15 @@
 package com.feedbacks.FeedbackSystem.configure;
 
+import com.feedbacks.FeedbackSystem.service.admission.AdmissionGroup;
+import com.feedbacks.FeedbackSystem.service.ratelimit.RedisCircuitBreaker;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+
 @Service
 public class FeedbackMetrics {
 
@@ -15,4 +22,78 @@ public class FeedbackMetrics {
     public void incrementFeedbackSubmittedCount(){
         meterRegistry.counter("feedback.submitted.count").increment();
     }
+
+    public void incrementFeedbackSubmittedCount(int count){
+        meterRegistry.counter("feedback.submitted.count").increment(count);
+    }
+
+    // rows of bulk feedback imports, dry runs tagged separately
+    public void recordFeedbackImport(boolean dryRun, int imported, int rejected){
+        meterRegistry.counter("feedback.import.rows", "result", "imported", "dryRun", String.valueOf(dryRun)).increment(imported);
+        meterRegistry.counter("feedback.import.rows", "result", "rejected", "dryRun", String.valueOf(dryRun)).increment(rejected);
+    }
+
+    public void incrementIngestionFailedCount(){
+        meterRegistry.counter("feedback.ingestion.failed.count").increment();
+    }
+
+    public void registerIngestionQueue(Collection<?> queue){
+        meterRegistry.gaugeCollectionSize("feedback.ingestion.queue.size", Tags.empty(), queue);
+    }
+
+    // pages dropped vs. pages a feedback write left cached, per ranking cache
+    public void recordTargetedEviction(String cacheName, int evicted, int kept){
+        meterRegistry.counter("cache.evictions.targeted", "cache", cacheName).increment(evicted);
+        meterRegistry.counter("cache.evictions.kept", "cache", cacheName).increment(kept);
+    }
+
+    public void registerMailOutboxDepth(AtomicLong pending){
+        meterRegistry.gauge("mail.outbox.pending", Tags.empty(), pending);
+    }
+
+    // one SMTP session delivering a whole batch
+    public void recordMailBatch(Duration took, int sent, int failed){
+        meterRegistry.timer("mail.send.batch.duration").record(took);
+        meterRegistry.counter("mail.sent.count").increment(sent);
+        meterRegistry.counter("mail.failed.count").increment(failed);
+    }
+
+    // queued -> delivered, including retries
+    public void recordMailDeliveryLatency(Duration latency){
+        meterRegistry.timer("mail.delivery.latency").record(latency);
+    }
+
+    public void incrementMailDeadLetterCount(){
+        meterRegistry.counter("mail.dead.count").increment();
+    }
+
+    // where each rate limit decision was made: redis, local (degraded, Redis unreachable) or deny-cache
+    public void recordRateLimitDecision(String endpoint, String mode, boolean allowed){
+        meterRegistry.counter("ratelimit.decisions", "endpoint", endpoint, "mode", mode,
+                "outcome", allowed ? "allowed" : "denied").increment();
+    }
+
+    // 1 while checks bypass Redis
+    public void registerRateLimitBreaker(RedisCircuitBreaker breaker){
+        meterRegistry.gauge("ratelimit.breaker.open", Tags.empty(), breaker,
+                b -> b.state() == RedisCircuitBreaker.State.CLOSED ? 0 : 1);
+    }
+
+    // locally accepted requests written back to Redis after an outage, or lost because that failed
+    public void recordRateLimitReconciled(long reconciled, long dropped){
+        meterRegistry.counter("ratelimit.reconciled.count").increment(reconciled);
+        meterRegistry.counter("ratelimit.reconcile.dropped.count").increment(dropped);
+    }
+
+    // requests turned away by AdmissionControlFilter, reason = rate | shed | concurrency
+    public void recordAdmissionRejected(String group, String reason){
+        meterRegistry.counter("admission.rejected", "group", group, "reason", reason).increment();
+    }
+
+    public void registerAdmissionGroup(AdmissionGroup group){
+        Tags tags = Tags.of("group", group.name());
+        meterRegistry.gauge("admission.inflight", tags, group, AdmissionGroup::inFlight);
+        meterRegistry.gauge("admission.latency.average.ms", tags, group, g -> g.shedder().averageLatencyNanos() / 1_000_000);
+        meterRegistry.gauge("admission.shed.ratio", tags, group, g -> g.shedder().shedRatio());
+    }
 }
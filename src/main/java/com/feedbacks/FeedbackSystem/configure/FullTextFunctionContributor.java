@@ -0,0 +1,37 @@
+package com.feedbacks.FeedbackSystem.configure;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.type.BasicType;
+import org.hibernate.type.StandardBasicTypes;
+
+// HQL/Criteria functions over the FULLTEXT indexes from V7__fulltext_search.sql:
+//   text_match(column, booleanQuery, likePattern)
+//   text_match2(column1, column2, booleanQuery, likePattern)
+// On MySQL they render MATCH ... AGAINST (... IN BOOLEAN MODE) and return the relevance score
+// (> 0 on a match). Other databases (H2 in tests and the load-test profile) get a 1/0 LIKE fallback.
+// Registered through META-INF/services/org.hibernate.boot.model.FunctionContributor.
+public class FullTextFunctionContributor implements FunctionContributor {
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        BasicType<Double> score = functionContributions.getTypeConfiguration()
+                .getBasicTypeRegistry()
+                .resolve(StandardBasicTypes.DOUBLE);
+
+        boolean mysql = functionContributions.getDialect() instanceof MySQLDialect;
+        functionContributions.getFunctionRegistry().registerPattern(
+                "text_match",
+                mysql ? "match(?1) against(?2 in boolean mode)"
+                        : "case when lower(coalesce(?1, '')) like ?3 then 1.0 else 0.0 end",
+                score
+        );
+        functionContributions.getFunctionRegistry().registerPattern(
+                "text_match2",
+                mysql ? "match(?1, ?2) against(?3 in boolean mode)"
+                        : "case when lower(coalesce(?1, '')) like ?4 or lower(coalesce(?2, '')) like ?4 then 1.0 else 0.0 end",
+                score
+        );
+    }
+}
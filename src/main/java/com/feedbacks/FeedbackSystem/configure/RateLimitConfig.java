@@ -0,0 +1,12 @@
+package com.feedbacks.FeedbackSystem.configure;
+
+import com.feedbacks.FeedbackSystem.service.admission.AdmissionProperties;
+import com.feedbacks.FeedbackSystem.service.ratelimit.RateLimitProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+// Per-endpoint/per-role policies and admission groups are nested maps, which @Value can't bind
+@Configuration
+@EnableConfigurationProperties({RateLimitProperties.class, AdmissionProperties.class})
+public class RateLimitConfig {
+}
@@ -3,6 +3,8 @@ package com.feedbacks.FeedbackSystem.configure;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.cache.RedisCacheManagerBuilderCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
@@ -30,4 +32,16 @@ public class RedisConfig {
                 .entryTtl(Duration.ofMinutes(10))
                 .disableCachingNullValues();
     }
+
+    // Day buckets move constantly, year buckets barely: one trend cache per granularity, each with its own TTL
+    @Bean
+    public RedisCacheManagerBuilderCustomizer trendCacheTtls(
+            @Value("${feedback.cache.trends.ttl.day:PT5M}") Duration dayTtl,
+            @Value("${feedback.cache.trends.ttl.month:PT30M}") Duration monthTtl,
+            @Value("${feedback.cache.trends.ttl.year:PT6H}") Duration yearTtl){
+        return builder -> builder
+                .withCacheConfiguration("feedbackTrends.DAY", redisCacheConfiguration().entryTtl(dayTtl))
+                .withCacheConfiguration("feedbackTrends.MONTH", redisCacheConfiguration().entryTtl(monthTtl))
+                .withCacheConfiguration("feedbackTrends.YEAR", redisCacheConfiguration().entryTtl(yearTtl));
+    }
 }
@@ -1,5 +1,6 @@
 package com.feedbacks.FeedbackSystem.configure;
 
+import com.feedbacks.FeedbackSystem.security.AdmissionControlFilter;
 import com.feedbacks.FeedbackSystem.security.CustomUserDetailsService;
 import com.feedbacks.FeedbackSystem.security.JwtAuthenticationEntryPoint;
 import com.feedbacks.FeedbackSystem.security.JwtAuthenticationFilter;
@@ -28,16 +29,18 @@ public class SecurityConfig {
     private final CustomUserDetailsService userDetailsService;
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
     private final JwtAuthenticationEntryPoint authenticationEntryPoint;
+    private final AdmissionControlFilter admissionControlFilter;
 
     @PostConstruct
     public void checkEnv() {
         log.info("Running on Railway: {}", System.getenv("RAILWAY_PROJECT_NAME"));
     }
 
-    public SecurityConfig(CustomUserDetailsService userDetailsService, JwtAuthenticationFilter jwtAuthenticationFilter, JwtAuthenticationEntryPoint authenticationEntryPoint) {
+    public SecurityConfig(CustomUserDetailsService userDetailsService, JwtAuthenticationFilter jwtAuthenticationFilter, JwtAuthenticationEntryPoint authenticationEntryPoint, AdmissionControlFilter admissionControlFilter) {
         this.userDetailsService = userDetailsService;
         this.jwtAuthenticationFilter = jwtAuthenticationFilter;
         this.authenticationEntryPoint = authenticationEntryPoint;
+        this.admissionControlFilter = admissionControlFilter;
     }
 
     @Bean
@@ -64,7 +67,9 @@ public class SecurityConfig {
                         .requestMatchers("/users/**","/enrollments/**").permitAll()
                         .anyRequest().permitAll()
                 )
-                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+                // after JWT so limits can be per principal
+                .addFilterAfter(admissionControlFilter, JwtAuthenticationFilter.class);
         http.httpBasic(httpBasic ->{});
         return http.build();
     }
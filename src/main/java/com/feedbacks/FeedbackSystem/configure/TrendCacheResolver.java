@@ -0,0 +1,41 @@
+package com.feedbacks.FeedbackSystem.configure;
+
+import com.feedbacks.FeedbackSystem.DTO.analytics.TrendQuery;
+import com.feedbacks.FeedbackSystem.DTO.analytics.TrendQuery.Granularity;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.CacheOperationInvocationContext;
+import org.springframework.cache.interceptor.CacheResolver;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+// Routes a trend lookup to the cache of its granularity (feedbackTrends.DAY/MONTH/YEAR),
+// each with its own TTL from RedisConfig. Expects a TrendQuery as the first argument.
+@Component("trendCacheResolver")
+public class TrendCacheResolver implements CacheResolver {
+
+    public static final String PREFIX = "feedbackTrends.";
+
+    private final CacheManager cacheManager;
+
+    public TrendCacheResolver(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    public static String cacheName(Granularity granularity) {
+        return PREFIX + granularity.name();
+    }
+
+    public static List<String> allCacheNames() {
+        return Arrays.stream(Granularity.values()).map(TrendCacheResolver::cacheName).toList();
+    }
+
+    @Override
+    public Collection<? extends Cache> resolveCaches(CacheOperationInvocationContext<?> context) {
+        TrendQuery query = (TrendQuery) context.getArgs()[0];
+        return List.of(cacheManager.getCache(cacheName(query.granularity())));
+    }
+}
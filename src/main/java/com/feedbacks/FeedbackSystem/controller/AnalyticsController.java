@@ -4,13 +4,19 @@ import com.feedbacks.FeedbackSystem.DTO.analytics.CourseRankingDTO;
 import com.feedbacks.FeedbackSystem.DTO.analytics.FeedbackTrendDTO;
 import com.feedbacks.FeedbackSystem.DTO.analytics.InstructorRankingDTO;
 import com.feedbacks.FeedbackSystem.DTO.analytics.RatingDistributionDTO;
+import com.feedbacks.FeedbackSystem.DTO.analytics.TrendQuery;
+import com.feedbacks.FeedbackSystem.service.aggregate.DailyStatsRollup;
+import com.feedbacks.FeedbackSystem.service.aggregate.RatingAggregateService;
 import com.feedbacks.FeedbackSystem.service.serviceImple.CourseServiceImpl;
 import com.feedbacks.FeedbackSystem.service.serviceImple.FeedbackServiceImpl;
 import com.feedbacks.FeedbackSystem.service.serviceImple.InstructorServiceImpl;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -20,16 +26,26 @@ public class AnalyticsController {
     private final FeedbackServiceImpl feedbackService;
     private final CourseServiceImpl courseService;
     private final InstructorServiceImpl instructorService;
+    private final RatingAggregateService ratingAggregates;
+    private final DailyStatsRollup dailyStats;
 
-    public AnalyticsController(FeedbackServiceImpl feedbackService, CourseServiceImpl courseService, InstructorServiceImpl instructorService) {
+    public AnalyticsController(FeedbackServiceImpl feedbackService, CourseServiceImpl courseService, InstructorServiceImpl instructorService, RatingAggregateService ratingAggregates, DailyStatsRollup dailyStats) {
         this.feedbackService = feedbackService;
         this.courseService = courseService;
         this.instructorService = instructorService;
+        this.ratingAggregates = ratingAggregates;
+        this.dailyStats = dailyStats;
     }
 
     @GetMapping("/feedbacks/trends")
-    public ResponseEntity<List<FeedbackTrendDTO>> feedbackTrends(@RequestParam String groupBy){
-        return ResponseEntity.ok(feedbackService.getFeedbackTrends(groupBy));
+    public ResponseEntity<List<FeedbackTrendDTO>> feedbackTrends(
+            @RequestParam String groupBy,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
+            @RequestParam(required = false) Integer courseId,
+            @RequestParam(required = false) Integer instructorId){
+        TrendQuery query = TrendQuery.of(groupBy, fromDate, toDate, courseId, instructorId);
+        return ResponseEntity.ok(feedbackService.getFeedbackTrends(query));
     }
 
     @GetMapping("/feedbacks/ratings")
@@ -63,4 +79,17 @@ public class AnalyticsController {
     public ResponseEntity<List<Object[]>> instructorsRatingDistributions(@PathVariable Integer instructorId){
         return ResponseEntity.ok(feedbackService.instructorRatingDistribution(instructorId));
     }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/aggregates/reconcile")
+    public ResponseEntity<Void> reconcileRatingAggregates(){
+        ratingAggregates.reconcile();
+        return ResponseEntity.noContent().build();
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/rollups/rebuild")
+    public ResponseEntity<Integer> rebuildDailyStats(){
+        return ResponseEntity.ok(dailyStats.rebuild());
+    }
 }
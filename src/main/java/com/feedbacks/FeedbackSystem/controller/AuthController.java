@@ -47,7 +47,7 @@ public class AuthController {
     public ResponseEntity<?> registerUser(@Valid @RequestBody UserRequestDTO user){
     UserResponseDTO savedUser = userService.addUser(user);
     emailBody.registrationEmail(savedUser);
-    // because of Async in this method, savedUser returned before the mail sent
+    // the mail is only queued in the outbox, savedUser is returned before it is sent
          return ResponseEntity.ok(savedUser);
     }
 
@@ -0,0 +1,64 @@
+package com.feedbacks.FeedbackSystem.controller;
+
+import com.feedbacks.FeedbackSystem.DTO.ApiResponse;
+import com.feedbacks.FeedbackSystem.DTO.export.ExportJobDTO;
+import com.feedbacks.FeedbackSystem.service.export.ExportFile;
+import com.feedbacks.FeedbackSystem.service.export.ExportFormat;
+import com.feedbacks.FeedbackSystem.service.export.ExportJobService;
+import com.feedbacks.FeedbackSystem.service.export.ReportType;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+
+// Asynchronous exports: POST answers 202 with a job id, poll GET /{jobId} until COMPLETED, then download
+@CrossOrigin(origins = "http://localhost:3000/")
+@RestController
+@RequestMapping("/api/v1/exports")
+public class ExportJobController {
+
+    private final ExportJobService exportJobService;
+
+    public ExportJobController(ExportJobService exportJobService) {
+        this.exportJobService = exportJobService;
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping
+    public ResponseEntity<ApiResponse<ExportJobDTO>> submitExport(@RequestParam ReportType report,
+                                                                  @RequestParam(defaultValue = "XLSX") ExportFormat format) {
+        ExportJobDTO job = exportJobService.submit(report, format);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/v1/exports/" + job.jobId()))
+                .body(new ApiResponse<>(
+                        true,
+                        HttpStatus.ACCEPTED.toString(),
+                        job
+                ));
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/{jobId}")
+    public ResponseEntity<ApiResponse<ExportJobDTO>> getExportJob(@PathVariable String jobId) {
+        return ResponseEntity.ok(new ApiResponse<>(
+                true,
+                "Export job status",
+                exportJobService.getJob(jobId)
+        ));
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/{jobId}/download")
+    public ResponseEntity<Resource> downloadExport(@PathVariable String jobId) {
+        ExportFile file = exportJobService.download(jobId);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + file.fileName())
+                .contentType(MediaType.parseMediaType(file.contentType()))
+                .body(file.resource());
+    }
+}
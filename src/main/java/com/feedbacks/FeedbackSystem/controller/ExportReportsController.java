@@ -1,15 +1,17 @@
 package com.feedbacks.FeedbackSystem.controller;
 
 import com.feedbacks.FeedbackSystem.service.other_services.ExcelExportService;
+import com.feedbacks.FeedbackSystem.service.export.ReportType;
 import com.feedbacks.FeedbackSystem.service.other_services.PdfReportService;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
 
@@ -32,19 +34,35 @@ public class ExportReportsController {
         return "Pdf generated in: " + filePath;
     }
 
+    @GetMapping("/pdf/{report}/download")
+    public ResponseEntity<StreamingResponseBody> downloadPdfReport(@PathVariable ReportType report) {
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + report.fileName() + ".pdf")
+                .contentType(MediaType.APPLICATION_PDF)
+                .body(pdfService.downloadReport(report));
+    }
+
     @GetMapping("/user/excel")
     public ResponseEntity<String> excelExportStudents() throws IOException {
         return ResponseEntity.ok().body("Excel sheet exported at "+ excelExportService.exportStudentsDetailsToExcel());
     }
 
     @GetMapping("/user/excel/download")
-    public ResponseEntity<Resource> downloadStudentsExcelSheet() throws IOException {
+    public ResponseEntity<StreamingResponseBody> downloadStudentsExcelSheet() {
         return ResponseEntity.ok()
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename:students.xlsx")
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=students.xlsx")
                 .contentType(MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"))
                 .body(excelExportService.downloadStudentsExcelSheet());
     }
 
+    @GetMapping("/user/csv/download")
+    public ResponseEntity<StreamingResponseBody> downloadStudentsCsv() {
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=students.csv")
+                .contentType(MediaType.parseMediaType("text/csv; charset=UTF-8"))
+                .body(excelExportService.downloadStudentsCsv());
+    }
+
     @GetMapping("/course/excel")
     public ResponseEntity<String> excelExportCourses() throws IOException {
         return ResponseEntity.ok().body("Excel sheet exported at "+ excelExportService.exportCourseDetailsToExcel());
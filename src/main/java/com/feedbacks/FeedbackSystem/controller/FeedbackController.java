@@ -1,17 +1,23 @@
 package com.feedbacks.FeedbackSystem.controller;
 
 import com.feedbacks.FeedbackSystem.DTO.ApiResponse;
+import com.feedbacks.FeedbackSystem.DTO.CursorPage;
+import com.feedbacks.FeedbackSystem.DTO.FeedbackSearchHit;
 import com.feedbacks.FeedbackSystem.DTO.EntityDTO.requestDTOs.FeedbackRequestDTO;
 import com.feedbacks.FeedbackSystem.DTO.analytics.CourseFeedbackSummary;
 import com.feedbacks.FeedbackSystem.DTO.EntityDTO.responseDTOs.FeedbackResponseDTO;
+import com.feedbacks.FeedbackSystem.DTO.EntityDTO.responseDTOs.FeedbackSubmissionStatusDTO;
+import com.feedbacks.FeedbackSystem.service.ingestion.FeedbackIngestionService;
 import com.feedbacks.FeedbackSystem.service.serviceImple.FeedbackServiceImpl;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.net.URI;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -21,18 +27,33 @@ import java.util.List;
 public class FeedbackController {
 
     private final FeedbackServiceImpl feedbackService;
+    private final FeedbackIngestionService ingestionService;
 
-    public FeedbackController(FeedbackServiceImpl feedbackService) {
+    public FeedbackController(FeedbackServiceImpl feedbackService, FeedbackIngestionService ingestionService) {
         this.feedbackService = feedbackService;
+        this.ingestionService = ingestionService;
     }
 
+    // cursor-paged like /scroll: pass nextCursor from the previous page to continue
     @GetMapping
-    public ResponseEntity<List<FeedbackResponseDTO>> getFeedbacks() {
-        return ResponseEntity.ok(feedbackService.getFeedbacks());
+    public ResponseEntity<CursorPage<FeedbackResponseDTO>> getFeedbacks(@RequestParam(required = false) String cursor,
+                                                                        @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(feedbackService.getFeedbacks(cursor, size));
     }
 
     @PostMapping
-    public ResponseEntity<ApiResponse<FeedbackResponseDTO>> createFeedback(@Valid @RequestBody FeedbackRequestDTO feedbackRequestDTO) {
+    public ResponseEntity<ApiResponse<?>> createFeedback(@Valid @RequestBody FeedbackRequestDTO feedbackRequestDTO) {
+        // write-behind mode: 202 with a tracking id, poll /submissions/{trackingId} for the stored feedback
+        if (ingestionService.isEnabled()) {
+            FeedbackSubmissionStatusDTO receipt = ingestionService.enqueue(feedbackRequestDTO);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/v1/feedbacks/submissions/" + receipt.getTrackingId()))
+                    .body(new ApiResponse<>(
+                            true,
+                            HttpStatus.ACCEPTED.toString(),
+                            receipt
+                    ));
+        }
         return ResponseEntity.ok(
                 new ApiResponse<>(
                         true,
@@ -42,9 +63,21 @@ public class FeedbackController {
         );
     }
 
+    @GetMapping("/submissions/{trackingId}")
+    public ResponseEntity<ApiResponse<FeedbackSubmissionStatusDTO>> getSubmissionStatus(@PathVariable String trackingId) {
+        FeedbackSubmissionStatusDTO status = ingestionService.getStatus(trackingId);
+        return ResponseEntity.ok(
+                new ApiResponse<>(
+                        status.getStatus() != FeedbackSubmissionStatusDTO.Status.FAILED,
+                        status.getStatus().toString(),
+                        status
+                )
+        );
+    }
+
     @PutMapping("/{feedbackId}")
     public ResponseEntity<ApiResponse<FeedbackResponseDTO>> editFeedback(@PathVariable Integer feedbackId,
-                                                                         @RequestBody FeedbackRequestDTO feedbackRequestDTO) {
+                                                                         @Valid @RequestBody FeedbackRequestDTO feedbackRequestDTO) {
         return ResponseEntity.ok(
                 new ApiResponse<>(
                         true,
@@ -84,7 +117,7 @@ public class FeedbackController {
 
 
     @GetMapping("/{courseId}/sort")
-    public ResponseEntity<Page<FeedbackResponseDTO>> getSortedFeedbackByCourseId(@PathVariable Integer courseId,
+    public ResponseEntity<Slice<FeedbackResponseDTO>> getSortedFeedbackByCourseId(@PathVariable Integer courseId,
                                                                                  @RequestParam(defaultValue = "0") int page,
                                                                                  @RequestParam(defaultValue = "10") int size,
                                                                                  @RequestParam(defaultValue = "submittedAt,DESC") String sort) {
@@ -93,28 +126,60 @@ public class FeedbackController {
     }
 
     @GetMapping("/search")
-    public ResponseEntity<List<FeedbackResponseDTO>> searchingCriteria(
+    public ResponseEntity<CursorPage<FeedbackResponseDTO>> searchingCriteria(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) Integer courseId,
+            @RequestParam(required = false) Integer studentId,
+            @RequestParam(required = false) Integer minRating,
+            @RequestParam(required = false) String keyword,
+            @RequestParam(required = false) String studentName,
+            @RequestParam(value = "anonymous", required = false) Boolean anonymous,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate
+    ) {
+        return ResponseEntity.ok(feedbackService.searchFeedback(courseId, studentId, minRating, keyword, studentName, anonymous,
+                fromDate, toDate, cursor, size));
+    }
+
+    // ranked full-text search over course and instructor comments, e.g. q="great labs" pace
+    @GetMapping("/search/text")
+    public ResponseEntity<Slice<FeedbackSearchHit>> searchFeedbackText(@RequestParam String q,
+                                                                       @RequestParam(defaultValue = "0") int page,
+                                                                       @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(feedbackService.searchFeedbackText(q, page, size));
+    }
+
+    // cursor-paged listing: pass nextCursor from the previous page to continue, omit it for the first page
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPage<FeedbackResponseDTO>> scrollFeedbacks(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
             @RequestParam(required = false) Integer courseId,
             @RequestParam(required = false) Integer studentId,
             @RequestParam(required = false) Integer minRating,
+            @RequestParam(required = false) Integer maxRating,
             @RequestParam(required = false) String keyword,
             @RequestParam(required = false) String studentName,
             @RequestParam(value = "anonymous", required = false) Boolean anonymous,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate
     ) {
-        return ResponseEntity.ok(feedbackService.searchFeedback(courseId, studentId, minRating, keyword, studentName, anonymous, fromDate, toDate));
+        return ResponseEntity.ok(feedbackService.scrollFeedbacks(courseId, studentId, minRating, maxRating,
+                keyword, studentName, anonymous, fromDate, toDate, cursor, size));
     }
 
     @GetMapping("/filter")
-    public List<FeedbackResponseDTO> filterFeedback(
+    public CursorPage<FeedbackResponseDTO> filterFeedback(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
             @RequestParam(required = false) Integer courseId,
             @RequestParam(required = false) Integer minRating,
             @RequestParam(required = false) Integer maxRating,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
             @RequestParam(required = false) Boolean anonymous) {
-        return feedbackService.getFilteredFeedback(courseId, minRating, maxRating, fromDate, toDate, anonymous);
+        return feedbackService.getFilteredFeedback(courseId, minRating, maxRating, fromDate, toDate, anonymous, cursor, size);
     }
 
     @GetMapping("/student/{userId}")
@@ -0,0 +1,46 @@
+package com.feedbacks.FeedbackSystem.controller;
+
+import com.feedbacks.FeedbackSystem.DTO.ApiResponse;
+import com.feedbacks.FeedbackSystem.DTO.imports.FeedbackImportReport;
+import com.feedbacks.FeedbackSystem.Exception.BadRequestException;
+import com.feedbacks.FeedbackSystem.service.imports.FeedbackImportService;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+// Bulk import of historical feedbacks from a .csv or .xlsx upload (columns: see FeedbackImportColumn).
+// Answers with a report of imported and rejected rows; dryRun=true only validates.
+@CrossOrigin(origins = "http://localhost:3000/")
+@RestController
+@RequestMapping("/api/v1/imports")
+public class FeedbackImportController {
+
+    private final FeedbackImportService importService;
+
+    public FeedbackImportController(FeedbackImportService importService) {
+        this.importService = importService;
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping(value = "/feedbacks", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ApiResponse<FeedbackImportReport>> importFeedbacks(@RequestParam("file") MultipartFile file,
+                                                                             @RequestParam(defaultValue = "false") boolean dryRun) throws IOException {
+        if (file.isEmpty()) {
+            throw new BadRequestException("The uploaded file is empty.");
+        }
+        FeedbackImportReport report;
+        try (InputStream in = file.getInputStream()) {
+            report = importService.importFeedbacks(file.getOriginalFilename(), in, dryRun);
+        }
+        return ResponseEntity.ok(new ApiResponse<>(
+                true,
+                (dryRun ? "Dry run: " : "") + report.imported() + " feedbacks imported, " + report.rejected() + " rows rejected",
+                report
+        ));
+    }
+}
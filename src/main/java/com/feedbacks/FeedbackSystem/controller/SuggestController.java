@@ -0,0 +1,32 @@
+package com.feedbacks.FeedbackSystem.controller;
+
+import com.feedbacks.FeedbackSystem.DTO.SuggestionDTO;
+import com.feedbacks.FeedbackSystem.service.autocomplete.AutocompleteService;
+import com.feedbacks.FeedbackSystem.service.autocomplete.SuggestRanking;
+import com.feedbacks.FeedbackSystem.service.autocomplete.SuggestType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+// Type-ahead for course and instructor names, answered from memory (no database round trip).
+// Without type, courses and instructors are ranked together.
+@CrossOrigin(origins = "http://localhost:3000/")
+@RestController
+@RequestMapping("/api/v1/suggest")
+public class SuggestController {
+
+    private final AutocompleteService autocompleteService;
+
+    public SuggestController(AutocompleteService autocompleteService) {
+        this.autocompleteService = autocompleteService;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<SuggestionDTO>> suggest(@RequestParam String q,
+                                                       @RequestParam(required = false) SuggestType type,
+                                                       @RequestParam(defaultValue = "RATING") SuggestRanking rankBy,
+                                                       @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(autocompleteService.suggest(q, type, rankBy, limit));
+    }
+}
@@ -27,16 +27,9 @@ public class CourseMapper {
         return course;
     }
 
+    // reads the name off the association; list queries fetch it in the same statement (see CourseRepository)
     public CourseResponseDTO toResponse(Course course){
-        Instructor instructor = null;
-        String instructorName = null;
-
-        if(course.getInstructor() != null){
-            instructor = instructorService.getInstructorById(course.getInstructor().getInstructorId());
-        }
-        if(instructor != null){
-            instructorName = instructor.getInstructorName();
-        }
+        String instructorName = course.getInstructor() != null ? course.getInstructor().getInstructorName() : null;
 
         return new CourseResponseDTO(
                 course.getCourseId(),
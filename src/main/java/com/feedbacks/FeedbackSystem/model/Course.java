@@ -20,18 +20,30 @@ import java.util.List;
 @SQLDelete(sql = "UPDATE course SET is_deleted = true WHERE course_id = ?")
 @FilterDef(name = "deletedCourseFilter", parameters = @ParamDef(name = "isDeleted", type = Boolean.class))
 @Filter(name = "deletedCourseFilter", condition = "is_deleted = false")
+// lazy course proxies left by native queries (soft-deleted feedback listing) load 50 per SELECT
+@BatchSize(size = 50)
 public class Course {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = IdGenerators.COURSE)
+    @TableGenerator(name = IdGenerators.COURSE, table = IdGenerators.TABLE,
+            pkColumnName = IdGenerators.NAME_COLUMN, valueColumnName = IdGenerators.VALUE_COLUMN,
+            pkColumnValue = IdGenerators.COURSE, allocationSize = IdGenerators.ALLOCATION_SIZE)
     private int courseId;
 
     private String courseName;
 
     private String courseDescription;
 
+    // rating aggregates only change through the atomic SQL deltas and rebuilds in RatingAggregateService;
+    // entity saves must never write a stale copy back over them
+    @Column(updatable = false)
     private Double avgRating;
+    @Column(updatable = false)
     private Long feedbackCount;
+    // exact running total, avgRating is derived from ratingSum / feedbackCount
+    @Column(name = "rating_sum", nullable = false, updatable = false)
+    private long ratingSum;
 
     @CreatedBy
     private String createdBy;
@@ -13,7 +13,10 @@ import java.time.LocalDateTime;
 @EntityListeners(AuditingEntityListener.class)
 public class Enrollment {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = IdGenerators.ENROLLMENT)
+    @TableGenerator(name = IdGenerators.ENROLLMENT, table = IdGenerators.TABLE,
+            pkColumnName = IdGenerators.NAME_COLUMN, valueColumnName = IdGenerators.VALUE_COLUMN,
+            pkColumnValue = IdGenerators.ENROLLMENT, allocationSize = IdGenerators.ALLOCATION_SIZE)
     private int enrollId;
 
     @ManyToOne
@@ -0,0 +1,66 @@
+package com.feedbacks.FeedbackSystem.model;
+
+import com.feedbacks.FeedbackSystem.service.export.ExportFormat;
+import com.feedbacks.FeedbackSystem.service.export.ReportType;
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.Instant;
+
+@Entity
+@Data
+@Table(name = "export_jobs", indexes = {
+        @Index(name = "idx_export_jobs_expires_at", columnList = "expires_at"),
+        @Index(name = "idx_export_jobs_owner_status", columnList = "owner_node, status")
+})
+public class ExportJob {
+
+    @Id
+    @Column(length = 36)
+    private String jobId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private ReportType report;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private ExportFormat format;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status;
+
+    private String requestedBy;
+
+    // node that accepted (and runs) the job, see feedback.export.node-id
+    @Column(length = 64)
+    private String ownerNode;
+
+    private long rowsWritten;
+
+    private Long totalRows;
+
+    private String filePath;
+
+    private Long fileSize;
+
+    @Column(length = 500)
+    private String error;
+
+    @Column(nullable = false)
+    private Instant createdAt = Instant.now();
+
+    private Instant startedAt;
+
+    private Instant completedAt;
+
+    private Instant expiresAt;
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+}
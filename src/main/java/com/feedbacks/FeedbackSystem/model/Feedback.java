@@ -2,6 +2,9 @@ package com.feedbacks.FeedbackSystem.model;
 
 import jakarta.persistence.*;
 import jakarta.persistence.Index;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.NamedSubgraph;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
@@ -25,15 +28,40 @@ import java.time.LocalDateTime;
                 ),
                 @Index(name = "idx_feedback_submitted_at",
                         columnList = "submitted_at"
+                ),
+                // keyset pagination: equality filter first, then the (submitted_at, feedback_id) sort key
+                @Index(name = "idx_feedback_keyset",
+                        columnList = "submitted_at, feedback_id"
+                ),
+                @Index(name = "idx_feedback_course_keyset",
+                        columnList = "course_id, submitted_at, feedback_id"
+                ),
+                @Index(name = "idx_feedback_student_keyset",
+                        columnList = "student_id, submitted_at, feedback_id"
                 )
         }
 )
+// everything FeedbackMapper.toResponse reads, fetched with the feedback rows in one SELECT
+@NamedEntityGraph(
+        name = Feedback.LISTING_GRAPH,
+        attributeNodes = {
+                @NamedAttributeNode(value = "course", subgraph = "course.instructor"),
+                @NamedAttributeNode("student")
+        },
+        subgraphs = @NamedSubgraph(name = "course.instructor", attributeNodes = @NamedAttributeNode("instructor"))
+)
 @SQLDelete(sql = "UPDATE feedback SET is_deleted = true WHERE feedback_id = ?")
 @FilterDef(name = "deletedFeedbackFilter", parameters = @ParamDef(name = "isDeleted", type = Boolean.class))
 @Filter(name = "deletedFeedbackFilter", condition = "is_deleted = false")
 public class Feedback {
+
+    public static final String LISTING_GRAPH = "Feedback.listing";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = IdGenerators.FEEDBACK)
+    @TableGenerator(name = IdGenerators.FEEDBACK, table = IdGenerators.TABLE,
+            pkColumnName = IdGenerators.NAME_COLUMN, valueColumnName = IdGenerators.VALUE_COLUMN,
+            pkColumnValue = IdGenerators.FEEDBACK, allocationSize = IdGenerators.ALLOCATION_SIZE)
     private int feedbackId;
 
     private int courseRating;
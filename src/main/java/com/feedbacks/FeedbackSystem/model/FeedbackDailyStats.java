@@ -0,0 +1,41 @@
+package com.feedbacks.FeedbackSystem.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+// One row per (day, course, instructor), maintained by DailyStatsRollup.
+// Read-only from JPA: all writes are SQL upserts.
+@Entity
+@Data
+@Table(name = "feedback_daily_stats")
+public class FeedbackDailyStats {
+
+    @EmbeddedId
+    private FeedbackDailyStatsId id;
+
+    private long feedbackCount;
+    private long courseRatingSum;
+    private long instructorRatingSum;
+
+    @Column(name = "course_stars_1")
+    private long courseStars1;
+    @Column(name = "course_stars_2")
+    private long courseStars2;
+    @Column(name = "course_stars_3")
+    private long courseStars3;
+    @Column(name = "course_stars_4")
+    private long courseStars4;
+    @Column(name = "course_stars_5")
+    private long courseStars5;
+
+    @Column(name = "instructor_stars_1")
+    private long instructorStars1;
+    @Column(name = "instructor_stars_2")
+    private long instructorStars2;
+    @Column(name = "instructor_stars_3")
+    private long instructorStars3;
+    @Column(name = "instructor_stars_4")
+    private long instructorStars4;
+    @Column(name = "instructor_stars_5")
+    private long instructorStars5;
+}
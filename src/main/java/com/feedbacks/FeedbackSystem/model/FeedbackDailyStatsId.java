@@ -0,0 +1,26 @@
+package com.feedbacks.FeedbackSystem.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeedbackDailyStatsId implements Serializable {
+
+    @Column(name = "stat_day")
+    private LocalDate day;
+
+    @Column(name = "course_id")
+    private int courseId;
+
+    @Column(name = "instructor_id")
+    private int instructorId;
+}
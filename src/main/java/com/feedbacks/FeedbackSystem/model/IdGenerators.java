@@ -0,0 +1,20 @@
+package com.feedbacks.FeedbackSystem.model;
+
+// Names shared by the @TableGenerator mappings and IdBlockAllocator. Each id_generator row holds the
+// last id handed out for one table; Hibernate (pooled-lo) and JDBC batch writers advance it by whole blocks.
+public final class IdGenerators {
+
+    public static final String TABLE = "id_generator";
+    public static final String NAME_COLUMN = "sequence_name";
+    public static final String VALUE_COLUMN = "next_val";
+    // ids reserved per round trip to id_generator
+    public static final int ALLOCATION_SIZE = 50;
+
+    public static final String FEEDBACK = "feedback";
+    public static final String COURSE = "course";
+    public static final String ENROLLMENT = "enrollment";
+    public static final String USERS = "users";
+
+    private IdGenerators() {
+    }
+}
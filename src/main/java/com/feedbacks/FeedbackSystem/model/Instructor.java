@@ -14,6 +14,8 @@ import java.util.List;
 @SQLDelete(sql = "UPDATE instructor SET is_deleted = true WHERE instructor_id = ?")
 @FilterDef(name = "deletedInstructorFilter", parameters = @ParamDef(name = "isDeleted", type = Boolean.class))
 @Filter(name = "deletedInstructorFilter", condition = "is_deleted = false")
+// lazy instructor proxies (e.g. courses read by native query) are initialized up to 50 per SELECT
+@BatchSize(size = 50)
 public class Instructor {
 
     @Id
@@ -22,8 +24,15 @@ public class Instructor {
 
     private String instructorName;
 
+    // rating aggregates only change through the atomic SQL deltas and rebuilds in RatingAggregateService;
+    // entity saves must never write a stale copy back over them
+    @Column(updatable = false)
     private double avgRating;
+    @Column(updatable = false)
     private long feedbackCount;
+    // exact running total, avgRating is derived from ratingSum / feedbackCount
+    @Column(name = "rating_sum", nullable = false, updatable = false)
+    private long ratingSum;
 
     private LocalDateTime deletedAt;
     private String deletedBy;
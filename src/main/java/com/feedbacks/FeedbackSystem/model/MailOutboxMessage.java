@@ -0,0 +1,58 @@
+package com.feedbacks.FeedbackSystem.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.Instant;
+
+@Entity
+@Data
+@Table(name = "mail_outbox", indexes = {
+        @Index(name = "idx_mail_outbox_due", columnList = "status, next_attempt_at")
+})
+public class MailOutboxMessage {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // comma separated; bulk messages carry up to feedback.mail.bcc-batch-size addresses
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String recipients;
+
+    // true: recipients go to Bcc so students don't see each other's address
+    @Column(nullable = false)
+    private boolean bcc;
+
+    @Column(nullable = false)
+    private String subject;
+
+    @Column(nullable = false, columnDefinition = "MEDIUMTEXT")
+    private String htmlBody;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status = Status.PENDING;
+
+    private int attempts;
+
+    @Column(nullable = false)
+    private Instant nextAttemptAt = Instant.now();
+
+    private Instant claimedAt;
+
+    @Column(length = 500)
+    private String lastError;
+
+    @Column(nullable = false)
+    private Instant createdAt = Instant.now();
+
+    private Instant sentAt;
+
+    public enum Status {
+        PENDING,
+        SENDING,
+        SENT,
+        FAILED
+    }
+}
@@ -5,6 +5,7 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.annotations.BatchSize;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
@@ -16,10 +17,14 @@ import java.time.LocalDate;
 @EntityListeners(AuditingEntityListener.class)
 @AllArgsConstructor
 @Table(name = "users")
+@BatchSize(size = 50)
 public class User {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = IdGenerators.USERS)
+    @TableGenerator(name = IdGenerators.USERS, table = IdGenerators.TABLE,
+            pkColumnName = IdGenerators.NAME_COLUMN, valueColumnName = IdGenerators.VALUE_COLUMN,
+            pkColumnValue = IdGenerators.USERS, allocationSize = IdGenerators.ALLOCATION_SIZE)
     private int userId;
 
     private String username;
@@ -3,22 +3,71 @@ package com.feedbacks.FeedbackSystem.repository;
 import com.feedbacks.FeedbackSystem.DTO.analytics.CourseFeedbackCountDTO;
 import com.feedbacks.FeedbackSystem.DTO.analytics.CourseRankingDTO;
 import com.feedbacks.FeedbackSystem.DTO.analytics.PopularCourseDTO;
+import com.feedbacks.FeedbackSystem.DTO.analytics.RatingAggregateRow;
+import com.feedbacks.FeedbackSystem.DTO.SuggestionDTO;
+import com.feedbacks.FeedbackSystem.DTO.export.CourseExportRow;
+import com.feedbacks.FeedbackSystem.DTO.imports.ImportCourseRef;
 import com.feedbacks.FeedbackSystem.model.Course;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 public interface CourseRepository extends JpaRepository<Course, Integer>,
         JpaSpecificationExecutor<Course> {
+
+    // List reads fetch the instructor in the same SELECT, CourseMapper.toResponse needs its name
+    @Override
+    @EntityGraph(attributePaths = "instructor")
+    List<Course> findAll();
+
+    @Override
+    @EntityGraph(attributePaths = "instructor")
+    List<Course> findAll(Sort sort);
+
+    @Override
+    @EntityGraph(attributePaths = "instructor")
+    List<Course> findAll(Specification<Course> spec);
+
+    @Override
+    @EntityGraph(attributePaths = "instructor")
+    Page<Course> findAll(Specification<Course> spec, Pageable pageable);
+
+    // Forward-only stream for exports, soft-deleted courses included (the report has an is_deleted column)
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.feedbacks.FeedbackSystem.DTO.export.CourseExportRow(c.courseId, c.courseName, c.courseDescription, " +
+            "c.createdBy, c.modifiedBy, c.deletedBy, c.isDeleted, i.instructorName) " +
+            "FROM Course c LEFT JOIN c.instructor i ORDER BY c.courseId")
+    Stream<CourseExportRow> streamCoursesForExport();
+
+    // Autocomplete snapshot. Runs outside a request where the soft-delete filter isn't enabled, so the flag is checked here
+    @Query("SELECT new com.feedbacks.FeedbackSystem.DTO.SuggestionDTO('COURSE', c.courseId, c.courseName, " +
+            "COALESCE(c.avgRating, 0.0), COALESCE(c.feedbackCount, 0L)) " +
+            "FROM Course c WHERE c.isDeleted = false")
+    List<SuggestionDTO> findSuggestions();
+
     //search course by name
-    @Query("SELECT c FROM Course c " +
+    @Query("SELECT c FROM Course c LEFT JOIN FETCH c.instructor " +
             "WHERE LOWER(c.courseName) LIKE LOWER(CONCAT ('%', :courseName, '%'))")
     List<Course> findByCourseNameContainingIgnoreCase(@Param("courseName") String courseName);
 
@@ -43,33 +92,29 @@ public interface CourseRepository extends JpaRepository<Course, Integer>,
     @Query(value = "DELETE FROM Course c WHERE c.course_id = :courseId", nativeQuery = true)
     void deletePermanently(@Param("courseId")Integer courseId);
 
+    // Ranked on the maintained feedback_count (live feedback only), the same value
+    // AnalyticsCacheInvalidator compares when deciding which cached pages a write reorders
     @Query("SELECT c.courseId AS courseId, " +
             "c.courseName AS courseName, " +
-            "COUNT(f) AS feedbackCount, " +
+            "COALESCE(c.feedbackCount, 0) AS feedbackCount, " +
             "i.instructorName AS instructorName " +
             "FROM Course c " +
             "LEFT JOIN c.instructor i " +
-            "LEFT JOIN c.feedbacks f " +
-            "GROUP BY c.courseId, c.courseName " +
-            "ORDER BY feedbackCount DESC")
+            "ORDER BY COALESCE(c.feedbackCount, 0) DESC, c.courseId ASC")
     List<PopularCourseDTO> findPopularCourses(Pageable pageable);
 
     // Slice class to do "load more" in frontend
     @Query("SELECT c.courseId AS courseId, " +
             "c.courseName AS courseName, " +
-            "COUNT(f) AS feedbackCount, " +
+            "COALESCE(c.feedbackCount, 0) AS feedbackCount, " +
             "i.instructorName AS instructorName " +
             "FROM Course c " +
             "LEFT JOIN c.instructor i " +
-            "LEFT JOIN c.feedbacks f " +
-            "GROUP BY c.courseId, c.courseName " +
-            "ORDER BY feedbackCount ASC")
+            "ORDER BY COALESCE(c.feedbackCount, 0) ASC, c.courseId ASC")
     Slice<PopularCourseDTO> findUnPopularCourses(Pageable pageable);
 
-    @Query("SELECT c FROM Course c " +
-            "LEFT JOIN c.enrollments e " +
-            "GROUP BY c.courseId " +
-            "HAVING COUNT(e) >= :minEnrollment")
+    @Query("SELECT c FROM Course c LEFT JOIN FETCH c.instructor " +
+            "WHERE (SELECT COUNT(e) FROM Enrollment e WHERE e.course = c) >= :minEnrollment")
     List<Course> hasEnrollmentGreaterThan(@Param("minEnrollment") Integer minEnrollment);
 
     // MATERIALIZED VIEW - FAST
@@ -85,4 +130,55 @@ public interface CourseRepository extends JpaRepository<Course, Integer>,
             ORDER BY c.avgRating DESC
             """)
     List<CourseRankingDTO> getCourseRaking(Pageable pageable);
+
+    // Atomic aggregate update: no read-modify-write, so concurrent submissions can't lose increments.
+    // avg_rating is listed first so it is computed from the old sum/count on every database
+    @Modifying
+    @Query(value = """
+            UPDATE course
+            SET avg_rating = CASE WHEN COALESCE(feedback_count, 0) + :countDelta > 0
+                                  THEN (rating_sum + :ratingDelta) * 1.0 / (COALESCE(feedback_count, 0) + :countDelta)
+                                  ELSE 0 END,
+                rating_sum = rating_sum + :ratingDelta,
+                feedback_count = COALESCE(feedback_count, 0) + :countDelta
+            WHERE course_id = :courseId
+            """, nativeQuery = true)
+    int applyRatingDelta(@Param("courseId") Integer courseId,
+                         @Param("ratingDelta") long ratingDelta,
+                         @Param("countDelta") long countDelta);
+
+    @Modifying
+    @Query(value = """
+            UPDATE course c
+            SET c.rating_sum = (SELECT COALESCE(SUM(f.course_rating), 0)
+                                FROM feedback f
+                                WHERE f.course_id = c.course_id AND f.is_deleted = false),
+                c.feedback_count = (SELECT COUNT(*)
+                                    FROM feedback f
+                                    WHERE f.course_id = c.course_id AND f.is_deleted = false)
+            """, nativeQuery = true)
+    int rebuildRatingSums();
+
+    @Modifying
+    @Query(value = """
+            UPDATE course
+            SET avg_rating = CASE WHEN feedback_count > 0 THEN rating_sum * 1.0 / feedback_count ELSE 0 END
+            """, nativeQuery = true)
+    int rebuildAvgRatings();
+
+    @Query("""
+            SELECT new com.feedbacks.FeedbackSystem.DTO.analytics.RatingAggregateRow(
+            c.courseId,
+            c.ratingSum,
+            c.feedbackCount
+            )
+            FROM Course c
+            WHERE c.courseId IN :ids
+            """)
+    List<RatingAggregateRow> findRatingAggregates(@Param("ids") Collection<Integer> ids);
+
+    // Feedback import: one lookup per chunk of rows, soft-deleted courses count as missing
+    @Query("SELECT new com.feedbacks.FeedbackSystem.DTO.imports.ImportCourseRef(c.courseId, i.instructorId) " +
+            "FROM Course c LEFT JOIN c.instructor i WHERE c.courseId IN :ids AND c.isDeleted = false")
+    List<ImportCourseRef> findImportRefs(@Param("ids") Collection<Integer> ids);
 }
@@ -1,5 +1,6 @@
 package com.feedbacks.FeedbackSystem.repository;
 
+import com.feedbacks.FeedbackSystem.DTO.imports.EnrollmentKey;
 import com.feedbacks.FeedbackSystem.model.Course;
 import com.feedbacks.FeedbackSystem.model.Enrollment;
 import com.feedbacks.FeedbackSystem.model.User;
@@ -8,6 +9,7 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface EnrollmentRepository extends JpaRepository<Enrollment, Integer> {
@@ -47,4 +49,10 @@ public interface EnrollmentRepository extends JpaRepository<Enrollment, Integer>
     @Query("SELECT COUNT(e) FROM Enrollment e WHERE e.student.userId = :userId")
     Integer countStudentTotalEnrollments(@Param("userId") int userId);
 
+    // Bulk enrollment check for the feedback import: every enrollment of these students in these courses
+    @Query("SELECT new com.feedbacks.FeedbackSystem.DTO.imports.EnrollmentKey(e.student.userId, e.course.courseId) " +
+            "FROM Enrollment e WHERE e.student.userId IN :studentIds AND e.course.courseId IN :courseIds")
+    List<EnrollmentKey> findEnrollmentKeys(@Param("studentIds") Collection<Integer> studentIds,
+                                           @Param("courseIds") Collection<Integer> courseIds);
+
 }
@@ -0,0 +1,65 @@
+package com.feedbacks.FeedbackSystem.repository;
+
+import com.feedbacks.FeedbackSystem.model.ExportJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+public interface ExportJobRepository extends JpaRepository<ExportJob, String> {
+
+    // this node's expired jobs: their files are on this node's disk
+    List<ExportJob> findByOwnerNodeAndExpiresAtBefore(String ownerNode, Instant now);
+
+    // rows of other nodes still there long after expiry: their owner is gone (the file went with its disk)
+    @Modifying
+    @Transactional
+    @Query("""
+            DELETE FROM ExportJob j
+            WHERE (j.ownerNode IS NULL OR j.ownerNode <> :ownerNode)
+              AND j.expiresAt < :expiredBefore
+            """)
+    int deleteAbandoned(@Param("ownerNode") String ownerNode,
+                        @Param("expiredBefore") Instant expiredBefore);
+
+    // jobs a previous run of this node never finished
+    @Modifying
+    @Transactional
+    @Query("""
+            UPDATE ExportJob j
+            SET j.status = com.feedbacks.FeedbackSystem.model.ExportJob.Status.FAILED,
+                j.error = :error,
+                j.completedAt = :now,
+                j.expiresAt = :expiresAt
+            WHERE j.ownerNode = :ownerNode
+              AND j.status IN :statuses
+            """)
+    int failUnfinished(@Param("ownerNode") String ownerNode,
+                       @Param("statuses") Collection<ExportJob.Status> statuses,
+                       @Param("error") String error,
+                       @Param("now") Instant now,
+                       @Param("expiresAt") Instant expiresAt);
+
+    // unfinished jobs of any node older than the longest possible run: their node died or was replaced
+    @Modifying
+    @Transactional
+    @Query("""
+            UPDATE ExportJob j
+            SET j.status = com.feedbacks.FeedbackSystem.model.ExportJob.Status.FAILED,
+                j.error = :error,
+                j.completedAt = :now,
+                j.expiresAt = :expiresAt
+            WHERE j.status IN :statuses
+              AND j.createdAt < :createdBefore
+            """)
+    int failStale(@Param("statuses") Collection<ExportJob.Status> statuses,
+                  @Param("createdBefore") Instant createdBefore,
+                  @Param("error") String error,
+                  @Param("now") Instant now,
+                  @Param("expiresAt") Instant expiresAt);
+}
@@ -0,0 +1,141 @@
+package com.feedbacks.FeedbackSystem.repository;
+
+import com.feedbacks.FeedbackSystem.DTO.analytics.FeedbackTrendDTO;
+import com.feedbacks.FeedbackSystem.DTO.analytics.StarHistogramDTO;
+import com.feedbacks.FeedbackSystem.model.FeedbackDailyStats;
+import com.feedbacks.FeedbackSystem.model.FeedbackDailyStatsId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// Reads over the feedback_daily_stats rollup. The table holds at most one row per
+// day/course/instructor, so grouping it stays cheap no matter how large feedback gets.
+public interface FeedbackDailyStatsRepository extends JpaRepository<FeedbackDailyStats, FeedbackDailyStatsId> {
+
+    @Query("""
+            SELECT new com.feedbacks.FeedbackSystem.DTO.analytics.FeedbackTrendDTO(
+                     CONCAT('', FUNCTION('DATE_FORMAT', s.id.day, '%m-%d')),
+                     SUM(s.feedbackCount)
+                     )
+                     FROM FeedbackDailyStats s
+                     WHERE (:fromDate IS NULL OR s.id.day >= :fromDate)
+                       AND (:toDate IS NULL OR s.id.day <= :toDate)
+                       AND (:courseId IS NULL OR s.id.courseId = :courseId)
+                       AND (:instructorId IS NULL OR s.id.instructorId = :instructorId)
+                     GROUP BY FUNCTION('DATE_FORMAT', s.id.day, '%m-%d')
+                     HAVING SUM(s.feedbackCount) > 0
+                     ORDER BY FUNCTION('DATE_FORMAT', s.id.day, '%m-%d')
+            """)
+    List<FeedbackTrendDTO> getDailyTrends(@Param("fromDate") LocalDate fromDate,
+                                      @Param("toDate") LocalDate toDate,
+                                      @Param("courseId") Integer courseId,
+                                      @Param("instructorId") Integer instructorId);
+
+    @Query("""
+            SELECT new com.feedbacks.FeedbackSystem.DTO.analytics.FeedbackTrendDTO(
+                     CONCAT('', FUNCTION('DATE_FORMAT', s.id.day, '%Y-%m')),
+                     SUM(s.feedbackCount)
+                     )
+                     FROM FeedbackDailyStats s
+                     WHERE (:fromDate IS NULL OR s.id.day >= :fromDate)
+                       AND (:toDate IS NULL OR s.id.day <= :toDate)
+                       AND (:courseId IS NULL OR s.id.courseId = :courseId)
+                       AND (:instructorId IS NULL OR s.id.instructorId = :instructorId)
+                     GROUP BY FUNCTION('DATE_FORMAT', s.id.day, '%Y-%m')
+                     HAVING SUM(s.feedbackCount) > 0
+                     ORDER BY FUNCTION('DATE_FORMAT', s.id.day, '%Y-%m')
+            """)
+    List<FeedbackTrendDTO> getMonthlyTrends(@Param("fromDate") LocalDate fromDate,
+                                            @Param("toDate") LocalDate toDate,
+                                            @Param("courseId") Integer courseId,
+                                            @Param("instructorId") Integer instructorId);
+
+    @Query("""
+            SELECT new com.feedbacks.FeedbackSystem.DTO.analytics.FeedbackTrendDTO(
+                     CONCAT('', FUNCTION('DATE_FORMAT', s.id.day, '%Y')),
+                     SUM(s.feedbackCount)
+                     )
+                     FROM FeedbackDailyStats s
+                     WHERE (:fromDate IS NULL OR s.id.day >= :fromDate)
+                       AND (:toDate IS NULL OR s.id.day <= :toDate)
+                       AND (:courseId IS NULL OR s.id.courseId = :courseId)
+                       AND (:instructorId IS NULL OR s.id.instructorId = :instructorId)
+                     GROUP BY FUNCTION('DATE_FORMAT', s.id.day, '%Y')
+                     HAVING SUM(s.feedbackCount) > 0
+                     ORDER BY FUNCTION('DATE_FORMAT', s.id.day, '%Y')
+            """)
+    List<FeedbackTrendDTO> getYearlyTrends(@Param("fromDate") LocalDate fromDate,
+                                           @Param("toDate") LocalDate toDate,
+                                           @Param("courseId") Integer courseId,
+                                           @Param("instructorId") Integer instructorId);
+
+    @Query("""
+            SELECT new com.feedbacks.FeedbackSystem.DTO.analytics.StarHistogramDTO(
+                     SUM(s.courseStars1), SUM(s.courseStars2), SUM(s.courseStars3),
+                     SUM(s.courseStars4), SUM(s.courseStars5)
+                     )
+            FROM FeedbackDailyStats s
+            """)
+    StarHistogramDTO getCourseStarHistogram();
+
+    @Query("""
+            SELECT new com.feedbacks.FeedbackSystem.DTO.analytics.StarHistogramDTO(
+                     SUM(s.instructorStars1), SUM(s.instructorStars2), SUM(s.instructorStars3),
+                     SUM(s.instructorStars4), SUM(s.instructorStars5)
+                     )
+            FROM FeedbackDailyStats s
+            WHERE s.id.instructorId = :instructorId
+            """)
+    StarHistogramDTO getInstructorStarHistogram(@Param("instructorId") Integer instructorId);
+
+    @Query("""
+            SELECT CASE WHEN SUM(s.feedbackCount) > 0
+                        THEN CAST(SUM(s.courseRatingSum) AS double) / SUM(s.feedbackCount)
+                        END
+            FROM FeedbackDailyStats s
+            WHERE s.id.day >= :date
+            """)
+    Double avgCourseRatingSince(@Param("date") LocalDate date);
+
+    @Query("""
+            SELECT CASE WHEN SUM(s.feedbackCount) > 0
+                        THEN CAST(SUM(s.instructorRatingSum) AS double) / SUM(s.feedbackCount)
+                        END
+            FROM FeedbackDailyStats s
+            WHERE s.id.day >= :date
+            """)
+    Double avgInstructorRatingSince(@Param("date") LocalDate date);
+
+    @Modifying
+    @Query(value = "DELETE FROM feedback_daily_stats", nativeQuery = true)
+    int deleteAllStats();
+
+    // Same statement as the V3 migration backfill
+    @Modifying
+    @Query(value = """
+            INSERT INTO feedback_daily_stats
+                (stat_day, course_id, instructor_id, feedback_count, course_rating_sum, instructor_rating_sum,
+                 course_stars_1, course_stars_2, course_stars_3, course_stars_4, course_stars_5,
+                 instructor_stars_1, instructor_stars_2, instructor_stars_3, instructor_stars_4, instructor_stars_5)
+            SELECT f.submitted_at, f.course_id, f.instructor_id,
+                   COUNT(*), SUM(f.course_rating), SUM(f.instructor_rating),
+                   SUM(CASE WHEN f.course_rating = 1 THEN 1 ELSE 0 END),
+                   SUM(CASE WHEN f.course_rating = 2 THEN 1 ELSE 0 END),
+                   SUM(CASE WHEN f.course_rating = 3 THEN 1 ELSE 0 END),
+                   SUM(CASE WHEN f.course_rating = 4 THEN 1 ELSE 0 END),
+                   SUM(CASE WHEN f.course_rating = 5 THEN 1 ELSE 0 END),
+                   SUM(CASE WHEN f.instructor_rating = 1 THEN 1 ELSE 0 END),
+                   SUM(CASE WHEN f.instructor_rating = 2 THEN 1 ELSE 0 END),
+                   SUM(CASE WHEN f.instructor_rating = 3 THEN 1 ELSE 0 END),
+                   SUM(CASE WHEN f.instructor_rating = 4 THEN 1 ELSE 0 END),
+                   SUM(CASE WHEN f.instructor_rating = 5 THEN 1 ELSE 0 END)
+            FROM feedback f
+            WHERE f.is_deleted = false AND f.submitted_at IS NOT NULL AND f.course_id IS NOT NULL
+            GROUP BY f.submitted_at, f.course_id, f.instructor_id
+            """, nativeQuery = true)
+    int insertStatsFromFeedback();
+}
@@ -1,44 +1,81 @@
 package com.feedbacks.FeedbackSystem.repository;
 
+import com.feedbacks.FeedbackSystem.DTO.FeedbackSearchScore;
 import com.feedbacks.FeedbackSystem.DTO.analytics.CourseFeedbackSummary;
-import com.feedbacks.FeedbackSystem.DTO.analytics.FeedbackTrendDTO;
-import com.feedbacks.FeedbackSystem.DTO.analytics.RatingDistributionDTO;
+import com.feedbacks.FeedbackSystem.DTO.export.FeedbackExportRow;
 import com.feedbacks.FeedbackSystem.model.Feedback;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 public interface FeedbackRepository extends JpaRepository<Feedback, Integer>,
         JpaSpecificationExecutor<Feedback> {
 
+    // Listing reads load the Feedback.listing graph (course, its instructor, student) in the same
+    // SELECT, so mapping a page with FeedbackMapper.toResponse issues no further queries
+    @Override
+    @EntityGraph(Feedback.LISTING_GRAPH)
+    List<Feedback> findAll();
+
+    @Override
+    @EntityGraph(Feedback.LISTING_GRAPH)
+    List<Feedback> findAll(Specification<Feedback> spec);
+
+    // Forward-only stream of live feedback for exports
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.feedbacks.FeedbackSystem.DTO.export.FeedbackExportRow(f.feedbackId, c.courseName, i.instructorName, " +
+            "s.username, f.anonymous, f.courseRating, f.instructorRating, f.courseComment, f.instructorComment, f.submittedAt) " +
+            "FROM Feedback f JOIN f.course c JOIN f.instructor i JOIN f.student s " +
+            "WHERE f.isDeleted = false ORDER BY f.feedbackId")
+    Stream<FeedbackExportRow> streamFeedbacksForExport();
+
+    @Query("SELECT COUNT(f) FROM Feedback f WHERE f.isDeleted = false")
+    long countLiveFeedbacks();
+
+    // Ranked comment search over ft_feedback_comments, best match first (text_match2: FullTextFunctionContributor)
+    @Query("""
+            SELECT new com.feedbacks.FeedbackSystem.DTO.FeedbackSearchScore(
+            f.feedbackId,
+            text_match2(f.courseComment, f.instructorComment, :booleanQuery, :likePattern)
+            )
+            FROM Feedback f
+            WHERE f.isDeleted = false
+              AND text_match2(f.courseComment, f.instructorComment, :booleanQuery, :likePattern) > 0
+            ORDER BY text_match2(f.courseComment, f.instructorComment, :booleanQuery, :likePattern) DESC, f.feedbackId DESC
+            """)
+    Slice<FeedbackSearchScore> searchComments(@Param("booleanQuery") String booleanQuery,
+                                              @Param("likePattern") String likePattern,
+                                              Pageable pageable);
+
+    @EntityGraph(Feedback.LISTING_GRAPH)
+    List<Feedback> findByFeedbackIdIn(Collection<Integer> feedbackIds);
+
+    @EntityGraph(Feedback.LISTING_GRAPH)
     @Query("SELECT f from Feedback f " +
             "LEFT JOIN Course c " +
             "ON c.courseId = f.course.courseId " +
             "WHERE c.courseId = :courseId ")
-    Page<Feedback> findByCourse_CourseId(Integer courseId, Pageable pageable);
-
-    @Query(" SELECT f FROM Feedback f WHERE " +
-            "(:courseId IS NULL OR f.course.courseId = :courseId) AND " +
-            "(:minRating IS NULL OR f.courseRating >= :minRating) AND " +
-            "(:maxRating IS NULL OR f.courseRating <= :maxRating) AND " +
-            "(:fromDate IS NULL OR f.submittedAt >= :fromDate) AND " +
-            "(:toDate IS NULL OR f.submittedAt <= :toDate) AND " +
-            "(:anonymous IS NULL OR f.anonymous = :anonymous)")
-    List<Feedback> filterFeedback(
-            @Param("courseId") Integer courseId,
-            @Param("minRating") Integer minRating,
-            @Param("maxRating") Integer maxRating,
-            @Param("fromDate") LocalDate fromDate,
-            @Param("toDate") LocalDate toDate,
-            @Param("anonymous") Boolean anonymous
-    );
+    Slice<Feedback> findByCourse_CourseId(Integer courseId, Pageable pageable);
 
     @Query(value = "SELECT * FROM Feedback f WHERE f.is_deleted = true", nativeQuery = true)
     List<Feedback> findAllDeletedFeedback();
@@ -68,6 +105,7 @@ public interface FeedbackRepository extends JpaRepository<Feedback, Integer>,
     void restoreByCourse(Long courseId);
 
 
+    @EntityGraph(Feedback.LISTING_GRAPH)
     Page<Feedback> findByStudentUserId(Integer userId, Pageable pageable);
 
     @Query("SELECT AVG(f.courseRating) FROM Feedback f WHERE f.course.courseId = :courseId")
@@ -85,9 +123,11 @@ public interface FeedbackRepository extends JpaRepository<Feedback, Integer>,
             "GROUP BY f.course.courseId, f.course.courseName")
     List<CourseFeedbackSummary> findCourseSummaries();
 
+    @EntityGraph(Feedback.LISTING_GRAPH)
     List<Feedback> findByStudent_UserIdAndCourse_CourseId(Integer userId, Integer courseId);
 
 
+    @EntityGraph(Feedback.LISTING_GRAPH)
     @Query("SELECT f FROM Feedback f " +
             "WHERE f.submittedAt >= :startDate AND f.course.courseId = :courseId " +
             "ORDER BY f.submittedAt DESC")
@@ -100,72 +140,4 @@ public interface FeedbackRepository extends JpaRepository<Feedback, Integer>,
             "WHERE f.student.userId = :userId " +
             "AND DATE(f.submittedAt) = CURRENT_DATE")
     Integer countTodayFeedbacks(@Param("userId") Integer userId);
-
-    @Query("""
-            SELECT new com.feedbacks.FeedbackSystem.DTO.analytics.FeedbackTrendDTO(
-                     CONCAT('',FUNCTION('DATE_FORMAT', f.submittedAt, '%Y-%m')),
-                     COUNT(f)
-                     )
-                     FROM Feedback f
-                     GROUP BY FUNCTION('DATE_FORMAT', f.submittedAt, '%Y-%m')
-                     ORDER BY FUNCTION('DATE_FORMAT', f.submittedAt, '%Y-%m')
-            """)
-    List<FeedbackTrendDTO> getMonthlyTrends();
-
-    @Query("""
-            SELECT new com.feedbacks.FeedbackSystem.DTO.analytics.FeedbackTrendDTO(
-                     CONCAT('', FUNCTION('DATE_FORMAT', f.submittedAt, '%m-%d')),
-                     COUNT(f)
-                     )
-                     FROM Feedback f
-                     GROUP BY FUNCTION('DATE_FORMAT', f.submittedAt, '%m-%d')
-                     ORDER BY FUNCTION('DATE_FORMAT', f.submittedAt, '%m-%d')
-            """)
-    List<FeedbackTrendDTO> getDailyTrends();
-
-    @Query("""
-            SELECT new com.feedbacks.FeedbackSystem.DTO.analytics.FeedbackTrendDTO(
-                     CONCAT('', FUNCTION('DATE_FORMAT', f.submittedAt, '%Y')),
-                     COUNT(f)
-                     )
-                     FROM Feedback f
-                     GROUP BY FUNCTION('DATE_FORMAT', f.submittedAt, '%Y')
-                     ORDER BY FUNCTION('DATE_FORMAT', f.submittedAt, '%Y')
-            """)
-    List<FeedbackTrendDTO> getYearlyTrends();
-
-    @Query("""
-            SELECT new com.feedbacks.FeedbackSystem.DTO.analytics.RatingDistributionDTO(
-            f.courseRating,
-            COUNT(f)
-            )
-            FROM Feedback f
-            GROUP BY f.courseRating
-            ORDER BY f.courseRating
-            """)
-    List<RatingDistributionDTO> getRatingDistribution();
-
-
-    // CREATE intermediate class between feedback and instructor as well as course
-    @Query("""
-            SELECT AVG(f.instructorRating) 
-            FROM Feedback f
-            WHERE f.submittedAt >= :date
-            """)
-    Double avgInstructRatingLast7Days(@Param("date") LocalDate date);
-
-    @Query("""
-            SELECT AVG(f.courseRating) 
-            FROM Feedback f
-            WHERE f.submittedAt >= :date
-            """)
-    Double avgCourseRatingLast7Days(@Param("date") LocalDate date);
-
-    @Query("""
-            SELECT f.instructorRating, COUNT(f) 
-            FROM Feedback f
-            WHERE f.instructor.instructorId = :instructorId
-            GROUP BY f.instructorRating 
-            """)
-    List<Object[]> ratingDistribution(@Param("instructorId") Integer instructorId);
 }
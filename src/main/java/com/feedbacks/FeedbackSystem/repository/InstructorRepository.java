@@ -1,8 +1,10 @@
 package com.feedbacks.FeedbackSystem.repository;
 
+import com.feedbacks.FeedbackSystem.DTO.SuggestionDTO;
 import com.feedbacks.FeedbackSystem.DTO.analytics.FeedbacksByInstructor;
 import com.feedbacks.FeedbackSystem.DTO.analytics.InstructorRankingDTO;
 import com.feedbacks.FeedbackSystem.DTO.analytics.TopRatedInstructorsDTO;
+import com.feedbacks.FeedbackSystem.DTO.analytics.RatingAggregateRow;
 import com.feedbacks.FeedbackSystem.model.Course;
 import com.feedbacks.FeedbackSystem.model.Instructor;
 import org.springframework.data.domain.Pageable;
@@ -13,6 +15,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 public interface InstructorRepository extends JpaRepository<Instructor, Integer>,
@@ -27,6 +30,12 @@ public interface InstructorRepository extends JpaRepository<Instructor, Integer>
             "LEFT JOIN c.feedbacks f " )
     List<FeedbacksByInstructor> getAllFeedbacksByInstructor();
 
+    // Autocomplete snapshot, see CourseRepository.findSuggestions
+    @Query("SELECT new com.feedbacks.FeedbackSystem.DTO.SuggestionDTO('INSTRUCTOR', i.instructorId, i.instructorName, " +
+            "i.avgRating, i.feedbackCount) " +
+            "FROM Instructor i WHERE i.isDeleted = false")
+    List<SuggestionDTO> findSuggestions();
+
     @Query("SELECT i FROM Instructor i LEFT JOIN i.courses c WHERE c IS NULL")
     List<Instructor> findUnassignedInstructors();
 
@@ -64,6 +73,51 @@ public interface InstructorRepository extends JpaRepository<Instructor, Integer>
     """)
     List<InstructorRankingDTO> getTopRatedInstructor(Pageable pageable);
 
+    // Same atomic delta as CourseRepository.applyRatingDelta, for the instructor aggregate
+    @Modifying
+    @Query(value = """
+            UPDATE instructor
+            SET avg_rating = CASE WHEN feedback_count + :countDelta > 0
+                                  THEN (rating_sum + :ratingDelta) * 1.0 / (feedback_count + :countDelta)
+                                  ELSE 0 END,
+                rating_sum = rating_sum + :ratingDelta,
+                feedback_count = feedback_count + :countDelta
+            WHERE instructor_id = :instructorId
+            """, nativeQuery = true)
+    int applyRatingDelta(@Param("instructorId") Integer instructorId,
+                         @Param("ratingDelta") long ratingDelta,
+                         @Param("countDelta") long countDelta);
 
+    @Modifying
+    @Query(value = """
+            UPDATE instructor i
+            SET i.rating_sum = (SELECT COALESCE(SUM(f.instructor_rating), 0)
+                                FROM feedback f
+                                WHERE f.instructor_id = i.instructor_id AND f.is_deleted = false),
+                i.feedback_count = (SELECT COUNT(*)
+                                    FROM feedback f
+                                    WHERE f.instructor_id = i.instructor_id AND f.is_deleted = false)
+            """, nativeQuery = true)
+    int rebuildRatingSums();
+
+    @Modifying
+    @Query(value = """
+            UPDATE instructor
+            SET avg_rating = CASE WHEN feedback_count > 0 THEN rating_sum * 1.0 / feedback_count ELSE 0 END
+            """, nativeQuery = true)
+    int rebuildAvgRatings();
+
+    @Query("""
+            SELECT new com.feedbacks.FeedbackSystem.DTO.analytics.RatingAggregateRow(
+            i.instructorId,
+            i.ratingSum,
+            i.feedbackCount
+            )
+            FROM Instructor i
+            WHERE i.instructorId IN :ids
+            """)
+    List<RatingAggregateRow> findRatingAggregates(@Param("ids") Collection<Integer> ids);
 
+    @Query("SELECT i.instructorId FROM Instructor i WHERE i.instructorId IN :ids AND i.isDeleted = false")
+    List<Integer> findActiveInstructorIds(@Param("ids") Collection<Integer> ids);
 }
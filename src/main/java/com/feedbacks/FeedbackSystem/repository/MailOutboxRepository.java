@@ -0,0 +1,48 @@
+package com.feedbacks.FeedbackSystem.repository;
+
+import com.feedbacks.FeedbackSystem.model.MailOutboxMessage;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface MailOutboxRepository extends JpaRepository<MailOutboxMessage, Long> {
+
+    @Query("""
+            SELECT m FROM MailOutboxMessage m
+            WHERE m.status = com.feedbacks.FeedbackSystem.model.MailOutboxMessage.Status.PENDING
+              AND m.nextAttemptAt <= :now
+            ORDER BY m.id
+            """)
+    List<MailOutboxMessage> findDue(@Param("now") Instant now, Pageable pageable);
+
+    // 1 when this node won the message, 0 when another dispatcher claimed it first
+    @Modifying
+    @Transactional
+    @Query("""
+            UPDATE MailOutboxMessage m
+            SET m.status = com.feedbacks.FeedbackSystem.model.MailOutboxMessage.Status.SENDING,
+                m.claimedAt = :now
+            WHERE m.id = :id
+              AND m.status = com.feedbacks.FeedbackSystem.model.MailOutboxMessage.Status.PENDING
+            """)
+    int claim(@Param("id") Long id, @Param("now") Instant now);
+
+    // messages left in SENDING by a dispatcher that died mid-batch
+    @Modifying
+    @Transactional
+    @Query("""
+            UPDATE MailOutboxMessage m
+            SET m.status = com.feedbacks.FeedbackSystem.model.MailOutboxMessage.Status.PENDING
+            WHERE m.status = com.feedbacks.FeedbackSystem.model.MailOutboxMessage.Status.SENDING
+              AND m.claimedAt < :claimedBefore
+            """)
+    int releaseStale(@Param("claimedBefore") Instant claimedBefore);
+
+    long countByStatus(MailOutboxMessage.Status status);
+}
@@ -1,15 +1,24 @@
 package com.feedbacks.FeedbackSystem.repository;
 
 import com.feedbacks.FeedbackSystem.DTO.analytics.TopRatedStudentsDTO;
+import com.feedbacks.FeedbackSystem.DTO.export.StudentExportRow;
+import com.feedbacks.FeedbackSystem.DTO.imports.ImportStudentRef;
 import com.feedbacks.FeedbackSystem.model.User;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 public interface UserRepository extends JpaRepository<User, Integer>,
         JpaSpecificationExecutor<User> {
@@ -24,6 +33,16 @@ public interface UserRepository extends JpaRepository<User, Integer>,
     @Query("SELECT u FROM User u WHERE u.role = :role")
     List<User> findByRole(@Param("role") User.Role role);
 
+    // Forward-only stream for exports; must be consumed inside a transaction and closed.
+    // The fetch size is honoured as a server-side cursor because of useCursorFetch on the datasource.
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.feedbacks.FeedbackSystem.DTO.export.StudentExportRow(u.identityNo, u.username, u.email, u.userCreatedAt) " +
+            "FROM User u WHERE u.role = STUDENT ORDER BY u.userId")
+    Stream<StudentExportRow> streamStudentsForExport();
+
     @Query("SELECT COUNT(u) FROM User u WHERE u.role = STUDENT")
     Integer totalStudentsCount();
 
@@ -38,4 +57,10 @@ public interface UserRepository extends JpaRepository<User, Integer>,
             "GROUP BY u.userId, u.username " +
             "ORDER BY feedbackCount DESC")
     List<TopRatedStudentsDTO> findTopStudentsByFeedbacks(Pageable pageable);
+
+    // Feedback import: resolves a chunk of student columns, each an email or an identity number.
+    // keys arrive lower-cased, so the columns are too; stored emails are not normalised.
+    @Query("SELECT new com.feedbacks.FeedbackSystem.DTO.imports.ImportStudentRef(u.userId, u.email, u.identityNo, u.role) " +
+            "FROM User u WHERE LOWER(u.email) IN :keys OR LOWER(u.identityNo) IN :keys")
+    List<ImportStudentRef> findImportRefs(@Param("keys") Collection<String> keys);
 }
@@ -0,0 +1,228 @@
+package com.feedbacks.FeedbackSystem.security;
+
+import com.feedbacks.FeedbackSystem.Exception.ServiceOverloadedException;
+import com.feedbacks.FeedbackSystem.Exception.TooManyRequestException;
+import com.feedbacks.FeedbackSystem.configure.FeedbackMetrics;
+import com.feedbacks.FeedbackSystem.service.admission.AdaptiveLoadShedder;
+import com.feedbacks.FeedbackSystem.service.admission.AdmissionGroup;
+import com.feedbacks.FeedbackSystem.service.admission.AdmissionProperties;
+import com.feedbacks.FeedbackSystem.service.ratelimit.RateLimitDecision;
+import com.feedbacks.FeedbackSystem.service.ratelimit.RateLimiter;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.server.PathContainer;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Admission control for every endpoint, runs right after JwtAuthenticationFilter. In order:
+//  1. adaptive shedding while the group's smoothed latency is over target              -> 503
+//  2. rate limit per principal (per IP when anonymous) with the group's RateLimiter policy -> 429
+//  3. in-flight cap of the group                                                        -> 503
+// Shedding goes first so an overloaded node doesn't spend a Redis round trip on requests it drops.
+// Rejections go through GlobalExceptionHandler like any controller error, with Retry-After.
+// Async requests (streamed downloads) keep their permit until the async work completes.
+@Slf4j
+@Component
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private static final String ROLE_PREFIX = "ROLE_";
+
+    private final RateLimiter rateLimiter;
+    private final FeedbackMetrics feedbackMetrics;
+    private final HandlerExceptionResolver exceptionResolver;
+    private final boolean enabled;
+    private final List<PathPattern> excludedPaths;
+    private final List<AdmissionGroup> groups = new ArrayList<>();
+    private final AdmissionGroup defaultGroup;
+    private final long retryAfterSeconds;
+
+    public AdmissionControlFilter(RateLimiter rateLimiter,
+                                  FeedbackMetrics feedbackMetrics,
+                                  AdmissionProperties properties,
+                                  @Qualifier("handlerExceptionResolver") HandlerExceptionResolver exceptionResolver) {
+        this.rateLimiter = rateLimiter;
+        this.feedbackMetrics = feedbackMetrics;
+        this.exceptionResolver = exceptionResolver;
+        this.enabled = properties.enabled();
+        this.excludedPaths = properties.excludedPaths().stream().map(PathPatternParser.defaultInstance::parse).toList();
+        this.retryAfterSeconds = Math.max(1, properties.retryAfter().toSeconds());
+
+        AdmissionGroup fallback = null;
+        for (Map.Entry<String, AdmissionProperties.Group> entry : properties.groups().entrySet()) {
+            AdmissionGroup group = toGroup(entry.getKey(), entry.getValue(), properties.shedding());
+            if (AdmissionProperties.DEFAULT_GROUP.equals(entry.getKey())) {
+                fallback = group;
+            } else {
+                groups.add(group);
+            }
+        }
+        this.defaultGroup = fallback != null ? fallback : toGroup(AdmissionProperties.DEFAULT_GROUP,
+                new AdmissionProperties.Group(List.of(), 0, null), properties.shedding());
+        for (AdmissionGroup group : groups) {
+            feedbackMetrics.registerAdmissionGroup(group);
+        }
+        feedbackMetrics.registerAdmissionGroup(defaultGroup);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!enabled) {
+            return true;
+        }
+        PathContainer path = pathOf(request);
+        for (PathPattern pattern : excludedPaths) {
+            if (pattern.matches(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        AdmissionGroup group = groupFor(pathOf(request));
+
+        AdaptiveLoadShedder shedder = group.shedder();
+        if (shedder.shouldShed()) {
+            feedbackMetrics.recordAdmissionRejected(group.name(), "shed");
+            reject(request, response, new ServiceOverloadedException(
+                    "Server is busy. Please retry shortly.", retryAfterSeconds));
+            return;
+        }
+
+        if (rateLimiter.hasPolicy(group.name())) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            boolean authenticated = authentication != null && authentication.isAuthenticated()
+                    && !(authentication instanceof AnonymousAuthenticationToken);
+            // client address as resolved from X-Forwarded-For by server.forward-headers-strategy, not the proxy's
+            String subject = authenticated ? "user:" + authentication.getName() : "ip:" + request.getRemoteAddr();
+            RateLimitDecision decision = rateLimiter.check(group.name(), authenticated ? roleOf(authentication) : null, subject);
+            if (!decision.allowed()) {
+                feedbackMetrics.recordAdmissionRejected(group.name(), "rate");
+                log.info("event=REQUEST_RATE_LIMITED group={} subject={}", group.name(), subject);
+                reject(request, response, new TooManyRequestException(
+                        "Too many requests. Try after " + decision.resetAt() + " .", decision.toInfo()));
+                return;
+            }
+        }
+
+        if (!group.tryAcquire()) {
+            feedbackMetrics.recordAdmissionRejected(group.name(), "concurrency");
+            reject(request, response, new ServiceOverloadedException(
+                    "Too many concurrent " + group.name() + " requests. Please retry shortly.", retryAfterSeconds));
+            return;
+        }
+        long start = System.nanoTime();
+        boolean async = false;
+        try {
+            filterChain.doFilter(request, response);
+            async = request.isAsyncStarted();
+        } finally {
+            if (async) {
+                // StreamingResponseBody / Callable: the work only starts now, hold the permit until it completes
+                request.getAsyncContext().addListener(new AsyncCompletion(group, start));
+            } else {
+                finish(group, start);
+            }
+        }
+    }
+
+    private static void finish(AdmissionGroup group, long start) {
+        group.release();
+        group.shedder().record(System.nanoTime() - start);
+    }
+
+    // Releases the permit of an async request exactly once, whichever of complete/error/timeout fires first
+    private static final class AsyncCompletion implements AsyncListener {
+
+        private final AdmissionGroup group;
+        private final long start;
+        private final AtomicBoolean finished = new AtomicBoolean();
+
+        private AsyncCompletion(AdmissionGroup group, long start) {
+            this.group = group;
+            this.start = start;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release();
+        }
+
+        // a new async cycle drops the listeners of the previous one
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+
+        private void release() {
+            if (finished.compareAndSet(false, true)) {
+                finish(group, start);
+            }
+        }
+    }
+
+    private AdmissionGroup groupFor(PathContainer path) {
+        for (AdmissionGroup group : groups) {
+            if (group.matches(path)) {
+                return group;
+            }
+        }
+        return defaultGroup;
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, RuntimeException e) {
+        // rendered by GlobalExceptionHandler, same body and headers as when a controller throws
+        exceptionResolver.resolveException(request, response, null, e);
+    }
+
+    private static AdmissionGroup toGroup(String name, AdmissionProperties.Group group, AdmissionProperties.Shedding shedding) {
+        return new AdmissionGroup(name, group.paths(), group.maxConcurrent(), new AdaptiveLoadShedder(
+                group.targetLatency() != null ? group.targetLatency() : shedding.targetLatency(), shedding.maxShedRatio()));
+    }
+
+    private static PathContainer pathOf(HttpServletRequest request) {
+        return PathContainer.parsePath(request.getRequestURI().substring(request.getContextPath().length()));
+    }
+
+    private static String roleOf(Authentication authentication) {
+        for (GrantedAuthority authority : authentication.getAuthorities()) {
+            String name = authority.getAuthority();
+            if (name != null && name.startsWith(ROLE_PREFIX)) {
+                return name.substring(ROLE_PREFIX.length());
+            }
+        }
+        return null;
+    }
+}
@@ -19,8 +19,15 @@ public class CustomUserDetailsService implements UserDetailsService {
     @Autowired
     UserRepository userRepository;
 
+    @Autowired
+    UserDetailsCache userDetailsCache;
+
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
+        return userDetailsCache.get(email, this::loadFromDatabase);
+    }
+
+    private UserDetails loadFromDatabase(String email) {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new EntityNotFoundException("User not found with email " + email));
 
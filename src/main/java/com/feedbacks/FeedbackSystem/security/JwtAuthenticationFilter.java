@@ -44,13 +44,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         jwtToken = authHeader.substring(7); // splitting the token
         try {
-            username = jwtUtils.extractUsername(jwtToken);  // extract the username from the token
+            // one signature check per distinct token, cached until the token's exp
+            JwtUtils.VerifiedToken verified = jwtUtils.verify(jwtToken);
+            username = verified.username();  // extract the username from the token
 
             // SecurityContextHolder hold the current authenticated object (username, password)
             if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+                // served from UserDetailsCache, no query on the hot path
                 UserDetails userDetails = userDetailsService.loadUserByUsername(username);
 
-                if (jwtUtils.isTokenValid(jwtToken, userDetails)) { // checks the token validation
+                if (username.equals(userDetails.getUsername()) && !verified.isExpired()) { // checks the token validation
                     UsernamePasswordAuthenticationToken authenticationToken =
                             new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
 
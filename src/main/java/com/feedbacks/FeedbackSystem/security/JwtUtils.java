@@ -1,9 +1,11 @@
 package com.feedbacks.FeedbackSystem.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.GrantedAuthority;
@@ -11,31 +13,85 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.*;
 import java.util.function.Function;
 
 @Service
 public class JwtUtils {
 
-    @Value("${jwt.secret}")
-    private String SECRET_KEY;
+    private final int expirationSeconds; // 5 days
 
-    @Value("${jwt.expirationInSec}")   //432000 - 5 days in seconds
-    private int expirationSeconds; // 5 days
+    // built once: the HMAC key and the parser are immutable and thread-safe
+    private final SecretKey signInKey;
+    private final JwtParser parser;
 
+    // tokens that already passed signature + expiry checks, keyed by SHA-256 of the token;
+    // each entry expires together with the token's exp claim
+    private final Cache<String, VerifiedToken> verifiedTokens;
 
-    public Key getSignInKey() {
+    public JwtUtils(@Value("${jwt.secret}") String secretKey,
+                    @Value("${jwt.expirationInSec}") int expirationSeconds,   //432000 - 5 days in seconds
+                    @Value("${jwt.verified-cache.maximum-size:10000}") long verifiedCacheSize) {
+        this.expirationSeconds = expirationSeconds;
 //        byte[] keyBytes = Decoders.BASE64.decode(SECRET_KEY);
-        return Keys.hmacShaKeyFor(SECRET_KEY.getBytes());
+        this.signInKey = Keys.hmacShaKeyFor(secretKey.getBytes());
+        this.parser = Jwts.parser().verifyWith(signInKey).build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheSize)
+                .expireAfter(new Expiry<String, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(String key, VerifiedToken token, long currentTime) {
+                        return Math.max(0, Duration.between(Instant.now(), token.expiresAt()).toNanos());
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, VerifiedToken token, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, VerifiedToken token, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    public Key getSignInKey() {
+        return signInKey;
+    }
+
+    // Signature and expiry are checked once per distinct token; throws JwtException when invalid
+    public VerifiedToken verify(String token) {
+        String hash = sha256(token);
+        VerifiedToken cached = verifiedTokens.getIfPresent(hash);
+        if (cached != null && cached.expiresAt().isAfter(Instant.now())) {
+            return cached;
+        }
+
+        Claims claims = extractAllClaims(token);
+        Object role = claims.get("role");
+        VerifiedToken verified = new VerifiedToken(
+                claims.getSubject(),
+                role == null ? null : role.toString(),
+                claims.getExpiration().toInstant()
+        );
+        verifiedTokens.put(hash, verified);
+        return verified;
     }
 
     public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return verify(token).username();
     }
 
     public String extractRole(String token){
-        return extractClaim(token, claims -> claims.get("role").toString());
+        return verify(token).role();
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
@@ -44,10 +100,7 @@ public class JwtUtils {
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts
-                .parser()
-                .verifyWith((SecretKey) getSignInKey())
-                .build()
+        return parser
                 .parseSignedClaims(token)
                 .getPayload();
     }
@@ -68,16 +121,33 @@ public class JwtUtils {
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + (long) expirationSeconds * 1000))
                 // signWith() method initiate signing process - Forms the third(final) part of the key - Verify token integrity and authenticity
-                .signWith(getSignInKey())
+                .signWith(signInKey)
                 .compact();
     }
 
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        String extractedUsername = extractUsername(token);
-        return (extractedUsername.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        VerifiedToken verified = verify(token);
+        return verified.username().equals(userDetails.getUsername()) && !verified.isExpired();
     }
 
     public boolean isTokenExpired(String token) {
-        return extractClaim(token, claims -> claims.getExpiration().before(new Date()));
+        return verify(token).isExpired();
+    }
+
+    private static String sha256(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            // every JRE ships SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public record VerifiedToken(String username, String role, Instant expiresAt) {
+
+        public boolean isExpired() {
+            return !expiresAt.isAfter(Instant.now());
+        }
     }
 }
@@ -0,0 +1,80 @@
+package com.feedbacks.FeedbackSystem.security;
+
+import com.feedbacks.FeedbackSystem.service.cache.CacheInvalidationPublisher;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.function.Function;
+
+// Short-lived, per-node cache of UserDetails by email, so the JWT filter skips the
+// users-by-email query on the hot path. UserServiceImpl evicts on update and delete; the evict is
+// broadcast on the L1 invalidation channel ("<nodeId>|userDetails|E|<email>") so no other node keeps
+// accepting an old password or role until its TTL runs out.
+@Slf4j
+@Component
+public class UserDetailsCache implements MessageListener {
+
+    public static final String CACHE_NAME = "userDetails";
+
+    private final Cache<String, UserDetails> cache;
+    private final CacheInvalidationPublisher publisher;
+    private final RedisMessageListenerContainer listenerContainer;
+
+    public UserDetailsCache(@Value("${security.user-details-cache.ttl:PT60S}") Duration ttl,
+                            @Value("${security.user-details-cache.maximum-size:10000}") long maximumSize,
+                            CacheInvalidationPublisher publisher,
+                            RedisMessageListenerContainer listenerContainer) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .build();
+        this.publisher = publisher;
+        this.listenerContainer = listenerContainer;
+    }
+
+    @PostConstruct
+    void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(publisher.getChannel()));
+    }
+
+    // Hands out a copy every time: ProviderManager erases credentials on the principal
+    // after login, which would otherwise blank the cached password hash.
+    public UserDetails get(String email, Function<String, UserDetails> loader) {
+        return User.withUserDetails(cache.get(email, loader)).build();
+    }
+
+    public void evict(String email) {
+        if (email != null) {
+            cache.invalidate(email);
+            publisher.publishEvict(CACHE_NAME, email);
+        }
+    }
+
+    // evicts published by other nodes; the channel also carries the analytics caches' messages
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        String[] parts = body.split("\\|", 4);
+        if (parts.length < 4 || parts[0].equals(publisher.getNodeId()) || !CACHE_NAME.equals(parts[1])) {
+            return;
+        }
+        if ("E".equals(parts[2])) {
+            cache.invalidate(parts[3]);
+        } else {
+            cache.invalidateAll();
+        }
+        log.debug("event=USER_DETAILS_REMOTE_EVICT op={}", parts[2]);
+    }
+}
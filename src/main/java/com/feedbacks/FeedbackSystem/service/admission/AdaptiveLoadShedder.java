@@ -0,0 +1,50 @@
+package com.feedbacks.FeedbackSystem.service.admission;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Sheds a growing share of requests while the group's smoothed latency is above target:
+// ratio = 1 - target / latency, capped at maxShedRatio so some requests always get through and
+// keep the average moving back down once the node recovers.
+public final class AdaptiveLoadShedder {
+
+    // weight of the newest sample in the moving average
+    private static final double ALPHA = 0.1;
+
+    private final double targetNanos;
+    private final double maxShedRatio;
+    private final AtomicLong averageBits = new AtomicLong(Double.doubleToLongBits(0.0));
+
+    public AdaptiveLoadShedder(Duration targetLatency, double maxShedRatio) {
+        this.targetNanos = targetLatency.toNanos();
+        this.maxShedRatio = Math.clamp(maxShedRatio, 0.0, 1.0);
+    }
+
+    public void record(long latencyNanos) {
+        long current;
+        long next;
+        do {
+            current = averageBits.get();
+            double average = Double.longBitsToDouble(current);
+            next = Double.doubleToLongBits(average == 0.0 ? latencyNanos : average + ALPHA * (latencyNanos - average));
+        } while (!averageBits.compareAndSet(current, next));
+    }
+
+    public double averageLatencyNanos() {
+        return Double.longBitsToDouble(averageBits.get());
+    }
+
+    public double shedRatio() {
+        double average = averageLatencyNanos();
+        if (average <= targetNanos) {
+            return 0.0;
+        }
+        return Math.min(maxShedRatio, 1.0 - targetNanos / average);
+    }
+
+    public boolean shouldShed() {
+        double ratio = shedRatio();
+        return ratio > 0.0 && ThreadLocalRandom.current().nextDouble() < ratio;
+    }
+}
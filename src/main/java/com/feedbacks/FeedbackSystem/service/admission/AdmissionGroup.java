@@ -0,0 +1,58 @@
+package com.feedbacks.FeedbackSystem.service.admission;
+
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.List;
+import java.util.concurrent.Semaphore;
+
+// One endpoint group: its paths, in-flight permits and latency-based shedder
+public final class AdmissionGroup {
+
+    private final String name;
+    private final List<PathPattern> patterns;
+    private final int maxConcurrent;
+    private final Semaphore permits;
+    private final AdaptiveLoadShedder shedder;
+
+    public AdmissionGroup(String name, List<String> paths, int maxConcurrent, AdaptiveLoadShedder shedder) {
+        this.name = name;
+        this.patterns = paths.stream().map(PathPatternParser.defaultInstance::parse).toList();
+        this.maxConcurrent = maxConcurrent;
+        // 0 = no concurrency cap
+        this.permits = maxConcurrent > 0 ? new Semaphore(maxConcurrent) : null;
+        this.shedder = shedder;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public boolean matches(PathContainer path) {
+        for (PathPattern pattern : patterns) {
+            if (pattern.matches(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean tryAcquire() {
+        return permits == null || permits.tryAcquire();
+    }
+
+    public void release() {
+        if (permits != null) {
+            permits.release();
+        }
+    }
+
+    public int inFlight() {
+        return permits == null ? 0 : maxConcurrent - permits.availablePermits();
+    }
+
+    public AdaptiveLoadShedder shedder() {
+        return shedder;
+    }
+}
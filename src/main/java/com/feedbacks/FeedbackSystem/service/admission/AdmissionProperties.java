@@ -0,0 +1,39 @@
+package com.feedbacks.FeedbackSystem.service.admission;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+// feedback.admission.*: endpoint groups for AdmissionControlFilter.
+// groups.<name>.paths: path patterns of the group (must not overlap); unmatched requests belong to
+// group "default". max-concurrent caps in-flight requests of the group on this node, target-latency
+// is the smoothed latency above which the group starts shedding (shedding.target-latency if unset).
+// Each group is also rate limited by feedback.rate-limit.policies.<name>, when configured.
+@ConfigurationProperties("feedback.admission")
+public record AdmissionProperties(boolean enabled,
+                                  List<String> excludedPaths,
+                                  Map<String, Group> groups,
+                                  Shedding shedding,
+                                  Duration retryAfter) {
+
+    public static final String DEFAULT_GROUP = "default";
+
+    public record Group(List<String> paths, int maxConcurrent, Duration targetLatency) {
+
+        public Group {
+            paths = paths == null ? List.of() : paths;
+        }
+    }
+
+    // shed ratio = min(max-shed-ratio, 1 - target / latency) once latency is over target
+    public record Shedding(Duration targetLatency, double maxShedRatio) {}
+
+    public AdmissionProperties {
+        excludedPaths = excludedPaths == null ? List.of() : excludedPaths;
+        groups = groups == null ? Map.of() : groups;
+        shedding = shedding == null ? new Shedding(Duration.ofMillis(500), 0.9) : shedding;
+        retryAfter = retryAfter == null ? Duration.ofSeconds(1) : retryAfter;
+    }
+}
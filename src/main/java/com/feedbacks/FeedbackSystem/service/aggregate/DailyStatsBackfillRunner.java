@@ -0,0 +1,27 @@
+package com.feedbacks.FeedbackSystem.service.aggregate;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+// Backfill command: start once with --feedback.rollup.backfill-on-startup=true
+// to rebuild feedback_daily_stats from the feedback table (e.g. after a bulk import).
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "feedback.rollup.backfill-on-startup", havingValue = "true")
+public class DailyStatsBackfillRunner implements ApplicationRunner {
+
+    private final DailyStatsRollup dailyStats;
+
+    public DailyStatsBackfillRunner(DailyStatsRollup dailyStats) {
+        this.dailyStats = dailyStats;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        log.info("event=DAILY_STATS_BACKFILL_STARTED");
+        dailyStats.rebuild();
+    }
+}
@@ -0,0 +1,4 @@
+package com.feedbacks.FeedbackSystem.service.aggregate;
+
+// Published after feedback_daily_stats was rebuilt from the feedback table
+public record DailyStatsRebuiltEvent(int rows) {}
@@ -0,0 +1,157 @@
+package com.feedbacks.FeedbackSystem.service.aggregate;
+
+import com.feedbacks.FeedbackSystem.repository.FeedbackDailyStatsRepository;
+import com.feedbacks.FeedbackSystem.service.aggregate.RatingAggregateService.RatingSnapshot;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Incremental maintenance of feedback_daily_stats. Every change is folded into
+// per-(day, course, instructor) deltas and written as one batched upsert.
+@Slf4j
+@Component
+public class DailyStatsRollup {
+
+    private static final String UPSERT = """
+            INSERT INTO feedback_daily_stats
+                (stat_day, course_id, instructor_id, feedback_count, course_rating_sum, instructor_rating_sum,
+                 course_stars_1, course_stars_2, course_stars_3, course_stars_4, course_stars_5,
+                 instructor_stars_1, instructor_stars_2, instructor_stars_3, instructor_stars_4, instructor_stars_5)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            ON DUPLICATE KEY UPDATE
+                feedback_count = feedback_count + VALUES(feedback_count),
+                course_rating_sum = course_rating_sum + VALUES(course_rating_sum),
+                instructor_rating_sum = instructor_rating_sum + VALUES(instructor_rating_sum),
+                course_stars_1 = course_stars_1 + VALUES(course_stars_1),
+                course_stars_2 = course_stars_2 + VALUES(course_stars_2),
+                course_stars_3 = course_stars_3 + VALUES(course_stars_3),
+                course_stars_4 = course_stars_4 + VALUES(course_stars_4),
+                course_stars_5 = course_stars_5 + VALUES(course_stars_5),
+                instructor_stars_1 = instructor_stars_1 + VALUES(instructor_stars_1),
+                instructor_stars_2 = instructor_stars_2 + VALUES(instructor_stars_2),
+                instructor_stars_3 = instructor_stars_3 + VALUES(instructor_stars_3),
+                instructor_stars_4 = instructor_stars_4 + VALUES(instructor_stars_4),
+                instructor_stars_5 = instructor_stars_5 + VALUES(instructor_stars_5)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final FeedbackDailyStatsRepository dailyStatsRepo;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public DailyStatsRollup(JdbcTemplate jdbcTemplate, FeedbackDailyStatsRepository dailyStatsRepo, ApplicationEventPublisher eventPublisher) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dailyStatsRepo = dailyStatsRepo;
+        this.eventPublisher = eventPublisher;
+    }
+
+    public void add(List<RatingSnapshot> snapshots) {
+        Map<BucketKey, Bucket> buckets = new LinkedHashMap<>();
+        for (RatingSnapshot snapshot : snapshots) {
+            fold(buckets, snapshot, 1);
+        }
+        write(buckets);
+    }
+
+    public void remove(RatingSnapshot snapshot) {
+        Map<BucketKey, Bucket> buckets = new LinkedHashMap<>();
+        fold(buckets, snapshot, -1);
+        write(buckets);
+    }
+
+    // an edit may change the ratings, the course and the day (edits are re-dated to today)
+    public void replace(RatingSnapshot before, RatingSnapshot after) {
+        Map<BucketKey, Bucket> buckets = new LinkedHashMap<>();
+        fold(buckets, before, -1);
+        fold(buckets, after, 1);
+        write(buckets);
+    }
+
+    // Backfill: drops the rollup and rebuilds it from the live feedback rows
+    @Transactional
+    @CacheEvict(value = {"feedbackTrends.DAY", "feedbackTrends.MONTH", "feedbackTrends.YEAR", "feedbackDistribution"},
+            allEntries = true)
+    public int rebuild() {
+        dailyStatsRepo.deleteAllStats();
+        int rows = dailyStatsRepo.insertStatsFromFeedback();
+        log.info("event=DAILY_STATS_REBUILT rows={}", rows);
+        // AnalyticsCacheWarmer refills the default series once this commits
+        eventPublisher.publishEvent(new DailyStatsRebuiltEvent(rows));
+        return rows;
+    }
+
+    private void fold(Map<BucketKey, Bucket> buckets, RatingSnapshot snapshot, int sign) {
+        Bucket bucket = buckets.computeIfAbsent(
+                new BucketKey(snapshot.day(), snapshot.courseId(), snapshot.instructorId()),
+                key -> new Bucket()
+        );
+        bucket.count += sign;
+        bucket.courseRatingSum += (long) sign * snapshot.courseRating();
+        bucket.instructorRatingSum += (long) sign * snapshot.instructorRating();
+        addStar(bucket.courseStars, snapshot.courseRating(), sign);
+        addStar(bucket.instructorStars, snapshot.instructorRating(), sign);
+    }
+
+    // Ratings outside 1..5 (legacy rows written before validation) count towards the sums but no star
+    // bucket, the same as the CASE WHEN columns of insertStatsFromFeedback, so a rebuild agrees with the deltas
+    private static void addStar(long[] stars, int rating, int sign) {
+        if (rating < 1 || rating > stars.length) {
+            log.warn("event=DAILY_STATS_RATING_OUT_OF_RANGE rating={}", rating);
+            return;
+        }
+        stars[rating - 1] += sign;
+    }
+
+    private void write(Map<BucketKey, Bucket> buckets) {
+        List<Object[]> rows = new ArrayList<>(buckets.size());
+        buckets.forEach((key, bucket) -> {
+            if (!bucket.isEmpty()) {
+                rows.add(bucket.toRow(key));
+            }
+        });
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT, rows);
+        }
+    }
+
+    private record BucketKey(LocalDate day, int courseId, int instructorId) {}
+
+    private static final class Bucket {
+        private long count;
+        private long courseRatingSum;
+        private long instructorRatingSum;
+        private final long[] courseStars = new long[5];
+        private final long[] instructorStars = new long[5];
+
+        // an edit that changed nothing nets out to zero
+        private boolean isEmpty() {
+            if (count != 0 || courseRatingSum != 0 || instructorRatingSum != 0) {
+                return false;
+            }
+            for (int i = 0; i < 5; i++) {
+                if (courseStars[i] != 0 || instructorStars[i] != 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private Object[] toRow(BucketKey key) {
+            return new Object[]{
+                    Date.valueOf(key.day()), key.courseId(), key.instructorId(),
+                    count, courseRatingSum, instructorRatingSum,
+                    courseStars[0], courseStars[1], courseStars[2], courseStars[3], courseStars[4],
+                    instructorStars[0], instructorStars[1], instructorStars[2], instructorStars[3], instructorStars[4]
+            };
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.feedbacks.FeedbackSystem.service.aggregate;
+
+import com.feedbacks.FeedbackSystem.model.Feedback;
+import com.feedbacks.FeedbackSystem.repository.CourseRepository;
+import com.feedbacks.FeedbackSystem.repository.InstructorRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// Keeps course and instructor ratings as sum + count, changed only through atomic
+// SQL deltas (see CourseRepository.applyRatingDelta), so hot courses never lose updates.
+// Every change is mirrored into the feedback_daily_stats rollup in the same transaction
+// and announced as a RatingAggregatesChangedEvent for targeted cache invalidation.
+@Slf4j
+@Service
+public class RatingAggregateService {
+
+    private final CourseRepository courseRepo;
+    private final InstructorRepository instructorRepo;
+    private final DailyStatsRollup dailyStats;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public RatingAggregateService(CourseRepository courseRepo, InstructorRepository instructorRepo, DailyStatsRollup dailyStats, ApplicationEventPublisher eventPublisher) {
+        this.courseRepo = courseRepo;
+        this.instructorRepo = instructorRepo;
+        this.dailyStats = dailyStats;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Transactional
+    public void onFeedbackAdded(Feedback feedback) {
+        RatingSnapshot snapshot = RatingSnapshot.of(feedback);
+        RatingDeltas deltas = new RatingDeltas();
+        deltas.add(snapshot, 1);
+        apply(deltas);
+        dailyStats.add(List.of(snapshot));
+    }
+
+    @Transactional
+    public void onFeedbackRemoved(Feedback feedback) {
+        RatingSnapshot snapshot = RatingSnapshot.of(feedback);
+        RatingDeltas deltas = new RatingDeltas();
+        deltas.add(snapshot, -1);
+        apply(deltas);
+        dailyStats.remove(snapshot);
+    }
+
+    // before = ratings/ids captured prior to the edit; the edit may also move the feedback to another course.
+    // Remove + add nets out to a pure rating delta when course and instructor are unchanged.
+    @Transactional
+    public void onFeedbackEdited(RatingSnapshot before, Feedback edited) {
+        RatingSnapshot after = RatingSnapshot.of(edited);
+        RatingDeltas deltas = new RatingDeltas();
+        deltas.add(before, -1);
+        deltas.add(after, 1);
+        apply(deltas);
+        dailyStats.replace(before, after);
+    }
+
+    // Merges a batch into one UPDATE per distinct course and instructor
+    @Transactional
+    public void onFeedbacksAdded(List<Feedback> feedbacks) {
+        onSnapshotsAdded(feedbacks.stream().map(RatingSnapshot::of).toList());
+    }
+
+    // Same merge for rows written without entities (bulk feedback import, once per file)
+    @Transactional
+    public void onSnapshotsAdded(List<RatingSnapshot> snapshots) {
+        RatingDeltas deltas = new RatingDeltas();
+        snapshots.forEach(snapshot -> deltas.add(snapshot, 1));
+        apply(deltas);
+        dailyStats.add(snapshots);
+
+        log.debug("event=RATING_AGGREGATES_MERGED feedbacks={} courses={} instructors={}",
+                snapshots.size(), deltas.courses.size(), deltas.instructors.size());
+    }
+
+    // Rebuilds every aggregate from the feedback table. Runs nightly and on demand from the analytics API.
+    @Transactional
+    @Scheduled(cron = "${feedback.aggregates.reconcile-cron:0 30 2 * * *}")
+    @CacheEvict(value = {"popularCourses", "unpopularCourses", "courseRanking", "TopInstructors"}, allEntries = true)
+    public void reconcile() {
+        int courses = courseRepo.rebuildRatingSums();
+        courseRepo.rebuildAvgRatings();
+        int instructors = instructorRepo.rebuildRatingSums();
+        instructorRepo.rebuildAvgRatings();
+
+        log.info("event=RATING_AGGREGATES_RECONCILED courses={} instructors={}", courses, instructors);
+    }
+
+    private void apply(RatingDeltas deltas) {
+        deltas.courses.forEach((courseId, delta) -> {
+            if (delta[0] != 0 || delta[1] != 0) {
+                courseRepo.applyRatingDelta(courseId, delta[0], delta[1]);
+            }
+        });
+        deltas.instructors.forEach((instructorId, delta) -> {
+            if (delta[0] != 0 || delta[1] != 0) {
+                instructorRepo.applyRatingDelta(instructorId, delta[0], delta[1]);
+            }
+        });
+
+        // listeners run after commit, see AnalyticsCacheInvalidator
+        eventPublisher.publishEvent(new RatingAggregatesChangedEvent(
+                RatingDeltas.scoreChanges(courseRepo.findRatingAggregates(deltas.courses.keySet()), deltas.courses),
+                RatingDeltas.scoreChanges(instructorRepo.findRatingAggregates(deltas.instructors.keySet()), deltas.instructors)
+        ));
+    }
+
+    public record RatingSnapshot(LocalDate day, int courseId, int instructorId, int courseRating, int instructorRating) {
+
+        public static RatingSnapshot of(Feedback feedback) {
+            return new RatingSnapshot(
+                    feedback.getSubmittedAt(),
+                    feedback.getCourse().getCourseId(),
+                    feedback.getInstructor().getInstructorId(),
+                    feedback.getCourseRating(),
+                    feedback.getInstructorRating()
+            );
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.feedbacks.FeedbackSystem.service.aggregate;
+
+import java.util.List;
+
+// Published by RatingAggregateService for every committed rating change.
+// Carries before/after values so cache invalidation can tell which ranking pages moved.
+public record RatingAggregatesChangedEvent(List<ScoreChange> courses, List<ScoreChange> instructors) {
+
+    public record ScoreChange(int id, double oldAvg, double newAvg, long oldCount, long newCount) {}
+}
@@ -0,0 +1,46 @@
+package com.feedbacks.FeedbackSystem.service.aggregate;
+
+import com.feedbacks.FeedbackSystem.DTO.analytics.RatingAggregateRow;
+import com.feedbacks.FeedbackSystem.service.aggregate.RatingAggregateService.RatingSnapshot;
+import com.feedbacks.FeedbackSystem.service.aggregate.RatingAggregatesChangedEvent.ScoreChange;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// The rating math behind RatingAggregateService: feedback changes merged into one
+// [ratingDelta, countDelta] per course and instructor, and the before/after averages.
+final class RatingDeltas {
+
+    final Map<Integer, long[]> courses = new LinkedHashMap<>();
+    final Map<Integer, long[]> instructors = new LinkedHashMap<>();
+
+    void add(RatingSnapshot snapshot, int sign) {
+        long[] course = courses.computeIfAbsent(snapshot.courseId(), id -> new long[2]);
+        course[0] += (long) sign * snapshot.courseRating();
+        course[1] += sign;
+
+        long[] instructor = instructors.computeIfAbsent(snapshot.instructorId(), id -> new long[2]);
+        instructor[0] += (long) sign * snapshot.instructorRating();
+        instructor[1] += sign;
+    }
+
+    // the old values are derived from the new row minus the delta that was just applied
+    static List<ScoreChange> scoreChanges(List<RatingAggregateRow> rows, Map<Integer, long[]> deltas) {
+        List<ScoreChange> changes = new ArrayList<>(rows.size());
+        for (RatingAggregateRow row : rows) {
+            long[] delta = deltas.get(row.id());
+            long newSum = row.ratingSum() == null ? 0 : row.ratingSum();
+            long newCount = row.feedbackCount() == null ? 0 : row.feedbackCount();
+            long oldSum = newSum - delta[0];
+            long oldCount = newCount - delta[1];
+            changes.add(new ScoreChange(row.id(), average(oldSum, oldCount), average(newSum, newCount), oldCount, newCount));
+        }
+        return changes;
+    }
+
+    static double average(long sum, long count) {
+        return count > 0 ? (double) sum / count : 0;
+    }
+}
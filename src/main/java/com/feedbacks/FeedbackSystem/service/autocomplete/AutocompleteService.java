@@ -0,0 +1,208 @@
+package com.feedbacks.FeedbackSystem.service.autocomplete;
+
+import com.feedbacks.FeedbackSystem.DTO.SuggestionDTO;
+import com.feedbacks.FeedbackSystem.model.Course;
+import com.feedbacks.FeedbackSystem.model.Instructor;
+import com.feedbacks.FeedbackSystem.repository.CourseRepository;
+import com.feedbacks.FeedbackSystem.repository.InstructorRepository;
+import com.feedbacks.FeedbackSystem.service.aggregate.RatingAggregatesChangedEvent;
+import com.feedbacks.FeedbackSystem.service.aggregate.RatingAggregatesChangedEvent.ScoreChange;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+// Type-ahead for course and instructor names, served from two in-memory PrefixIndexes.
+// Loaded on startup and on a fixed refresh, kept current by CourseServiceImpl/InstructorServiceImpl
+// writes and rating aggregate changes. Other nodes hear about writes over Redis pub/sub
+// ("<nodeId>|COURSE|<id>") and reload that one row; the refresh covers anything missed.
+@Slf4j
+@Service
+public class AutocompleteService implements MessageListener {
+
+    static final String SEPARATOR = "|";
+
+    private final CourseRepository courseRepo;
+    private final InstructorRepository instructorRepo;
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final String channel;
+    private final int maxLimit;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final PrefixIndex courses = new PrefixIndex();
+    private final PrefixIndex instructors = new PrefixIndex();
+
+    public AutocompleteService(CourseRepository courseRepo,
+                               InstructorRepository instructorRepo,
+                               StringRedisTemplate redisTemplate,
+                               RedisMessageListenerContainer listenerContainer,
+                               @Value("${feedback.autocomplete.channel:autocomplete-changes}") String channel,
+                               @Value("${feedback.autocomplete.max-limit:50}") int maxLimit) {
+        this.courseRepo = courseRepo;
+        this.instructorRepo = instructorRepo;
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.channel = channel;
+        this.maxLimit = maxLimit;
+    }
+
+    @PostConstruct
+    void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(channel));
+    }
+
+    public List<SuggestionDTO> suggest(String query, SuggestType type, SuggestRanking ranking, int limit) {
+        int k = Math.clamp(limit, 1, maxLimit);
+        if (type != null) {
+            return index(type).top(query, k, ranking.comparator());
+        }
+        List<SuggestionDTO> merged = new ArrayList<>(courses.top(query, k, ranking.comparator()));
+        merged.addAll(instructors.top(query, k, ranking.comparator()));
+        merged.sort(ranking.comparator());
+        return merged.size() > k ? merged.subList(0, k) : merged;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        rebuild();
+    }
+
+    // Safety net for missed pub/sub messages and for rating changes made on other nodes
+    @Scheduled(initialDelayString = "${feedback.autocomplete.refresh-interval:PT10M}",
+            fixedDelayString = "${feedback.autocomplete.refresh-interval:PT10M}")
+    public void rebuild() {
+        long start = System.nanoTime();
+        try {
+            courses.replaceAll(courseRepo.findSuggestions());
+            instructors.replaceAll(instructorRepo.findSuggestions());
+            log.info("event=AUTOCOMPLETE_INDEX_BUILT courses={} instructors={} took={}ms",
+                    courses.size(), instructors.size(), (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            // keep serving the previous snapshot
+            log.warn("event=AUTOCOMPLETE_INDEX_BUILD_FAILED reason={}", e.getMessage());
+        }
+    }
+
+    public void courseChanged(Course course) {
+        SuggestionDTO entry = toSuggestion(course);
+        afterCommit(() -> {
+            courses.put(entry);
+            publish(SuggestType.COURSE, entry.id());
+        });
+    }
+
+    public void courseRemoved(int courseId) {
+        afterCommit(() -> {
+            courses.remove(courseId);
+            publish(SuggestType.COURSE, courseId);
+        });
+    }
+
+    public void instructorChanged(Instructor instructor) {
+        SuggestionDTO entry = toSuggestion(instructor);
+        afterCommit(() -> {
+            instructors.put(entry);
+            publish(SuggestType.INSTRUCTOR, entry.id());
+        });
+    }
+
+    public void instructorRemoved(int instructorId) {
+        afterCommit(() -> {
+            instructors.remove(instructorId);
+            publish(SuggestType.INSTRUCTOR, instructorId);
+        });
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRatingAggregatesChanged(RatingAggregatesChangedEvent event) {
+        for (ScoreChange change : event.courses()) {
+            courses.updateRank(change.id(), change.newAvg(), change.newCount());
+        }
+        for (ScoreChange change : event.instructors()) {
+            instructors.updateRank(change.id(), change.newAvg(), change.newCount());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        String[] parts = body.split("\\" + SEPARATOR, 3);
+        if (parts.length < 3 || nodeId.equals(parts[0])) {
+            return;
+        }
+        try {
+            int id = Integer.parseInt(parts[2]);
+            switch (SuggestType.valueOf(parts[1])) {
+                case COURSE -> reload(courses, id, courseRepo.findById(id)
+                        .filter(course -> !course.isDeleted())
+                        .map(AutocompleteService::toSuggestion));
+                case INSTRUCTOR -> reload(instructors, id, instructorRepo.findById(id)
+                        .filter(instructor -> !instructor.isDeleted())
+                        .map(AutocompleteService::toSuggestion));
+            }
+        } catch (RuntimeException e) {
+            log.warn("event=AUTOCOMPLETE_SYNC_FAILED message={} reason={}", body, e.getMessage());
+        }
+    }
+
+    private static void reload(PrefixIndex index, int id, Optional<SuggestionDTO> current) {
+        current.ifPresentOrElse(index::put, () -> index.remove(id));
+    }
+
+    private PrefixIndex index(SuggestType type) {
+        return type == SuggestType.COURSE ? courses : instructors;
+    }
+
+    private void publish(SuggestType type, int id) {
+        try {
+            redisTemplate.convertAndSend(channel, nodeId + SEPARATOR + type + SEPARATOR + id);
+        } catch (RuntimeException e) {
+            // peers catch up on their next refresh
+            log.warn("event=AUTOCOMPLETE_PUBLISH_FAILED type={} id={} reason={}", type, id, e.getMessage());
+        }
+    }
+
+    // A rolled-back write must not show up in suggestions
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static SuggestionDTO toSuggestion(Course course) {
+        return new SuggestionDTO(SuggestType.COURSE.name(), course.getCourseId(), course.getCourseName(),
+                course.getAvgRating() == null ? 0.0 : course.getAvgRating(),
+                course.getFeedbackCount() == null ? 0L : course.getFeedbackCount());
+    }
+
+    private static SuggestionDTO toSuggestion(Instructor instructor) {
+        return new SuggestionDTO(SuggestType.INSTRUCTOR.name(), instructor.getInstructorId(),
+                instructor.getInstructorName(), instructor.getAvgRating(), instructor.getFeedbackCount());
+    }
+}
@@ -0,0 +1,132 @@
+package com.feedbacks.FeedbackSystem.service.autocomplete;
+
+import com.feedbacks.FeedbackSystem.DTO.SuggestionDTO;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+// Sorted prefix index over names, one key per word start so "algo" also finds "Intro to Algorithms".
+// Key: "<normalized name from that word on>\u0000<id>". A lookup is a range scan of the keys starting
+// with the query, ranked with a heap of size limit. Reads are lock-free; writes are serialized so
+// a rename never leaves keys of the old name behind.
+public final class PrefixIndex {
+
+    private static final char ID_SEPARATOR = '\u0000';
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private record State(ConcurrentSkipListMap<String, SuggestionDTO> keys, Map<Integer, SuggestionDTO> byId) {
+        State() {
+            this(new ConcurrentSkipListMap<>(), new ConcurrentHashMap<>());
+        }
+    }
+
+    private volatile State state = new State();
+
+    public int size() {
+        return state.byId().size();
+    }
+
+    public synchronized void put(SuggestionDTO entry) {
+        State current = state;
+        SuggestionDTO previous = current.byId().put(entry.id(), entry);
+        Set<String> newKeys = keysOf(entry);
+        for (String key : newKeys) {
+            current.keys().put(key, entry);
+        }
+        if (previous != null) {
+            for (String key : keysOf(previous)) {
+                if (!newKeys.contains(key)) {
+                    current.keys().remove(key);
+                }
+            }
+        }
+    }
+
+    public synchronized void remove(int id) {
+        State current = state;
+        SuggestionDTO previous = current.byId().remove(id);
+        if (previous != null) {
+            keysOf(previous).forEach(current.keys()::remove);
+        }
+    }
+
+    // Rating changes keep the name, so the keys stay and only the value is swapped
+    public synchronized void updateRank(int id, double avgRating, long feedbackCount) {
+        SuggestionDTO previous = state.byId().get(id);
+        if (previous != null) {
+            put(new SuggestionDTO(previous.type(), id, previous.name(), avgRating, feedbackCount));
+        }
+    }
+
+    // Built off to the side and swapped in, readers never see a half-filled index
+    public synchronized void replaceAll(Collection<SuggestionDTO> entries) {
+        State rebuilt = new State();
+        for (SuggestionDTO entry : entries) {
+            rebuilt.byId().put(entry.id(), entry);
+            for (String key : keysOf(entry)) {
+                rebuilt.keys().put(key, entry);
+            }
+        }
+        state = rebuilt;
+    }
+
+    public List<SuggestionDTO> top(String prefix, int limit, Comparator<SuggestionDTO> ranking) {
+        String from = normalize(prefix);
+        if (from.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        NavigableMap<String, SuggestionDTO> range = state.keys().subMap(from, true, from + Character.MAX_VALUE, true);
+
+        // head is the weakest of the best `limit` seen so far
+        PriorityQueue<SuggestionDTO> best = new PriorityQueue<>(limit + 1, ranking.reversed());
+        Set<Integer> seen = new HashSet<>();
+        for (SuggestionDTO entry : range.values()) {
+            // a name matching at several word starts is counted once
+            if (!seen.add(entry.id())) {
+                continue;
+            }
+            best.offer(entry);
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+        List<SuggestionDTO> result = new ArrayList<>(best);
+        result.sort(ranking);
+        return result;
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String stripped = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return NON_WORD.matcher(stripped.toLowerCase(Locale.ROOT)).replaceAll(" ").strip();
+    }
+
+    private static Set<String> keysOf(SuggestionDTO entry) {
+        String name = normalize(entry.name());
+        Set<String> keys = new HashSet<>();
+        if (name.isEmpty()) {
+            return keys;
+        }
+        String suffix = ID_SEPARATOR + String.valueOf(entry.id());
+        keys.add(name + suffix);
+        for (int i = name.indexOf(' '); i >= 0; i = name.indexOf(' ', i + 1)) {
+            keys.add(name.substring(i + 1) + suffix);
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,25 @@
+package com.feedbacks.FeedbackSystem.service.autocomplete;
+
+import com.feedbacks.FeedbackSystem.DTO.SuggestionDTO;
+
+import java.util.Comparator;
+
+// Order of autocomplete matches, best first. Ties fall back to the other metric, then the name.
+public enum SuggestRanking {
+    RATING(Comparator.comparing(SuggestionDTO::avgRating, Comparator.reverseOrder())
+            .thenComparing(SuggestionDTO::feedbackCount, Comparator.reverseOrder())),
+    FEEDBACKS(Comparator.comparing(SuggestionDTO::feedbackCount, Comparator.reverseOrder())
+            .thenComparing(SuggestionDTO::avgRating, Comparator.reverseOrder()));
+
+    private final Comparator<SuggestionDTO> comparator;
+
+    SuggestRanking(Comparator<SuggestionDTO> comparator) {
+        this.comparator = comparator
+                .thenComparing(SuggestionDTO::name, String.CASE_INSENSITIVE_ORDER)
+                .thenComparing(SuggestionDTO::id);
+    }
+
+    public Comparator<SuggestionDTO> comparator() {
+        return comparator;
+    }
+}
@@ -0,0 +1,6 @@
+package com.feedbacks.FeedbackSystem.service.autocomplete;
+
+public enum SuggestType {
+    COURSE,
+    INSTRUCTOR
+}
@@ -0,0 +1,112 @@
+package com.feedbacks.FeedbackSystem.service.cache;
+
+import com.feedbacks.FeedbackSystem.configure.FeedbackMetrics;
+import com.feedbacks.FeedbackSystem.configure.TrendCacheResolver;
+import com.feedbacks.FeedbackSystem.service.aggregate.RatingAggregatesChangedEvent;
+import com.feedbacks.FeedbackSystem.service.aggregate.RatingAggregatesChangedEvent.ScoreChange;
+import com.feedbacks.FeedbackSystem.service.cache.RankingCacheIndex.CachedPage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.ToDoubleFunction;
+
+// Replaces the blanket @CacheEvict(allEntries = true) on feedback writes.
+// Ranking caches: only the pages whose content or order a change can touch are evicted.
+// Trend/distribution caches: every write touches them, so evictions are coalesced
+// into one clear per flush interval instead of one per submission.
+@Slf4j
+@Component
+public class AnalyticsCacheInvalidator {
+
+    public static final String COURSE_RANKING = "courseRanking";
+    public static final String TOP_INSTRUCTORS = "TopInstructors";
+    public static final String POPULAR_COURSES = "popularCourses";
+    public static final String UNPOPULAR_COURSES = "unpopularCourses";
+    public static final String FEEDBACK_DISTRIBUTION = "feedbackDistribution";
+
+    private final CacheManager cacheManager;
+    private final RankingCacheIndex cacheIndex;
+    private final FeedbackMetrics feedbackMetrics;
+    private final AnalyticsCacheWarmer cacheWarmer;
+
+    private final AtomicBoolean trendsDirty = new AtomicBoolean();
+
+    public AnalyticsCacheInvalidator(CacheManager cacheManager, RankingCacheIndex cacheIndex, FeedbackMetrics feedbackMetrics, AnalyticsCacheWarmer cacheWarmer) {
+        this.cacheManager = cacheManager;
+        this.cacheIndex = cacheIndex;
+        this.feedbackMetrics = feedbackMetrics;
+        this.cacheWarmer = cacheWarmer;
+    }
+
+    // after commit, so a reader can't re-cache the pre-commit values right after the evict
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRatingAggregatesChanged(RatingAggregatesChangedEvent event) {
+        try {
+            evictAffectedPages(COURSE_RANKING, event.courses(), ScoreChange::oldAvg, ScoreChange::newAvg);
+            evictAffectedPages(POPULAR_COURSES, event.courses(), change -> change.oldCount(), change -> change.newCount());
+            evictAffectedPages(UNPOPULAR_COURSES, event.courses(), change -> change.oldCount(), change -> change.newCount());
+            evictAffectedPages(TOP_INSTRUCTORS, event.instructors(), ScoreChange::oldAvg, ScoreChange::newAvg);
+        } catch (RuntimeException e) {
+            // index unreachable: fall back to the old behaviour rather than serve stale rankings
+            log.warn("event=TARGETED_EVICTION_FAILED reason={}", e.getMessage());
+            clear(COURSE_RANKING, POPULAR_COURSES, UNPOPULAR_COURSES, TOP_INSTRUCTORS);
+        }
+        trendsDirty.set(true);
+    }
+
+    @Scheduled(fixedDelayString = "${feedback.cache.trend-eviction-interval-ms:5000}")
+    public void flushTrendEvictions() {
+        if (trendsDirty.getAndSet(false)) {
+            TrendCacheResolver.allCacheNames().forEach(this::clear);
+            clear(FEEDBACK_DISTRIBUTION);
+            cacheWarmer.warm();
+        }
+    }
+
+    private void evictAffectedPages(String cacheName, List<ScoreChange> changes,
+                                    ToDoubleFunction<ScoreChange> oldScore,
+                                    ToDoubleFunction<ScoreChange> newScore) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null || changes.isEmpty()) {
+            return;
+        }
+
+        // first, so a page being loaded right now is dropped by its loader if this pass misses it
+        cacheIndex.nextGeneration(cacheName);
+        Map<String, CachedPage> pages = cacheIndex.pages(cacheName);
+        List<String> evicted = new ArrayList<>();
+        pages.forEach((key, page) -> {
+            for (ScoreChange change : changes) {
+                if (page.isAffectedBy(change.id(), oldScore.applyAsDouble(change), newScore.applyAsDouble(change))) {
+                    cache.evict(key);
+                    evicted.add(key);
+                    return;
+                }
+            }
+        });
+        cacheIndex.forget(cacheName, evicted);
+
+        feedbackMetrics.recordTargetedEviction(cacheName, evicted.size(), pages.size() - evicted.size());
+        if (!evicted.isEmpty()) {
+            log.debug("event=CACHE_PAGES_EVICTED cache={} keys={} kept={}", cacheName, evicted, pages.size() - evicted.size());
+        }
+    }
+
+    private void clear(String... cacheNames) {
+        for (String cacheName : cacheNames) {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.feedbacks.FeedbackSystem.service.cache;
+
+import com.feedbacks.FeedbackSystem.DTO.analytics.TrendQuery;
+import com.feedbacks.FeedbackSystem.DTO.analytics.TrendQuery.Granularity;
+import com.feedbacks.FeedbackSystem.service.aggregate.DailyStatsRebuiltEvent;
+import com.feedbacks.FeedbackSystem.service.serviceImple.FeedbackServiceImpl;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+// Fills the dashboard's default trend series and the rating distribution ahead of the first request:
+// once at startup, after a rollup rebuild and after each coalesced trend eviction.
+@Slf4j
+@Component
+public class AnalyticsCacheWarmer {
+
+    private final FeedbackServiceImpl feedbackService;
+    private final boolean enabled;
+
+    public AnalyticsCacheWarmer(FeedbackServiceImpl feedbackService,
+                                @Value("${feedback.cache.prewarm.enabled:true}") boolean enabled) {
+        this.feedbackService = feedbackService;
+        this.enabled = enabled;
+    }
+
+    @Async("analyticsExecutor")
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmOnStartup() {
+        warm();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void warmAfterRebuild(DailyStatsRebuiltEvent event) {
+        warm();
+    }
+
+    // goes through the service proxy, so results land in the same cache entries callers read
+    public void warm() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        try {
+            for (Granularity granularity : Granularity.values()) {
+                feedbackService.getFeedbackTrends(TrendQuery.unscoped(granularity));
+            }
+            feedbackService.getFeedbackRatings();
+            log.info("event=ANALYTICS_CACHE_WARMED durationMs={}", System.currentTimeMillis() - start);
+        } catch (RuntimeException e) {
+            // a cold cache is only slower, never wrong
+            log.warn("event=ANALYTICS_CACHE_WARM_FAILED reason={}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.feedbacks.FeedbackSystem.service.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.UUID;
+
+// Announces L1 invalidations over Redis pub/sub.
+// Message: "<nodeId>|<cacheName>|E|<key>" for an evict, "<nodeId>|<cacheName>|C|" for a clear.
+// Only String keys travel as-is; any other key type is announced as a clear of that cache.
+@Slf4j
+public class CacheInvalidationPublisher {
+
+    static final String SEPARATOR = "|";
+
+    private final StringRedisTemplate redisTemplate;
+    private final String channel;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    public CacheInvalidationPublisher(StringRedisTemplate redisTemplate, String channel) {
+        this.redisTemplate = redisTemplate;
+        this.channel = channel;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    public void publishEvict(String cacheName, Object key) {
+        if (key instanceof String stringKey) {
+            send(cacheName + SEPARATOR + "E" + SEPARATOR + stringKey);
+        } else {
+            publishClear(cacheName);
+        }
+    }
+
+    public void publishClear(String cacheName) {
+        send(cacheName + SEPARATOR + "C" + SEPARATOR);
+    }
+
+    private void send(String body) {
+        try {
+            redisTemplate.convertAndSend(channel, nodeId + SEPARATOR + body);
+        } catch (RuntimeException e) {
+            // peers fall back to their short L1 TTL
+            log.warn("event=CACHE_INVALIDATION_PUBLISH_FAILED reason={}", e.getMessage());
+        }
+    }
+}
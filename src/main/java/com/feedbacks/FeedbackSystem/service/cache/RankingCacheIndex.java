@@ -0,0 +1,140 @@
+package com.feedbacks.FeedbackSystem.service.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.StringJoiner;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+// Remembers what each cached ranking page contains: the ids on it and the value the
+// page is sorted by. Kept in Redis next to the cache itself so every instance sees
+// pages cached by the others. Layout: hash "cache-index:<cacheName>", field = cache key,
+// value = "id:score,id:score,...". "cache-index-gen:<cacheName>" counts the evictions run against the cache.
+@Slf4j
+@Component
+public class RankingCacheIndex {
+
+    private static final String PREFIX = "cache-index:";
+    private static final String GENERATION_PREFIX = "cache-index-gen:";
+    // same as the entry TTL in RedisConfig; a stale field only costs one no-op evict
+    private static final Duration TTL = Duration.ofMinutes(10);
+
+    private final StringRedisTemplate redisTemplate;
+    private final CacheManager cacheManager;
+
+    public RankingCacheIndex(StringRedisTemplate redisTemplate, CacheManager cacheManager) {
+        this.redisTemplate = redisTemplate;
+        this.cacheManager = cacheManager;
+    }
+
+    // Cache-aside read of one ranking page. The page is put before its index entry is written, so an eviction
+    // that reads the index afterwards finds it. An eviction that started after the load did (the generation moved)
+    // may have missed the page or run before the put, so the page is dropped again instead of living out its TTL.
+    @SuppressWarnings("unchecked")
+    public <T> T getOrLoad(String cacheName, String key, Supplier<T> loader,
+                           Function<T, Map<Integer, ? extends Number>> scores) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null) {
+            return loader.get();
+        }
+        Cache.ValueWrapper cached = cache.get(key);
+        if (cached != null) {
+            return (T) cached.get();
+        }
+
+        String generation = generation(cacheName);
+        T page = loader.get();
+        cache.put(key, page);
+        // a page the index can't track could not be evicted either
+        boolean tracked = register(cacheName, key, scores.apply(page));
+        if (!tracked || !Objects.equals(generation, generation(cacheName))) {
+            cache.evict(key);
+            if (tracked) {
+                forget(cacheName, List.of(key));
+            }
+            log.debug("event=CACHE_PAGE_DROPPED cache={} key={} reason=untracked", cacheName, key);
+        }
+        return page;
+    }
+
+    // Bumped by the invalidator before it reads the index, so loads that overlap an eviction can tell
+    public void nextGeneration(String cacheName) {
+        redisTemplate.opsForValue().increment(GENERATION_PREFIX + cacheName);
+    }
+
+    private String generation(String cacheName) {
+        return redisTemplate.opsForValue().get(GENERATION_PREFIX + cacheName);
+    }
+
+    private boolean register(String cacheName, String key, Map<Integer, ? extends Number> scores) {
+        StringJoiner joiner = new StringJoiner(",");
+        scores.forEach((id, score) -> joiner.add(id + ":" + (score == null ? 0 : score.doubleValue())));
+        try {
+            redisTemplate.opsForHash().put(PREFIX + cacheName, key, joiner.toString());
+            redisTemplate.expire(PREFIX + cacheName, TTL);
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("event=CACHE_INDEX_REGISTER_FAILED cache={} key={} reason={}", cacheName, key, e.getMessage());
+            return false;
+        }
+    }
+
+    public Map<String, CachedPage> pages(String cacheName) {
+        Map<Object, Object> raw = redisTemplate.opsForHash().entries(PREFIX + cacheName);
+        Map<String, CachedPage> pages = new LinkedHashMap<>();
+        raw.forEach((key, value) -> pages.put(key.toString(), CachedPage.parse(value.toString())));
+        return pages;
+    }
+
+    public void forget(String cacheName, List<String> keys) {
+        if (!keys.isEmpty()) {
+            redisTemplate.opsForHash().delete(PREFIX + cacheName, keys.toArray());
+        }
+    }
+
+    public void forgetAll(String cacheName) {
+        redisTemplate.delete(PREFIX + cacheName);
+    }
+
+    public record CachedPage(Map<Integer, Double> scores, double min, double max) {
+
+        static CachedPage parse(String value) {
+            Map<Integer, Double> scores = new LinkedHashMap<>();
+            double min = Double.POSITIVE_INFINITY;
+            double max = Double.NEGATIVE_INFINITY;
+            if (!value.isEmpty()) {
+                for (String entry : value.split(",")) {
+                    int separator = entry.indexOf(':');
+                    double score = Double.parseDouble(entry.substring(separator + 1));
+                    scores.put(Integer.parseInt(entry.substring(0, separator)), score);
+                    min = Math.min(min, score);
+                    max = Math.max(max, score);
+                }
+            }
+            return new CachedPage(scores, min, max);
+        }
+
+        // A score moving from oldScore to newScore shifts every row ranked between the
+        // two values, so a page is stale if it holds the id or its range overlaps that span.
+        public boolean isAffectedBy(int id, double oldScore, double newScore) {
+            if (scores.containsKey(id)) {
+                return true;
+            }
+            if (scores.isEmpty() || oldScore == newScore) {
+                return false;
+            }
+            double low = Math.min(oldScore, newScore);
+            double high = Math.max(oldScore, newScore);
+            return low <= max && high >= min;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.feedbacks.FeedbackSystem.service.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.concurrent.Callable;
+
+// L1: bounded in-process Caffeine map of already deserialized values.
+// L2: the shared RedisCache. Reads go L1 -> L2 -> loader; every write/evict/clear
+// is applied to both tiers and announced to the other nodes so they drop their L1 copy.
+public class TwoTierCache implements org.springframework.cache.Cache {
+
+    private final org.springframework.cache.Cache l2;
+    private final Cache<Object, ValueWrapper> l1;
+    private final CacheInvalidationPublisher publisher;
+
+    private final Counter l1Hits;
+    private final Counter l1Misses;
+    private final Counter l2Hits;
+    private final Counter l2Misses;
+
+    public TwoTierCache(org.springframework.cache.Cache l2,
+                        Cache<Object, ValueWrapper> l1,
+                        CacheInvalidationPublisher publisher,
+                        MeterRegistry meterRegistry) {
+        this.l2 = l2;
+        this.l1 = l1;
+        this.publisher = publisher;
+        this.l1Hits = tierCounter(meterRegistry, "l1", "hit");
+        this.l1Misses = tierCounter(meterRegistry, "l1", "miss");
+        this.l2Hits = tierCounter(meterRegistry, "l2", "hit");
+        this.l2Misses = tierCounter(meterRegistry, "l2", "miss");
+        meterRegistry.gauge("cache.l1.size", Tags.of("cache", l2.getName()), l1, Cache::estimatedSize);
+    }
+
+    private Counter tierCounter(MeterRegistry meterRegistry, String tier, String result) {
+        return Counter.builder("cache.tier.gets")
+                .tag("cache", l2.getName())
+                .tag("tier", tier)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String getName() {
+        return l2.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return l2.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper local = l1.getIfPresent(key);
+        if (local != null) {
+            l1Hits.increment();
+            return local;
+        }
+        l1Misses.increment();
+
+        ValueWrapper remote = l2.get(key);
+        if (remote == null) {
+            l2Misses.increment();
+            return null;
+        }
+        l2Hits.increment();
+        l1.put(key, new SimpleValueWrapper(remote.get()));
+        return remote;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper == null ? null : wrapper.get();
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper wrapper = get(key);
+        if (wrapper != null) {
+            return (T) wrapper.get();
+        }
+        // RedisCache.get(key, loader) serialises concurrent loads of the same key on this node
+        T value = l2.get(key, valueLoader);
+        if (value != null) {
+            l1.put(key, new SimpleValueWrapper(value));
+        }
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        l2.put(key, value);
+        if (value != null) {
+            l1.put(key, new SimpleValueWrapper(value));
+        }
+        // other nodes may still hold the previous value in their L1
+        publisher.publishEvict(getName(), key);
+    }
+
+    @Override
+    public void evict(Object key) {
+        l2.evict(key);
+        l1.invalidate(key);
+        publisher.publishEvict(getName(), key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean present = l2.evictIfPresent(key);
+        l1.invalidate(key);
+        publisher.publishEvict(getName(), key);
+        return present;
+    }
+
+    @Override
+    public void clear() {
+        l2.clear();
+        l1.invalidateAll();
+        publisher.publishClear(getName());
+    }
+
+    // applied when another node announced a change; never re-published
+    void evictLocal(Object key) {
+        l1.invalidate(key);
+    }
+
+    void clearLocal() {
+        l1.invalidateAll();
+    }
+}
@@ -0,0 +1,88 @@
+package com.feedbacks.FeedbackSystem.service.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+// Wraps every cache of the Redis cache manager in a TwoTierCache, and applies the
+// invalidations other nodes publish (it is registered as the pub/sub listener).
+@Slf4j
+public class TwoTierCacheManager implements CacheManager, MessageListener {
+
+    private final CacheManager l2Manager;
+    private final CacheInvalidationPublisher publisher;
+    private final MeterRegistry meterRegistry;
+    private final long l1MaximumSize;
+    private final Duration l1Ttl;
+
+    private final ConcurrentMap<String, TwoTierCache> caches = new ConcurrentHashMap<>();
+
+    public TwoTierCacheManager(CacheManager l2Manager,
+                               CacheInvalidationPublisher publisher,
+                               MeterRegistry meterRegistry,
+                               long l1MaximumSize,
+                               Duration l1Ttl) {
+        this.l2Manager = l2Manager;
+        this.publisher = publisher;
+        this.meterRegistry = meterRegistry;
+        this.l1MaximumSize = l1MaximumSize;
+        this.l1Ttl = l1Ttl;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        TwoTierCache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        Cache l2 = l2Manager.getCache(name);
+        if (l2 == null) {
+            return null;
+        }
+        return caches.computeIfAbsent(name, key -> new TwoTierCache(
+                l2,
+                Caffeine.newBuilder()
+                        .maximumSize(l1MaximumSize)
+                        .expireAfterWrite(l1Ttl)
+                        .build(),
+                publisher,
+                meterRegistry
+        ));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return l2Manager.getCacheNames();
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        String[] parts = body.split("\\|", 4);
+        if (parts.length < 3 || parts[0].equals(publisher.getNodeId())) {
+            return;
+        }
+
+        TwoTierCache cache = caches.get(parts[1]);
+        if (cache == null) {
+            // nothing cached locally for it yet
+            return;
+        }
+        if ("E".equals(parts[2]) && parts.length == 4) {
+            cache.evictLocal(parts[3]);
+        } else {
+            cache.clearLocal();
+        }
+        log.debug("event=CACHE_REMOTE_INVALIDATION cache={} op={}", parts[1], parts[2]);
+    }
+}
@@ -0,0 +1,64 @@
+package com.feedbacks.FeedbackSystem.service.export;
+
+import com.feedbacks.FeedbackSystem.DTO.export.CourseExportRow;
+import com.feedbacks.FeedbackSystem.repository.CourseRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+@Component
+public class CourseReportSource implements ReportSource {
+
+    private static final String[] HEADERS = {"Course_id", "Course_Name", "Course_Description", "Created_by", "Modified_by", "Deleted_by", "is_deleted", "Instructor_Name"};
+    private static final int[] WIDTHS = {10, 28, 48, 20, 20, 20, 10, 24};
+
+    private final CourseRepository courseRepo;
+
+    public CourseReportSource(CourseRepository courseRepo) {
+        this.courseRepo = courseRepo;
+    }
+
+    @Override
+    public ReportType type() {
+        return ReportType.COURSES;
+    }
+
+    @Override
+    public String title() {
+        return "Course Report";
+    }
+
+    @Override
+    public String[] headers() {
+        return HEADERS;
+    }
+
+    @Override
+    public int[] columnWidths() {
+        return WIDTHS;
+    }
+
+    @Override
+    public long count() {
+        return courseRepo.count();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachRow(Consumer<Object[]> sink) {
+        try (Stream<CourseExportRow> courses = courseRepo.streamCoursesForExport()) {
+            courses.forEach(course -> sink.accept(new Object[]{
+                    course.courseId(),
+                    course.courseName(),
+                    course.courseDescription(),
+                    course.createdBy(),
+                    course.modifiedBy(),
+                    course.deletedBy(),
+                    course.deleted(),
+                    course.instructorName() == null ? "not assigned" : course.instructorName()
+            }));
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.feedbacks.FeedbackSystem.service.export;
+
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+// RFC 4180 CSV, UTF-8 with a BOM so Excel picks the right encoding
+@Component
+public class CsvReportWriter implements ReportWriter {
+
+    @Override
+    public ExportFormat format() {
+        return ExportFormat.CSV;
+    }
+
+    @Override
+    public void write(ReportSource source, OutputStream out, ExportProgress progress) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        writer.write('\uFEFF');
+        writeLine(writer, source.headers());
+        try {
+            source.forEachRow(values -> {
+                try {
+                    writeLine(writer, values);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                progress.rowWritten();
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+
+    private void writeLine(Writer writer, Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(escape(values[i]));
+        }
+        writer.write("\r\n");
+    }
+
+    private static String escape(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,6 @@
+package com.feedbacks.FeedbackSystem.service.export;
+
+import org.springframework.core.io.Resource;
+
+public record ExportFile(Resource resource, String fileName, String contentType) {
+}
@@ -0,0 +1,312 @@
+package com.feedbacks.FeedbackSystem.service.export;
+
+import com.feedbacks.FeedbackSystem.DTO.analytics.RateLimitInfo;
+import com.feedbacks.FeedbackSystem.DTO.export.ExportJobDTO;
+import com.feedbacks.FeedbackSystem.Exception.BadRequestException;
+import com.feedbacks.FeedbackSystem.Exception.ExportOnOtherNodeException;
+import com.feedbacks.FeedbackSystem.Exception.ResourceNotFoundException;
+import com.feedbacks.FeedbackSystem.Exception.TooManyRequestException;
+import com.feedbacks.FeedbackSystem.model.ExportJob;
+import com.feedbacks.FeedbackSystem.repository.ExportJobRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Runs report exports off the request thread on the bounded exportExecutor (see AsyncConfig:
+// max-size concurrent jobs, queue-capacity waiting jobs (none in virtual-thread mode), anything beyond
+// that is rejected with 429).
+// A request for a report/format that is already queued or running on this node is merged into the
+// existing job. Output files are local to the node in feedback.export.directory and are deleted,
+// with their job row, after the retention period. Each job row records the node that owns it
+// (feedback.export.node-id, else the host name): a restarting node only fails the jobs it was running
+// itself, each node purges only its own files, and a download on the wrong node answers 421.
+// Unfinished jobs older than max-run-time are failed whatever their owner (a replaced pod never comes
+// back for them), and rows still left a retention period after expiry are dropped by any node.
+@Slf4j
+@Service
+public class ExportJobService {
+
+    private final ExportJobRepository jobRepo;
+    private final Map<ReportType, ReportSource> sources = new EnumMap<>(ReportType.class);
+    private final Map<ExportFormat, ReportWriter> writers = new EnumMap<>(ExportFormat.class);
+    private final AsyncTaskExecutor executor;
+    private final Path directory;
+    private final Duration retention;
+    private final Duration maxRunTime;
+    private final int queueLimit;
+    private final String nodeId;
+
+    // dedupKey -> jobId of the queued/running job, and live progress per running job
+    private final Map<String, String> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, ExportProgress> progressByJob = new ConcurrentHashMap<>();
+    private final ReentrantLock submitLock = new ReentrantLock();
+
+    public ExportJobService(ExportJobRepository jobRepo,
+                            List<ReportSource> sources,
+                            List<ReportWriter> writers,
+                            @Value("${feedback.export.directory:exported_resources/jobs}") String directory,
+                            @Value("${feedback.export.retention:PT24H}") Duration retention,
+                            @Value("${feedback.export.max-run-time:PT6H}") Duration maxRunTime,
+                            @Value("${feedback.export.node-id:}") String nodeId,
+                            @Qualifier("exportExecutor") AsyncTaskExecutor executor) throws IOException {
+        this.jobRepo = jobRepo;
+        sources.forEach(source -> this.sources.put(source.type(), source));
+        writers.forEach(writer -> this.writers.put(writer.format(), writer));
+        this.directory = Files.createDirectories(Paths.get(directory).toAbsolutePath());
+        this.retention = retention;
+        this.maxRunTime = maxRunTime;
+        this.nodeId = resolveNodeId(nodeId);
+        this.executor = executor;
+        // jobs accepted before the executor starts rejecting: running + waiting, or just running in virtual mode
+        this.queueLimit = switch (executor) {
+            case ThreadPoolTaskExecutor pool -> pool.getMaxPoolSize() + pool.getQueueCapacity();
+            case SimpleAsyncTaskExecutor virtual -> virtual.getConcurrencyLimit();
+            default -> 0;
+        };
+    }
+
+    public ExportJobDTO submit(ReportType report, ExportFormat format) {
+        // a lock, not synchronized: the save below would pin a virtual thread to its carrier
+        submitLock.lock();
+        try {
+            return submitLocked(report, format);
+        } finally {
+            submitLock.unlock();
+        }
+    }
+
+    private ExportJobDTO submitLocked(ReportType report, ExportFormat format) {
+        String dedupKey = report + ":" + format;
+        String existingJobId = inFlight.get(dedupKey);
+        if (existingJobId != null) {
+            log.info("event=EXPORT_JOB_MERGED jobId={} report={} format={}", existingJobId, report, format);
+            return getJob(existingJobId);
+        }
+
+        ExportJob job = new ExportJob();
+        job.setJobId(UUID.randomUUID().toString());
+        job.setReport(report);
+        job.setFormat(format);
+        job.setStatus(ExportJob.Status.QUEUED);
+        job.setRequestedBy(currentUser());
+        job.setOwnerNode(nodeId);
+        jobRepo.save(job);
+
+        ExportProgress progress = new ExportProgress();
+        progressByJob.put(job.getJobId(), progress);
+        inFlight.put(dedupKey, job.getJobId());
+        try {
+            executor.execute(() -> run(job.getJobId(), dedupKey, progress));
+        } catch (TaskRejectedException e) {
+            inFlight.remove(dedupKey);
+            progressByJob.remove(job.getJobId());
+            finish(job.getJobId(), ExportJob.Status.FAILED, progress, null, "Rejected, export queue is full");
+            throw new TooManyRequestException(
+                    "Too many exports in progress. Try again shortly.",
+                    new RateLimitInfo(queueLimit, 0, LocalDateTime.now().plusMinutes(1).toString(), 60L)
+            );
+        }
+
+        log.info("event=EXPORT_JOB_QUEUED jobId={} report={} format={} requestedBy={}",
+                job.getJobId(), report, format, job.getRequestedBy());
+        return toDTO(job);
+    }
+
+    public ExportJobDTO getJob(String jobId) {
+        return toDTO(findJob(jobId));
+    }
+
+    public ExportFile download(String jobId) {
+        ExportJob job = findJob(jobId);
+        if (job.getStatus() != ExportJob.Status.COMPLETED) {
+            throw new BadRequestException("Export " + jobId + " is " + job.getStatus() + ", nothing to download yet.");
+        }
+        if (job.getOwnerNode() != null && !job.getOwnerNode().equals(nodeId)) {
+            throw new ExportOnOtherNodeException(
+                    "Export " + jobId + " is stored on node " + job.getOwnerNode() + ", download it from there.",
+                    job.getOwnerNode());
+        }
+        FileSystemResource file = new FileSystemResource(job.getFilePath());
+        if (!file.exists()) {
+            throw new ResourceNotFoundException("Export file for " + jobId + " has expired.");
+        }
+        String fileName = job.getReport().fileName() + "-" + job.getCreatedAt().toEpochMilli() + "." + job.getFormat().extension();
+        return new ExportFile(file, fileName, job.getFormat().contentType());
+    }
+
+    private void run(String jobId, String dedupKey, ExportProgress progress) {
+        ExportJob job = findJob(jobId);
+        ReportSource source = sources.get(job.getReport());
+        ReportWriter writer = writers.get(job.getFormat());
+        Path file = directory.resolve(jobId + "." + job.getFormat().extension());
+        long start = System.nanoTime();
+        try {
+            job.setStatus(ExportJob.Status.RUNNING);
+            job.setStartedAt(Instant.now());
+            progress.setTotalRows(source.count());
+            job.setTotalRows(progress.totalRows());
+            jobRepo.save(job);
+
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file), 64 * 1024)) {
+                writer.write(source, out, progress);
+            }
+            finish(jobId, ExportJob.Status.COMPLETED, progress, file, null);
+            log.info("event=EXPORT_JOB_COMPLETED jobId={} report={} format={} rows={} bytes={} tookMs={}",
+                    jobId, job.getReport(), job.getFormat(), progress.rowsWritten(), Files.size(file),
+                    (System.nanoTime() - start) / 1_000_000);
+        } catch (Exception e) {
+            log.error("event=EXPORT_JOB_FAILED jobId={} report={} format={} rows={}",
+                    jobId, job.getReport(), job.getFormat(), progress.rowsWritten(), e);
+            deleteQuietly(file);
+            finish(jobId, ExportJob.Status.FAILED, progress, null, e.getMessage());
+        } finally {
+            inFlight.remove(dedupKey, jobId);
+            progressByJob.remove(jobId);
+        }
+    }
+
+    private void finish(String jobId, ExportJob.Status status, ExportProgress progress, Path file, String error) {
+        ExportJob job = findJob(jobId);
+        Instant now = Instant.now();
+        job.setStatus(status);
+        job.setRowsWritten(progress.rowsWritten());
+        job.setCompletedAt(now);
+        job.setExpiresAt(now.plus(retention));
+        if (file != null) {
+            job.setFilePath(file.toString());
+            try {
+                job.setFileSize(Files.size(file));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        if (error != null) {
+            job.setError(error.length() > 500 ? error.substring(0, 500) : error);
+        }
+        jobRepo.save(job);
+    }
+
+    @Scheduled(fixedDelayString = "${feedback.export.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        Instant now = Instant.now();
+        List<ExportJob> expired = jobRepo.findByOwnerNodeAndExpiresAtBefore(nodeId, now);
+        for (ExportJob job : expired) {
+            if (job.getFilePath() != null) {
+                deleteQuietly(Paths.get(job.getFilePath()));
+            }
+        }
+        jobRepo.deleteAll(expired);
+        if (!expired.isEmpty()) {
+            log.info("event=EXPORT_JOBS_PURGED nodeId={} count={}", nodeId, expired.size());
+        }
+
+        int stale = jobRepo.failStale(List.of(ExportJob.Status.QUEUED, ExportJob.Status.RUNNING),
+                now.minus(maxRunTime), "Abandoned, not finished within " + maxRunTime, now, now.plus(retention));
+        if (stale > 0) {
+            log.warn("event=EXPORT_JOBS_STALE count={}", stale);
+        }
+        // a live owner purges its rows at expiresAt, so one still here a retention later has no owner left
+        int abandoned = jobRepo.deleteAbandoned(nodeId, now.minus(retention));
+        if (abandoned > 0) {
+            log.info("event=EXPORT_JOBS_ABANDONED_PURGED count={}", abandoned);
+        }
+    }
+
+    // queued/running rows this node left behind on restart can never finish; other nodes' jobs are still live
+    @EventListener(ApplicationReadyEvent.class)
+    public void failInterruptedJobs() {
+        Instant now = Instant.now();
+        int interrupted = jobRepo.failUnfinished(nodeId,
+                List.of(ExportJob.Status.QUEUED, ExportJob.Status.RUNNING),
+                "Interrupted by restart", now, now.plus(retention));
+        if (interrupted > 0) {
+            log.warn("event=EXPORT_JOBS_INTERRUPTED nodeId={} count={}", nodeId, interrupted);
+        }
+    }
+
+    private static String resolveNodeId(String configured) {
+        if (configured != null && !configured.isBlank()) {
+            return configured;
+        }
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            throw new IllegalStateException("Cannot resolve the host name, set feedback.export.node-id", e);
+        }
+    }
+
+    private ExportJob findJob(String jobId) {
+        return jobRepo.findById(jobId)
+                .orElseThrow(() -> new ResourceNotFoundException("Export job not found with Id: " + jobId));
+    }
+
+    private ExportJobDTO toDTO(ExportJob job) {
+        ExportProgress live = progressByJob.get(job.getJobId());
+        long rows = live != null ? live.rowsWritten() : job.getRowsWritten();
+        Long total = live != null && live.totalRows() != null ? live.totalRows() : job.getTotalRows();
+        Integer percent = null;
+        if (job.getStatus() == ExportJob.Status.COMPLETED) {
+            percent = 100;
+        } else if (total != null && total > 0) {
+            percent = (int) Math.min(99, rows * 100 / total);
+        }
+        return new ExportJobDTO(
+                job.getJobId(),
+                job.getReport(),
+                job.getFormat(),
+                job.getStatus(),
+                rows,
+                total,
+                percent,
+                job.getFileSize(),
+                job.getStatus() == ExportJob.Status.COMPLETED ? "/api/v1/exports/" + job.getJobId() + "/download" : null,
+                job.getError(),
+                job.getCreatedAt(),
+                job.getCompletedAt(),
+                job.getExpiresAt()
+        );
+    }
+
+    private static String currentUser() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return auth == null ? "system" : auth.getName();
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("event=EXPORT_FILE_DELETE_FAILED file={}", file, e);
+        }
+    }
+}
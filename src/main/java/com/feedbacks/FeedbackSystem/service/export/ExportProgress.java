@@ -0,0 +1,31 @@
+package com.feedbacks.FeedbackSystem.service.export;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Live row counter of a running export, read by the job status endpoint
+public class ExportProgress {
+
+    private final AtomicLong rowsWritten = new AtomicLong();
+    private volatile long totalRows = -1;
+
+    public static ExportProgress untracked() {
+        return new ExportProgress();
+    }
+
+    public void rowWritten() {
+        rowsWritten.incrementAndGet();
+    }
+
+    public long rowsWritten() {
+        return rowsWritten.get();
+    }
+
+    public void setTotalRows(long totalRows) {
+        this.totalRows = totalRows;
+    }
+
+    // null until the source has been counted
+    public Long totalRows() {
+        return totalRows < 0 ? null : totalRows;
+    }
+}
@@ -0,0 +1,66 @@
+package com.feedbacks.FeedbackSystem.service.export;
+
+import com.feedbacks.FeedbackSystem.DTO.export.FeedbackExportRow;
+import com.feedbacks.FeedbackSystem.repository.FeedbackRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+@Component
+public class FeedbackReportSource implements ReportSource {
+
+    private static final String[] HEADERS = {"Feedback Id", "Course", "Instructor", "Student", "Course Rating", "Instructor Rating", "Course Comment", "Instructor Comment", "Submitted At"};
+    private static final int[] WIDTHS = {12, 28, 24, 24, 14, 16, 48, 48, 12};
+
+    private final FeedbackRepository feedbackRepo;
+
+    public FeedbackReportSource(FeedbackRepository feedbackRepo) {
+        this.feedbackRepo = feedbackRepo;
+    }
+
+    @Override
+    public ReportType type() {
+        return ReportType.FEEDBACKS;
+    }
+
+    @Override
+    public String title() {
+        return "Feedback Report";
+    }
+
+    @Override
+    public String[] headers() {
+        return HEADERS;
+    }
+
+    @Override
+    public int[] columnWidths() {
+        return WIDTHS;
+    }
+
+    @Override
+    public long count() {
+        return feedbackRepo.countLiveFeedbacks();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachRow(Consumer<Object[]> sink) {
+        try (Stream<FeedbackExportRow> feedbacks = feedbackRepo.streamFeedbacksForExport()) {
+            feedbacks.forEach(feedback -> sink.accept(new Object[]{
+                    feedback.feedbackId(),
+                    feedback.courseName(),
+                    feedback.instructorName(),
+                    // same masking as FeedbackMapper.toResponse
+                    feedback.anonymous() ? "Anonymous" : feedback.studentName(),
+                    feedback.courseRating(),
+                    feedback.instructorRating(),
+                    feedback.courseComment(),
+                    feedback.instructorComment(),
+                    feedback.submittedAt() != null ? feedback.submittedAt().toString() : ""
+            }));
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.feedbacks.FeedbackSystem.service.export;
+
+import com.itextpdf.text.*;
+import com.itextpdf.text.Font;
+import com.itextpdf.text.pdf.PdfPCell;
+import com.itextpdf.text.pdf.PdfPTable;
+import com.itextpdf.text.pdf.PdfWriter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+
+// Paginated PDF engine shared by every report (see ReportSource for the per-report layout).
+// The table is an iText large element (complete = false): every flushRows rows it is added to the
+// document, which lays out full pages, writes them to the stream and drops those rows from the table.
+// Memory is bounded by flushRows instead of the report size, and the header row repeats on every page.
+@Component
+public class PdfReportWriter implements ReportWriter {
+
+    private final Font titleFont = new Font(Font.FontFamily.HELVETICA, 20, Font.BOLD);
+    private final Font subTitleFont = new Font(Font.FontFamily.HELVETICA, 14, Font.NORMAL, BaseColor.DARK_GRAY);
+    private final Font headerFont = new Font(Font.FontFamily.HELVETICA, 12, Font.BOLD, BaseColor.BLACK);
+    private final Font cellFont = new Font(Font.FontFamily.HELVETICA, 10);
+
+    private final int flushRows;
+
+    public PdfReportWriter(@Value("${feedback.export.pdf.flush-rows:500}") int flushRows) {
+        this.flushRows = flushRows;
+    }
+
+    @Override
+    public ExportFormat format() {
+        return ExportFormat.PDF;
+    }
+
+    @Override
+    public void write(ReportSource source, OutputStream out, ExportProgress progress) throws IOException {
+        Document document = new Document(source.landscape() ? PageSize.A4.rotate() : PageSize.A4);
+        try {
+            PdfWriter writer = PdfWriter.getInstance(document, out);
+            writer.setCloseStream(false);
+            document.open();
+
+            Paragraph reportTitle = new Paragraph(source.title(), titleFont);
+            reportTitle.setAlignment(Element.ALIGN_CENTER);
+            document.add(reportTitle);
+            document.add(Chunk.NEWLINE);
+            document.add(new Paragraph("Date: " + LocalDate.now(), subTitleFont));
+            document.add(new Paragraph("Day: " + DayOfWeek.from(LocalDate.now()), subTitleFont));
+            document.add(Chunk.NEWLINE);
+
+            PdfPTable table = createTable(source);
+            int[] pending = {0};
+            source.forEachRow(values -> {
+                for (Object value : values) {
+                    PdfPCell cell = new PdfPCell(new Phrase(value == null ? "" : value.toString(), cellFont));
+                    cell.setPadding(6);
+                    cell.setVerticalAlignment(Element.ALIGN_MIDDLE);
+                    table.addCell(cell);
+                }
+                progress.rowWritten();
+                if (++pending[0] == flushRows) {
+                    addChunk(document, table);
+                    pending[0] = 0;
+                }
+            });
+
+            table.setComplete(true);
+            document.add(table);
+            document.close();
+        } catch (DocumentException e) {
+            throw new IOException("Error while writing pdf report. " + e.getMessage(), e);
+        } catch (IllegalStateException e) {
+            if (e.getCause() instanceof DocumentException documentException) {
+                throw new IOException("Error while writing pdf report. " + documentException.getMessage(), documentException);
+            }
+            throw e;
+        }
+        out.flush();
+    }
+
+    private PdfPTable createTable(ReportSource source) throws DocumentException {
+        String[] headers = source.headers();
+        PdfPTable table = new PdfPTable(headers.length);
+        table.setComplete(false);
+        table.setWidthPercentage(100);
+        table.setWidths(relativeWidths(source.columnWidths()));
+        for (String header : headers) {
+            PdfPCell cell = new PdfPCell(new Phrase(header, headerFont));
+            cell.setHorizontalAlignment(Element.ALIGN_CENTER);
+            cell.setPadding(10);
+            table.addCell(cell);
+        }
+        table.setHeaderRows(1);
+        return table;
+    }
+
+    // called from inside the row callback, so the checked exception is tunnelled out and unwrapped in write()
+    private static void addChunk(Document document, PdfPTable table) {
+        try {
+            document.add(table);
+        } catch (DocumentException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static float[] relativeWidths(int[] widths) {
+        float[] relative = new float[widths.length];
+        for (int i = 0; i < widths.length; i++) {
+            relative[i] = widths[i];
+        }
+        return relative;
+    }
+}
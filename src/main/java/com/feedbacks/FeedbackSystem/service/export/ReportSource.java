@@ -0,0 +1,27 @@
+package com.feedbacks.FeedbackSystem.service.export;
+
+import java.util.function.Consumer;
+
+// Template of one report: its title, columns and layout hints plus the rows, independent of the output
+// format (see ReportWriter). Rows stream from a forward-only repository query, so a report never sits in memory.
+public interface ReportSource {
+
+    ReportType type();
+
+    String title();
+
+    String[] headers();
+
+    // column widths in characters, used by the xlsx and pdf writers
+    int[] columnWidths();
+
+    // pdf page orientation; wide reports are laid out on landscape pages
+    default boolean landscape() {
+        return headers().length > 4;
+    }
+
+    long count();
+
+    // Pushes every row to the sink, inside a read-only transaction. Values are String, Number, Boolean or null.
+    void forEachRow(Consumer<Object[]> sink);
+}
@@ -0,0 +1,17 @@
+package com.feedbacks.FeedbackSystem.service.export;
+
+public enum ReportType {
+    STUDENTS("students"),
+    COURSES("courses"),
+    FEEDBACKS("feedbacks");
+
+    private final String fileName;
+
+    ReportType(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public String fileName() {
+        return fileName;
+    }
+}
@@ -0,0 +1,12 @@
+package com.feedbacks.FeedbackSystem.service.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+// Renders a ReportSource in one format. Writers flush but never close the stream they are given.
+public interface ReportWriter {
+
+    ExportFormat format();
+
+    void write(ReportSource source, OutputStream out, ExportProgress progress) throws IOException;
+}
@@ -0,0 +1,60 @@
+package com.feedbacks.FeedbackSystem.service.export;
+
+import com.feedbacks.FeedbackSystem.DTO.export.StudentExportRow;
+import com.feedbacks.FeedbackSystem.repository.UserRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+@Component
+public class StudentReportSource implements ReportSource {
+
+    private static final String[] HEADERS = {"Roll No", "Name", "Email", "Signed At"};
+    private static final int[] WIDTHS = {16, 28, 36, 12};
+
+    private final UserRepository userRepo;
+
+    public StudentReportSource(UserRepository userRepo) {
+        this.userRepo = userRepo;
+    }
+
+    @Override
+    public ReportType type() {
+        return ReportType.STUDENTS;
+    }
+
+    @Override
+    public String title() {
+        return "Student Report";
+    }
+
+    @Override
+    public String[] headers() {
+        return HEADERS;
+    }
+
+    @Override
+    public int[] columnWidths() {
+        return WIDTHS;
+    }
+
+    @Override
+    public long count() {
+        return userRepo.totalStudentsCount();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachRow(Consumer<Object[]> sink) {
+        try (Stream<StudentExportRow> students = userRepo.streamStudentsForExport()) {
+            students.forEach(student -> sink.accept(new Object[]{
+                    student.identityNo(),
+                    student.username(),
+                    student.email(),
+                    student.createdAt() != null ? student.createdAt().toString() : ""
+            }));
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.feedbacks.FeedbackSystem.service.export;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+// SXSSF keeps only rowWindow rows on the heap; older rows are flushed to a compressed temp file.
+// Column widths are fixed because autoSizeColumn would need every row in memory.
+@Component
+public class XlsxReportWriter implements ReportWriter {
+
+    private final int rowWindow;
+
+    public XlsxReportWriter(@Value("${feedback.export.excel.row-window:100}") int rowWindow) {
+        this.rowWindow = rowWindow;
+    }
+
+    @Override
+    public ExportFormat format() {
+        return ExportFormat.XLSX;
+    }
+
+    @Override
+    public void write(ReportSource source, OutputStream out, ExportProgress progress) throws IOException {
+        try (SXSSFWorkbook workbook = new SXSSFWorkbook(rowWindow)) {
+            workbook.setCompressTempFiles(true);
+            Sheet sheet = workbook.createSheet(source.type().fileName());
+
+            int[] widths = source.columnWidths();
+            for (int i = 0; i < widths.length; i++) {
+                sheet.setColumnWidth(i, widths[i] * 256);
+            }
+
+            String[] headers = source.headers();
+            Row headerRow = sheet.createRow(0);
+            for (int i = 0; i < headers.length; i++) {
+                headerRow.createCell(i).setCellValue(headers[i]);
+            }
+
+            int[] rowIndex = {1}; // first row after header row
+            source.forEachRow(values -> {
+                Row row = sheet.createRow(rowIndex[0]++);
+                for (int i = 0; i < values.length; i++) {
+                    setValue(row.createCell(i), values[i]);
+                }
+                progress.rowWritten();
+            });
+
+            workbook.write(out);
+            out.flush();
+        }
+    }
+
+    private static void setValue(Cell cell, Object value) {
+        if (value instanceof Number number) {
+            cell.setCellValue(number.doubleValue());
+        } else if (value instanceof Boolean bool) {
+            cell.setCellValue(bool);
+        } else {
+            cell.setCellValue(value == null ? "" : value.toString());
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.feedbacks.FeedbackSystem.service.id;
+
+import com.feedbacks.FeedbackSystem.model.IdGenerators;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+// Reserves blocks of consecutive ids for JDBC batch inserts from the same id_generator rows the
+// @TableGenerator mappings use. Rows hold the last id handed out (hibernate.id.generator.stored_last_used),
+// so a block taken here never overlaps one Hibernate hands out. Runs in its own transaction to release the row lock at once;
+// ids of a rolled-back batch are simply skipped. That transaction is a second connection next to the caller's, which
+// ConnectionGuardDataSource serves from its nested-permits reserve so the pool can't run dry under load.
+@Slf4j
+@Component
+public class IdBlockAllocator {
+
+    private static final String SELECT_NEXT = "SELECT " + IdGenerators.VALUE_COLUMN + " FROM " + IdGenerators.TABLE
+            + " WHERE " + IdGenerators.NAME_COLUMN + " = ? FOR UPDATE";
+    private static final String ADVANCE = "UPDATE " + IdGenerators.TABLE + " SET " + IdGenerators.VALUE_COLUMN
+            + " = ? WHERE " + IdGenerators.NAME_COLUMN + " = ?";
+    private static final String INSERT = "INSERT INTO " + IdGenerators.TABLE + " (" + IdGenerators.NAME_COLUMN
+            + ", " + IdGenerators.VALUE_COLUMN + ") VALUES (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public IdBlockAllocator(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Returns the first id of `size` consecutive free ids of the given generator (IdGenerators.FEEDBACK, ...)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public int allocate(String generator, int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("size must be positive");
+        }
+        List<Long> next = jdbcTemplate.queryForList(SELECT_NEXT, Long.class, generator);
+        if (next.isEmpty()) {
+            // schema created by Hibernate (create-drop) before its first insert on this table
+            try {
+                jdbcTemplate.update(INSERT, generator, (long) size);
+                log.info("event=ID_GENERATOR_INITIALISED generator={}", generator);
+                return 1;
+            } catch (DuplicateKeyException e) {
+                next = jdbcTemplate.queryForList(SELECT_NEXT, Long.class, generator);
+            }
+        }
+        long last = next.get(0);
+        long first = last + 1;
+        jdbcTemplate.update(ADVANCE, last + size, generator);
+        log.debug("event=ID_BLOCK_ALLOCATED generator={} first={} size={}", generator, first, size);
+        return Math.toIntExact(first);
+    }
+}
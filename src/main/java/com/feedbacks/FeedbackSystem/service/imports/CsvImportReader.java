@@ -0,0 +1,85 @@
+package com.feedbacks.FeedbackSystem.service.imports;
+
+import com.feedbacks.FeedbackSystem.Exception.BadRequestException;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+// RFC 4180 CSV in UTF-8 (a leading BOM is ignored), parsed one record at a time.
+// Quoted fields may hold commas, doubled quotes and line breaks; a record is one row of the report.
+@Component
+public class CsvImportReader implements ImportReader {
+
+    @Override
+    public ImportFormat format() {
+        return ImportFormat.CSV;
+    }
+
+    @Override
+    public void read(InputStream in, ImportRowHandler handler) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 64 * 1024);
+        List<String> cells = new ArrayList<>();
+        StringBuilder cell = new StringBuilder();
+        boolean quoted = false;
+        boolean start = true;
+        int row = 0;
+        int c;
+        while ((c = reader.read()) != -1) {
+            if (start) {
+                start = false;
+                if (c == '\uFEFF') {
+                    continue;
+                }
+            }
+            if (quoted) {
+                if (c != '"') {
+                    cell.append((char) c);
+                    continue;
+                }
+                reader.mark(1);
+                if (reader.read() == '"') {
+                    cell.append('"');
+                } else {
+                    quoted = false;
+                    reader.reset();
+                }
+            } else if (c == '"' && cell.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                cells.add(cell.toString());
+                cell.setLength(0);
+            } else if (c == '\r' || c == '\n') {
+                if (c == '\r') {
+                    reader.mark(1);
+                    if (reader.read() != '\n') {
+                        reader.reset();
+                    }
+                }
+                emit(++row, cells, cell, handler);
+            } else {
+                cell.append((char) c);
+            }
+        }
+        if (quoted) {
+            throw new BadRequestException("Row " + (row + 1) + " has an unterminated quoted field.");
+        }
+        if (!cells.isEmpty() || !cell.isEmpty()) {
+            emit(++row, cells, cell, handler);
+        }
+    }
+
+    private static void emit(int row, List<String> cells, StringBuilder cell, ImportRowHandler handler) {
+        cells.add(cell.toString());
+        cell.setLength(0);
+        if (cells.size() > 1 || !cells.get(0).isBlank()) {
+            handler.onRow(row, List.copyOf(cells));
+        }
+        cells.clear();
+    }
+}
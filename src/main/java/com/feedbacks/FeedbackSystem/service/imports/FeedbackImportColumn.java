@@ -0,0 +1,59 @@
+package com.feedbacks.FeedbackSystem.service.imports;
+
+import com.feedbacks.FeedbackSystem.Exception.BadRequestException;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Columns of a feedback import file, matched by header name in any order ("Course Rating" = course_rating).
+// student takes an email or identity number; instructor_id defaults to the course's current instructor,
+// submitted_at (yyyy-MM-dd) to today.
+public enum FeedbackImportColumn {
+    STUDENT("student", true),
+    COURSE_ID("course_id", true),
+    INSTRUCTOR_ID("instructor_id", false),
+    COURSE_RATING("course_rating", true),
+    INSTRUCTOR_RATING("instructor_rating", true),
+    COURSE_COMMENT("course_comment", false),
+    INSTRUCTOR_COMMENT("instructor_comment", false),
+    ANONYMOUS("anonymous", false),
+    SUBMITTED_AT("submitted_at", false);
+
+    private final String header;
+    private final boolean required;
+
+    FeedbackImportColumn(String header, boolean required) {
+        this.header = header;
+        this.required = required;
+    }
+
+    public String header() {
+        return header;
+    }
+
+    // Column positions from the header row; unknown headers are ignored
+    public static Map<FeedbackImportColumn, Integer> resolve(List<String> headerRow) {
+        Map<FeedbackImportColumn, Integer> positions = new EnumMap<>(FeedbackImportColumn.class);
+        for (int i = 0; i < headerRow.size(); i++) {
+            String name = headerRow.get(i).trim().toLowerCase(Locale.ROOT).replaceAll("[\\s-]+", "_");
+            for (FeedbackImportColumn column : values()) {
+                if (column.header.equals(name)) {
+                    positions.putIfAbsent(column, i);
+                }
+            }
+        }
+        List<String> missing = new ArrayList<>();
+        for (FeedbackImportColumn column : values()) {
+            if (column.required && !positions.containsKey(column)) {
+                missing.add(column.header);
+            }
+        }
+        if (!missing.isEmpty()) {
+            throw new BadRequestException("The header row is missing required columns: " + String.join(", ", missing));
+        }
+        return positions;
+    }
+}
@@ -0,0 +1,348 @@
+package com.feedbacks.FeedbackSystem.service.imports;
+
+import com.feedbacks.FeedbackSystem.DTO.imports.EnrollmentKey;
+import com.feedbacks.FeedbackSystem.DTO.imports.FeedbackImportReport;
+import com.feedbacks.FeedbackSystem.DTO.imports.ImportCourseRef;
+import com.feedbacks.FeedbackSystem.DTO.imports.ImportRowError;
+import com.feedbacks.FeedbackSystem.DTO.imports.ImportStudentRef;
+import com.feedbacks.FeedbackSystem.Exception.BadRequestException;
+import com.feedbacks.FeedbackSystem.configure.FeedbackMetrics;
+import com.feedbacks.FeedbackSystem.model.User;
+import com.feedbacks.FeedbackSystem.repository.CourseRepository;
+import com.feedbacks.FeedbackSystem.repository.EnrollmentRepository;
+import com.feedbacks.FeedbackSystem.repository.InstructorRepository;
+import com.feedbacks.FeedbackSystem.repository.UserRepository;
+import com.feedbacks.FeedbackSystem.service.aggregate.RatingAggregateService;
+import com.feedbacks.FeedbackSystem.service.aggregate.RatingAggregateService.RatingSnapshot;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import static com.feedbacks.FeedbackSystem.service.imports.FeedbackImportColumn.*;
+
+// Bulk import of historical feedbacks from CSV or XLSX. Rows are parsed as the file streams in and handled
+// in chunks: the students, courses, instructors and enrollments of a chunk are resolved with one IN query
+// each, the valid rows go out as one JDBC batch, and the ratings of the whole file are folded into the
+// course/instructor aggregates and the daily rollup once at the end. Invalid rows are skipped and listed
+// in the report. Everything runs in one transaction, so a file that fails halfway leaves nothing behind.
+// Imports are an admin operation and bypass the per-student submission rate limit.
+@Slf4j
+@Service
+public class FeedbackImportService {
+
+    // feedback.course_comment / instructor_comment are VARCHAR(1000)
+    private static final int MAX_COMMENT_LENGTH = 1000;
+
+    private final Map<ImportFormat, ImportReader> readers = new EnumMap<>(ImportFormat.class);
+    private final UserRepository userRepo;
+    private final CourseRepository courseRepo;
+    private final InstructorRepository instructorRepo;
+    private final EnrollmentRepository enrollmentRepo;
+    private final FeedbackImportWriter writer;
+    private final RatingAggregateService ratingAggregates;
+    private final FeedbackMetrics feedbackMetrics;
+    private final int chunkSize;
+    private final int maxReportedErrors;
+
+    public FeedbackImportService(List<ImportReader> readers,
+                                 UserRepository userRepo,
+                                 CourseRepository courseRepo,
+                                 InstructorRepository instructorRepo,
+                                 EnrollmentRepository enrollmentRepo,
+                                 FeedbackImportWriter writer,
+                                 RatingAggregateService ratingAggregates,
+                                 FeedbackMetrics feedbackMetrics,
+                                 @Value("${feedback.import.chunk-size:1000}") int chunkSize,
+                                 @Value("${feedback.import.max-reported-errors:1000}") int maxReportedErrors) {
+        readers.forEach(reader -> this.readers.put(reader.format(), reader));
+        this.userRepo = userRepo;
+        this.courseRepo = courseRepo;
+        this.instructorRepo = instructorRepo;
+        this.enrollmentRepo = enrollmentRepo;
+        this.writer = writer;
+        this.ratingAggregates = ratingAggregates;
+        this.feedbackMetrics = feedbackMetrics;
+        this.chunkSize = chunkSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    // dryRun validates every row and reports what would be imported without writing anything
+    @Transactional
+    public FeedbackImportReport importFeedbacks(String fileName, InputStream in, boolean dryRun) throws IOException {
+        long start = System.nanoTime();
+        ImportFormat format = ImportFormat.fromFileName(fileName);
+
+        ImportRun run = new ImportRun(dryRun);
+        readers.get(format).read(in, run);
+        run.finish();
+
+        run.errors.sort(Comparator.comparingInt(ImportRowError::row));
+        long tookMillis = (System.nanoTime() - start) / 1_000_000;
+        feedbackMetrics.recordFeedbackImport(dryRun, run.imported, run.rejected);
+        log.info("event=FEEDBACK_IMPORT_FINISHED file={} format={} dryRun={} rows={} imported={} rejected={} took={}ms",
+                fileName, format, dryRun, run.totalRows, run.imported, run.rejected, tookMillis);
+
+        return new FeedbackImportReport(fileName, dryRun, run.totalRows, run.imported, run.rejected,
+                List.copyOf(run.errors), run.rejected > run.errors.size(), tookMillis);
+    }
+
+    private record ParsedRow(int row, String student, int courseId, Integer instructorId,
+                             int courseRating, int instructorRating, String courseComment,
+                             String instructorComment, boolean anonymous, LocalDate submittedAt) {
+    }
+
+    // one rejected cell; carries no stack trace, rows are rejected by the thousand in a bad file
+    private static final class InvalidCell extends RuntimeException {
+
+        private final FeedbackImportColumn column;
+
+        private InvalidCell(FeedbackImportColumn column, String message) {
+            super(message, null, false, false);
+            this.column = column;
+        }
+    }
+
+    private final class ImportRun implements ImportRowHandler {
+
+        private final boolean dryRun;
+        private final LocalDate today = LocalDate.now();
+        private final List<ParsedRow> chunk = new ArrayList<>();
+        private final List<RatingSnapshot> snapshots = new ArrayList<>();
+        private final List<ImportRowError> errors = new ArrayList<>();
+        private Map<FeedbackImportColumn, Integer> columns;
+        private int totalRows;
+        private int imported;
+        private int rejected;
+
+        private ImportRun(boolean dryRun) {
+            this.dryRun = dryRun;
+        }
+
+        @Override
+        public void onRow(int rowNumber, List<String> cells) {
+            if (columns == null) {
+                columns = FeedbackImportColumn.resolve(cells);
+                return;
+            }
+            totalRows++;
+            try {
+                chunk.add(parse(rowNumber, cells));
+            } catch (InvalidCell e) {
+                reject(rowNumber, e.column, e.getMessage());
+            }
+            if (chunk.size() >= chunkSize) {
+                flush();
+            }
+        }
+
+        private void finish() {
+            if (columns == null) {
+                throw new BadRequestException("The file is empty, expected a header row.");
+            }
+            flush();
+            if (!dryRun && !snapshots.isEmpty()) {
+                ratingAggregates.onSnapshotsAdded(snapshots);
+            }
+        }
+
+        private ParsedRow parse(int row, List<String> cells) {
+            String student = value(cells, STUDENT);
+            if (student == null) {
+                throw new InvalidCell(STUDENT, "student is required");
+            }
+            Integer courseId = integer(cells, COURSE_ID);
+            if (courseId == null) {
+                throw new InvalidCell(COURSE_ID, "course_id is required");
+            }
+            String anonymous = value(cells, ANONYMOUS);
+            String submittedAt = value(cells, SUBMITTED_AT);
+            return new ParsedRow(
+                    row,
+                    student,
+                    courseId,
+                    integer(cells, INSTRUCTOR_ID),
+                    rating(cells, COURSE_RATING),
+                    rating(cells, INSTRUCTOR_RATING),
+                    comment(cells, COURSE_COMMENT),
+                    comment(cells, INSTRUCTOR_COMMENT),
+                    anonymous != null && parseBoolean(anonymous),
+                    submittedAt == null ? today : parseDate(submittedAt)
+            );
+        }
+
+        // Resolves and validates the parsed rows of one chunk with one query per referenced table, then writes them
+        private void flush() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            Set<String> studentKeys = new HashSet<>();
+            Set<Integer> courseIds = new HashSet<>();
+            Set<Integer> instructorIds = new HashSet<>();
+            for (ParsedRow row : chunk) {
+                studentKeys.add(row.student().toLowerCase(Locale.ROOT));
+                courseIds.add(row.courseId());
+                if (row.instructorId() != null) {
+                    instructorIds.add(row.instructorId());
+                }
+            }
+
+            Map<String, ImportStudentRef> students = new HashMap<>();
+            for (ImportStudentRef ref : userRepo.findImportRefs(studentKeys)) {
+                if (ref.email() != null) {
+                    students.put(ref.email().toLowerCase(Locale.ROOT), ref);
+                }
+                if (ref.identityNo() != null) {
+                    students.put(ref.identityNo().toLowerCase(Locale.ROOT), ref);
+                }
+            }
+            Map<Integer, ImportCourseRef> courses = new HashMap<>();
+            courseRepo.findImportRefs(courseIds).forEach(ref -> courses.put(ref.courseId(), ref));
+            Set<Integer> instructors = instructorIds.isEmpty()
+                    ? Set.of()
+                    : new HashSet<>(instructorRepo.findActiveInstructorIds(instructorIds));
+
+            List<ImportedFeedback> resolved = new ArrayList<>(chunk.size());
+            for (ParsedRow row : chunk) {
+                ImportStudentRef student = students.get(row.student().toLowerCase(Locale.ROOT));
+                if (student == null) {
+                    reject(row.row(), STUDENT, "No user with email or identity number " + row.student());
+                    continue;
+                }
+                if (student.role() != User.Role.STUDENT) {
+                    reject(row.row(), STUDENT, row.student() + " is not a student");
+                    continue;
+                }
+                ImportCourseRef course = courses.get(row.courseId());
+                if (course == null) {
+                    reject(row.row(), COURSE_ID, "Course " + row.courseId() + " not found");
+                    continue;
+                }
+                Integer instructorId = row.instructorId() != null ? row.instructorId() : course.instructorId();
+                if (instructorId == null) {
+                    reject(row.row(), INSTRUCTOR_ID, "Course " + row.courseId() + " has no instructor, instructor_id is required");
+                    continue;
+                }
+                if (row.instructorId() != null && !instructors.contains(instructorId)) {
+                    reject(row.row(), INSTRUCTOR_ID, "Instructor " + instructorId + " not found");
+                    continue;
+                }
+                resolved.add(new ImportedFeedback(row.row(), student.userId(), row.courseId(), instructorId,
+                        row.courseRating(), row.instructorRating(), row.courseComment(), row.instructorComment(),
+                        row.anonymous(), row.submittedAt()));
+            }
+            chunk.clear();
+
+            List<ImportedFeedback> valid = new ArrayList<>(resolved.size());
+            if (!resolved.isEmpty()) {
+                Set<Integer> studentIds = new HashSet<>();
+                Set<Integer> enrolledCourseIds = new HashSet<>();
+                resolved.forEach(feedback -> {
+                    studentIds.add(feedback.studentId());
+                    enrolledCourseIds.add(feedback.courseId());
+                });
+                // superset of the pairs in this chunk, narrowed below
+                Set<EnrollmentKey> enrollments = new HashSet<>(enrollmentRepo.findEnrollmentKeys(studentIds, enrolledCourseIds));
+                for (ImportedFeedback feedback : resolved) {
+                    if (enrollments.contains(new EnrollmentKey(feedback.studentId(), feedback.courseId()))) {
+                        valid.add(feedback);
+                    } else {
+                        reject(feedback.row(), null, "Student " + feedback.studentId()
+                                + " is not enrolled in course " + feedback.courseId());
+                    }
+                }
+            }
+            if (valid.isEmpty()) {
+                return;
+            }
+
+            if (!dryRun) {
+                writer.insert(valid);
+                valid.forEach(feedback -> snapshots.add(feedback.toSnapshot()));
+            }
+            imported += valid.size();
+            log.debug("event=FEEDBACK_IMPORT_CHUNK imported={} total={}", valid.size(), imported);
+        }
+
+        private void reject(int row, FeedbackImportColumn column, String message) {
+            rejected++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new ImportRowError(row, column == null ? null : column.header(), message));
+            }
+        }
+
+        private String value(List<String> cells, FeedbackImportColumn column) {
+            Integer index = columns.get(column);
+            if (index == null || index >= cells.size()) {
+                return null;
+            }
+            String value = cells.get(index).trim();
+            return value.isEmpty() ? null : value;
+        }
+
+        // whole numbers only; spreadsheets may hand out 4 as "4.0"
+        private Integer integer(List<String> cells, FeedbackImportColumn column) {
+            String value = value(cells, column);
+            if (value == null) {
+                return null;
+            }
+            try {
+                return new BigDecimal(value).intValueExact();
+            } catch (NumberFormatException | ArithmeticException e) {
+                throw new InvalidCell(column, column.header() + " must be a whole number, got " + value);
+            }
+        }
+
+        private int rating(List<String> cells, FeedbackImportColumn column) {
+            Integer rating = integer(cells, column);
+            if (rating == null || rating < 1 || rating > 5) {
+                throw new InvalidCell(column, column.header() + " must be between 1 and 5");
+            }
+            return rating;
+        }
+
+        private String comment(List<String> cells, FeedbackImportColumn column) {
+            String comment = value(cells, column);
+            if (comment != null && comment.length() > MAX_COMMENT_LENGTH) {
+                throw new InvalidCell(column, column.header() + " is longer than " + MAX_COMMENT_LENGTH + " characters");
+            }
+            return comment;
+        }
+
+        private boolean parseBoolean(String value) {
+            return switch (value.toLowerCase(Locale.ROOT)) {
+                case "true", "yes", "y", "1" -> true;
+                case "false", "no", "n", "0" -> false;
+                default -> throw new InvalidCell(ANONYMOUS, "anonymous must be true or false, got " + value);
+            };
+        }
+
+        private LocalDate parseDate(String value) {
+            LocalDate date;
+            try {
+                date = LocalDate.parse(value);
+            } catch (DateTimeParseException e) {
+                throw new InvalidCell(SUBMITTED_AT, "submitted_at must be a yyyy-MM-dd date, got " + value);
+            }
+            if (date.isAfter(today)) {
+                throw new InvalidCell(SUBMITTED_AT, "submitted_at " + value + " is in the future");
+            }
+            return date;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.feedbacks.FeedbackSystem.service.imports;
+
+import com.feedbacks.FeedbackSystem.model.IdGenerators;
+import com.feedbacks.FeedbackSystem.service.id.IdBlockAllocator;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+
+// Inserts one chunk of imported feedbacks as a single JDBC batch, ids taken as one IdBlockAllocator block.
+// Unlike FeedbackBatchWriter it leaves the aggregates alone: the import folds them once for the whole file.
+@Component
+public class FeedbackImportWriter {
+
+    private static final String INSERT_FEEDBACK = """
+            INSERT INTO feedback (feedback_id, anonymous, course_comment, course_rating, instructor_comment,
+                                  instructor_rating, submitted_at, course_id, student_id, instructor_id, is_deleted)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, false)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final IdBlockAllocator idAllocator;
+
+    public FeedbackImportWriter(JdbcTemplate jdbcTemplate, IdBlockAllocator idAllocator) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.idAllocator = idAllocator;
+    }
+
+    @Transactional
+    public void insert(List<ImportedFeedback> feedbacks) {
+        int firstId = idAllocator.allocate(IdGenerators.FEEDBACK, feedbacks.size());
+        jdbcTemplate.batchUpdate(INSERT_FEEDBACK, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ImportedFeedback feedback = feedbacks.get(i);
+                ps.setInt(1, firstId + i);
+                ps.setBoolean(2, feedback.anonymous());
+                ps.setString(3, feedback.courseComment());
+                ps.setInt(4, feedback.courseRating());
+                ps.setString(5, feedback.instructorComment());
+                ps.setInt(6, feedback.instructorRating());
+                ps.setDate(7, Date.valueOf(feedback.submittedAt()));
+                ps.setInt(8, feedback.courseId());
+                ps.setInt(9, feedback.studentId());
+                ps.setInt(10, feedback.instructorId());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return feedbacks.size();
+            }
+        });
+    }
+}
@@ -0,0 +1,28 @@
+package com.feedbacks.FeedbackSystem.service.imports;
+
+import com.feedbacks.FeedbackSystem.Exception.BadRequestException;
+
+import java.util.Locale;
+
+public enum ImportFormat {
+    CSV("csv"),
+    XLSX("xlsx");
+
+    private final String extension;
+
+    ImportFormat(String extension) {
+        this.extension = extension;
+    }
+
+    public static ImportFormat fromFileName(String fileName) {
+        if (fileName != null) {
+            String lower = fileName.toLowerCase(Locale.ROOT);
+            for (ImportFormat format : values()) {
+                if (lower.endsWith("." + format.extension)) {
+                    return format;
+                }
+            }
+        }
+        throw new BadRequestException("Upload a .csv or .xlsx file.");
+    }
+}
@@ -0,0 +1,13 @@
+package com.feedbacks.FeedbackSystem.service.imports;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+// Streams the rows of an uploaded file in one format to a handler, header row included.
+// Blank rows are skipped; readers never close the stream they are given.
+public interface ImportReader {
+
+    ImportFormat format();
+
+    void read(InputStream in, ImportRowHandler handler) throws IOException;
+}
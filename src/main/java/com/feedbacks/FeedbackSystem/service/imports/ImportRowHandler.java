@@ -0,0 +1,10 @@
+package com.feedbacks.FeedbackSystem.service.imports;
+
+import java.util.List;
+
+// Receives the rows of an uploaded file one at a time; rowNumber is 1-based and counts the header row
+@FunctionalInterface
+public interface ImportRowHandler {
+
+    void onRow(int rowNumber, List<String> cells);
+}
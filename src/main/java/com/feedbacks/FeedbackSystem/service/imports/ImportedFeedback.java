@@ -0,0 +1,24 @@
+package com.feedbacks.FeedbackSystem.service.imports;
+
+import com.feedbacks.FeedbackSystem.service.aggregate.RatingAggregateService.RatingSnapshot;
+
+import java.time.LocalDate;
+
+// A validated import row with every reference resolved to an id, ready for FeedbackImportWriter
+public record ImportedFeedback(
+        int row,
+        int studentId,
+        int courseId,
+        int instructorId,
+        int courseRating,
+        int instructorRating,
+        String courseComment,
+        String instructorComment,
+        boolean anonymous,
+        LocalDate submittedAt
+) {
+
+    public RatingSnapshot toSnapshot() {
+        return new RatingSnapshot(submittedAt, courseId, instructorId, courseRating, instructorRating);
+    }
+}
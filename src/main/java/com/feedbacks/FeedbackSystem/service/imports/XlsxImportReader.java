@@ -0,0 +1,110 @@
+package com.feedbacks.FeedbackSystem.service.imports;
+
+import com.feedbacks.FeedbackSystem.Exception.BadRequestException;
+import org.apache.poi.UnsupportedFileFormatException;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.springframework.stereotype.Component;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+// First sheet of an .xlsx read with POI's SAX event API, so rows stream past without building the
+// workbook in memory. The upload is spooled to a temp file first: OPCPackage reads zip entries lazily
+// from a file but would buffer the whole package from a stream. Date cells come out as yyyy-MM-dd.
+@Component
+public class XlsxImportReader implements ImportReader {
+
+    @Override
+    public ImportFormat format() {
+        return ImportFormat.XLSX;
+    }
+
+    @Override
+    public void read(InputStream in, ImportRowHandler handler) throws IOException {
+        Path file = Files.createTempFile("feedback-import-", ".xlsx");
+        try {
+            Files.copy(in, file, StandardCopyOption.REPLACE_EXISTING);
+            try (OPCPackage pkg = OPCPackage.open(file.toFile(), PackageAccess.READ)) {
+                XSSFReader reader = new XSSFReader(pkg);
+                Iterator<InputStream> sheets = reader.getSheetsData();
+                if (!sheets.hasNext()) {
+                    throw new BadRequestException("The workbook has no sheet.");
+                }
+                try (InputStream sheet = sheets.next()) {
+                    XMLReader parser = XMLHelper.newXMLReader();
+                    parser.setContentHandler(new XSSFSheetXMLHandler(reader.getStylesTable(), null,
+                            new ReadOnlySharedStringsTable(pkg), new RowCollector(handler), new IsoDateFormatter(), false));
+                    parser.parse(new InputSource(sheet));
+                }
+            } catch (OpenXML4JException | SAXException | ParserConfigurationException | UnsupportedFileFormatException e) {
+                throw new BadRequestException("Not a readable .xlsx file: " + e.getMessage());
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static final class RowCollector implements XSSFSheetXMLHandler.SheetContentsHandler {
+
+        private final ImportRowHandler handler;
+        private final List<String> cells = new ArrayList<>();
+
+        private RowCollector(ImportRowHandler handler) {
+            this.handler = handler;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            cells.clear();
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            if (cells.stream().anyMatch(cell -> !cell.isBlank())) {
+                handler.onRow(rowNum + 1, List.copyOf(cells));
+            }
+        }
+
+        // empty cells are missing from the sheet XML, so pad up to the cell's column
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            int column = cellReference == null ? cells.size() : new CellReference(cellReference).getCol();
+            while (cells.size() < column) {
+                cells.add("");
+            }
+            cells.add(formattedValue == null ? "" : formattedValue);
+        }
+    }
+
+    // keeps dates independent of the cell's display format and the server locale
+    private static final class IsoDateFormatter extends DataFormatter {
+
+        @Override
+        public String formatRawCellContents(double value, int formatIndex, String formatString, boolean use1904Windowing) {
+            if (DateUtil.isADateFormat(formatIndex, formatString) && DateUtil.isValidExcelDate(value)) {
+                return DateUtil.getLocalDateTime(value, use1904Windowing).toLocalDate().toString();
+            }
+            return super.formatRawCellContents(value, formatIndex, formatString, use1904Windowing);
+        }
+    }
+}
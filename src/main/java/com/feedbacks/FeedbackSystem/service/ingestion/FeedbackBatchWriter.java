@@ -0,0 +1,77 @@
+package com.feedbacks.FeedbackSystem.service.ingestion;
+
+import com.feedbacks.FeedbackSystem.model.Feedback;
+import com.feedbacks.FeedbackSystem.model.IdGenerators;
+import com.feedbacks.FeedbackSystem.service.aggregate.RatingAggregateService;
+import com.feedbacks.FeedbackSystem.service.id.IdBlockAllocator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+// Writes a drained batch of feedbacks with one JDBC batch insert (sent as a multi-row INSERT when
+// rewriteBatchedStatements is on) and folds the ratings into the course/instructor aggregates once per id.
+// Ids come from one IdBlockAllocator block, so the driver never has to return generated keys.
+@Slf4j
+@Component
+public class FeedbackBatchWriter {
+
+    private static final String INSERT_FEEDBACK = """
+            INSERT INTO feedback (feedback_id, anonymous, course_comment, course_rating, instructor_comment,
+                                  instructor_rating, submitted_at, course_id, student_id, instructor_id, is_deleted)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, false)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RatingAggregateService ratingAggregates;
+    private final IdBlockAllocator idAllocator;
+
+    public FeedbackBatchWriter(JdbcTemplate jdbcTemplate, RatingAggregateService ratingAggregates, IdBlockAllocator idAllocator) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.ratingAggregates = ratingAggregates;
+        this.idAllocator = idAllocator;
+    }
+
+    // Returns the assigned feedback ids in the same order as the input
+    @Transactional
+    public List<Integer> write(List<Feedback> feedbacks) {
+        int firstId = idAllocator.allocate(IdGenerators.FEEDBACK, feedbacks.size());
+        List<Integer> ids = new ArrayList<>(feedbacks.size());
+        for (Feedback feedback : feedbacks) {
+            feedback.setFeedbackId(firstId + ids.size());
+            ids.add(feedback.getFeedbackId());
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_FEEDBACK, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Feedback feedback = feedbacks.get(i);
+                ps.setInt(1, feedback.getFeedbackId());
+                ps.setBoolean(2, feedback.isAnonymous());
+                ps.setString(3, feedback.getCourseComment());
+                ps.setInt(4, feedback.getCourseRating());
+                ps.setString(5, feedback.getInstructorComment());
+                ps.setInt(6, feedback.getInstructorRating());
+                ps.setDate(7, Date.valueOf(feedback.getSubmittedAt()));
+                ps.setInt(8, feedback.getCourse().getCourseId());
+                ps.setInt(9, feedback.getStudent().getUserId());
+                ps.setInt(10, feedback.getInstructor().getInstructorId());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return feedbacks.size();
+            }
+        });
+
+        ratingAggregates.onFeedbacksAdded(feedbacks);
+        return ids;
+    }
+}
@@ -0,0 +1,172 @@
+package com.feedbacks.FeedbackSystem.service.ingestion;
+
+import com.feedbacks.FeedbackSystem.DTO.EntityDTO.requestDTOs.FeedbackRequestDTO;
+import com.feedbacks.FeedbackSystem.DTO.EntityDTO.responseDTOs.FeedbackResponseDTO;
+import com.feedbacks.FeedbackSystem.DTO.EntityDTO.responseDTOs.FeedbackSubmissionStatusDTO;
+import com.feedbacks.FeedbackSystem.DTO.EntityDTO.responseDTOs.FeedbackSubmissionStatusDTO.Status;
+import com.feedbacks.FeedbackSystem.Exception.ResourceNotFoundException;
+import com.feedbacks.FeedbackSystem.configure.FeedbackMetrics;
+import com.feedbacks.FeedbackSystem.mapper.FeedbackMapper;
+import com.feedbacks.FeedbackSystem.model.Feedback;
+import com.feedbacks.FeedbackSystem.service.serviceImple.FeedbackServiceImpl;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Opt-in write-behind path for POST /api/v1/feedbacks (feedback.ingestion.async=true).
+// Submissions are validated on the request thread, parked in a bounded queue and
+// written in batches by drain(). Callers poll getStatus(trackingId) for the stored feedback
+// from any node (statuses are shared through SubmissionStatusStore).
+@Slf4j
+@Service
+public class FeedbackIngestionService {
+
+    private final FeedbackServiceImpl feedbackService;
+    private final FeedbackBatchWriter batchWriter;
+    private final FeedbackMapper feedbackMapper;
+    private final FeedbackMetrics feedbackMetrics;
+    private final SubmissionStatusStore statuses;
+
+    private final boolean async;
+    private final int queueCapacity;
+    private final int batchSize;
+
+    private final BlockingQueue<PendingFeedback> queue;
+    private final ReentrantLock drainLock = new ReentrantLock();
+
+    public FeedbackIngestionService(FeedbackServiceImpl feedbackService,
+                                    FeedbackBatchWriter batchWriter,
+                                    FeedbackMapper feedbackMapper,
+                                    FeedbackMetrics feedbackMetrics,
+                                    SubmissionStatusStore statuses,
+                                    @Value("${feedback.ingestion.async:false}") boolean async,
+                                    @Value("${feedback.ingestion.queue-capacity:10000}") int queueCapacity,
+                                    @Value("${feedback.ingestion.batch-size:500}") int batchSize) {
+        this.feedbackService = feedbackService;
+        this.batchWriter = batchWriter;
+        this.feedbackMapper = feedbackMapper;
+        this.feedbackMetrics = feedbackMetrics;
+        this.statuses = statuses;
+        this.async = async;
+        this.queueCapacity = queueCapacity;
+        this.batchSize = batchSize;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        feedbackMetrics.registerIngestionQueue(queue);
+    }
+
+    public boolean isEnabled() {
+        return async;
+    }
+
+    public FeedbackSubmissionStatusDTO enqueue(FeedbackRequestDTO requestDTO) {
+        // all validation (rate limit, role, enrollment) still happens before we accept
+        Feedback feedback = feedbackService.prepareFeedback(requestDTO);
+        // built now while the request still has an open session for the lazy course -> instructor hop
+        FeedbackResponseDTO response = feedbackMapper.toResponse(feedback);
+
+        String trackingId = UUID.randomUUID().toString();
+        if (!queue.offer(new PendingFeedback(trackingId, feedback, response))) {
+            // queue is full: write the already validated entity synchronously so the caller pays the
+            // latency, not the data (no second round of lookups or rate-limit charge)
+            log.warn("event=FEEDBACK_QUEUE_FULL capacity={}", queueCapacity);
+            int feedbackId = batchWriter.write(List.of(feedback)).get(0);
+            feedbackMetrics.incrementFeedbackSubmittedCount();
+            response.setFeedbackId(feedbackId);
+            return track(new FeedbackSubmissionStatusDTO(trackingId, Status.STORED, response, null));
+        }
+
+        log.info(
+                "event=FEEDBACK_QUEUED trackingId={} studentId={} courseId={}",
+                trackingId, requestDTO.getStudentId(), requestDTO.getCourseId()
+        );
+        return track(new FeedbackSubmissionStatusDTO(trackingId, Status.QUEUED, response, null));
+    }
+
+    public FeedbackSubmissionStatusDTO getStatus(String trackingId) {
+        FeedbackSubmissionStatusDTO status = statuses.get(trackingId);
+        if (status == null) {
+            throw new ResourceNotFoundException("No feedback submission found for tracking id " + trackingId);
+        }
+        return status;
+    }
+
+    @Scheduled(fixedDelayString = "${feedback.ingestion.flush-interval-ms:200}")
+    public void drain() {
+        if (!drainLock.tryLock()) {
+            return;
+        }
+        try {
+            List<PendingFeedback> batch = new ArrayList<>(batchSize);
+            while (queue.drainTo(batch, batchSize) > 0) {
+                writeBatch(batch);
+                batch.clear();
+            }
+        } finally {
+            drainLock.unlock();
+        }
+    }
+
+    private void writeBatch(List<PendingFeedback> batch) {
+        try {
+            List<Integer> ids = batchWriter.write(batch.stream().map(PendingFeedback::feedback).toList());
+            for (int i = 0; i < batch.size(); i++) {
+                markStored(batch.get(i), ids.get(i));
+            }
+            feedbackMetrics.incrementFeedbackSubmittedCount(batch.size());
+            log.info("event=FEEDBACK_BATCH_WRITTEN size={}", batch.size());
+        } catch (Exception e) {
+            // one bad row must not sink the whole batch: retry one by one to isolate it
+            log.warn("event=FEEDBACK_BATCH_FAILED size={} reason={}", batch.size(), e.getMessage());
+            for (PendingFeedback pending : batch) {
+                writeSingle(pending);
+            }
+        }
+    }
+
+    private void writeSingle(PendingFeedback pending) {
+        try {
+            List<Integer> ids = batchWriter.write(List.of(pending.feedback()));
+            markStored(pending, ids.get(0));
+            feedbackMetrics.incrementFeedbackSubmittedCount();
+        } catch (Exception e) {
+            log.error("event=FEEDBACK_WRITE_FAILED trackingId={} reason={}", pending.trackingId(), e.getMessage());
+            feedbackMetrics.incrementIngestionFailedCount();
+            track(new FeedbackSubmissionStatusDTO(pending.trackingId(), Status.FAILED, null, e.getMessage()));
+        }
+    }
+
+    private void markStored(PendingFeedback pending, int feedbackId) {
+        FeedbackResponseDTO response = pending.response();
+        response.setFeedbackId(feedbackId);
+        track(new FeedbackSubmissionStatusDTO(pending.trackingId(), Status.STORED, response, null));
+    }
+
+    private FeedbackSubmissionStatusDTO track(FeedbackSubmissionStatusDTO status) {
+        return statuses.put(status);
+    }
+
+    @Scheduled(fixedDelayString = "${feedback.ingestion.status-cleanup-interval-ms:60000}")
+    public void removeExpiredStatuses() {
+        statuses.removeExpired();
+    }
+
+    // flush whatever is still queued before the context goes down
+    @PreDestroy
+    public void flushOnShutdown() {
+        if (!queue.isEmpty()) {
+            log.info("event=FEEDBACK_QUEUE_FLUSH_ON_SHUTDOWN pending={}", queue.size());
+            drain();
+        }
+    }
+
+    private record PendingFeedback(String trackingId, Feedback feedback, FeedbackResponseDTO response) {}
+}
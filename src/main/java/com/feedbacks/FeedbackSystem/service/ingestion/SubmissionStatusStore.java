@@ -0,0 +1,74 @@
+package com.feedbacks.FeedbackSystem.service.ingestion;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.feedbacks.FeedbackSystem.DTO.EntityDTO.responseDTOs.FeedbackSubmissionStatusDTO;
+import com.feedbacks.FeedbackSystem.DTO.EntityDTO.responseDTOs.FeedbackSubmissionStatusDTO.Status;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Tracking statuses of write-behind submissions. Every change is mirrored to Redis
+// ("feedback-submission:<trackingId>", JSON, expires after the retention) so GET /submissions/{trackingId}
+// answers on any node and after a restart. The local map is the fast path on the accepting node and the
+// fallback while Redis is down. A submission still QUEUED on a node that crashed stays QUEUED until it expires.
+@Slf4j
+@Component
+public class SubmissionStatusStore {
+
+    private static final String PREFIX = "feedback-submission:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration retention;
+    private final Map<String, TrackedStatus> local = new ConcurrentHashMap<>();
+
+    public SubmissionStatusStore(StringRedisTemplate redisTemplate,
+                                 ObjectMapper objectMapper,
+                                 @Value("${feedback.ingestion.status-retention-minutes:30}") long retentionMinutes) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.retention = Duration.ofMinutes(retentionMinutes);
+    }
+
+    public FeedbackSubmissionStatusDTO put(FeedbackSubmissionStatusDTO status) {
+        local.put(status.getTrackingId(), new TrackedStatus(status, Instant.now()));
+        try {
+            redisTemplate.opsForValue().set(PREFIX + status.getTrackingId(), objectMapper.writeValueAsString(status), retention);
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("event=SUBMISSION_STATUS_MIRROR_FAILED trackingId={} reason={}", status.getTrackingId(), e.getMessage());
+        }
+        return status;
+    }
+
+    // null when no node knows the tracking id (unknown or expired)
+    public FeedbackSubmissionStatusDTO get(String trackingId) {
+        TrackedStatus tracked = local.get(trackingId);
+        if (tracked != null) {
+            return tracked.status();
+        }
+        try {
+            String json = redisTemplate.opsForValue().get(PREFIX + trackingId);
+            return json == null ? null : objectMapper.readValue(json, FeedbackSubmissionStatusDTO.class);
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("event=SUBMISSION_STATUS_LOOKUP_FAILED trackingId={} reason={}", trackingId, e.getMessage());
+            return null;
+        }
+    }
+
+    // Redis expires its copies itself; queued entries stay until they are written
+    public void removeExpired() {
+        Instant cutoff = Instant.now().minus(retention);
+        local.entrySet().removeIf(entry ->
+                entry.getValue().status().getStatus() != Status.QUEUED
+                        && entry.getValue().updatedAt().isBefore(cutoff));
+    }
+
+    private record TrackedStatus(FeedbackSubmissionStatusDTO status, Instant updatedAt) {}
+}
@@ -17,12 +17,6 @@ public interface CourseService {
 
     CourseResponseDTO addCourse(CourseRequestDTO requestDTO);
 
-    @Transactional
-    void updateCourseStateOnFeedbackAdd(Course course, int rating, boolean isEditing);
-
-    @Transactional
-    void updateCourseStateOnFeedbackRemove(Course course, int rating);
-
     CourseResponseDTO updateCourseById(int courseId, CourseRequestDTO requestDTO);
 
     // @SqlDelete Soft Delete the record instead of physically deleting it
@@ -1,13 +1,17 @@
 package com.feedbacks.FeedbackSystem.service.interfaces;
 
+import com.feedbacks.FeedbackSystem.DTO.CursorPage;
+import com.feedbacks.FeedbackSystem.DTO.FeedbackSearchHit;
 import com.feedbacks.FeedbackSystem.DTO.EntityDTO.requestDTOs.FeedbackRequestDTO;
 import com.feedbacks.FeedbackSystem.DTO.EntityDTO.responseDTOs.FeedbackResponseDTO;
 import com.feedbacks.FeedbackSystem.DTO.analytics.CourseFeedbackSummary;
 import com.feedbacks.FeedbackSystem.DTO.analytics.FeedbackTrendDTO;
 import com.feedbacks.FeedbackSystem.DTO.analytics.RatingDistributionDTO;
+import com.feedbacks.FeedbackSystem.DTO.analytics.TrendQuery;
 import jakarta.transaction.Transactional;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 
 import java.time.LocalDate;
@@ -16,7 +20,7 @@ import java.util.List;
 public interface FeedbackService {
     FeedbackResponseDTO getFeedbackResponseById(Integer feedbackId);
 
-    List<FeedbackResponseDTO> getFeedbacks();
+    CursorPage<FeedbackResponseDTO> getFeedbacks(String cursor, int size);
 
     FeedbackResponseDTO submitFeedback(@Valid FeedbackRequestDTO feedbackRequestDTO);
 
@@ -36,13 +40,14 @@ public interface FeedbackService {
     //Sorting Method
     Sort sortingFunction(String sort);
 
-    Page<FeedbackResponseDTO> getSortedFeedbackByCourseId(int courseId,
-                                                          int page,
-                                                          int size,
-                                                          String sort);
+    Slice<FeedbackResponseDTO> getSortedFeedbackByCourseId(int courseId,
+                                                           int page,
+                                                           int size,
+                                                           String sort);
 
-    List<FeedbackResponseDTO> getFilteredFeedback(int courseId, int minRating, int maxRating,
-                                                  LocalDate fromDate, LocalDate toDate, boolean anonymous);
+    CursorPage<FeedbackResponseDTO> getFilteredFeedback(Integer courseId, Integer minRating, Integer maxRating,
+                                                        LocalDate fromDate, LocalDate toDate, Boolean anonymous,
+                                                        String cursor, int size);
 
     Page<FeedbackResponseDTO> getFeedbackByUserId(int userId, int pageNo,
                                                   int size, String sortString);
@@ -57,13 +62,23 @@ public interface FeedbackService {
 
     List<FeedbackResponseDTO> getRecentFeedbacksByCourseId(int courseId);
 
-    List<FeedbackResponseDTO> searchFeedback(Integer courseId, Integer studentId,
-                                             Integer minRating, String keyword,
-                                             String studentName, Boolean anonymous,
-                                             LocalDate fromDate, LocalDate toDate
+    CursorPage<FeedbackResponseDTO> searchFeedback(Integer courseId, Integer studentId,
+                                                   Integer minRating, String keyword,
+                                                   String studentName, Boolean anonymous,
+                                                   LocalDate fromDate, LocalDate toDate,
+                                                   String cursor, int size
     );
 
-    List<FeedbackTrendDTO> getFeedbackTrends(String groupBy);
+    CursorPage<FeedbackResponseDTO> scrollFeedbacks(Integer courseId, Integer studentId,
+                                                    Integer minRating, Integer maxRating,
+                                                    String keyword, String studentName, Boolean anonymous,
+                                                    LocalDate fromDate, LocalDate toDate,
+                                                    String cursor, int size
+    );
+
+    Slice<FeedbackSearchHit> searchFeedbackText(String text, int page, int size);
+
+    List<FeedbackTrendDTO> getFeedbackTrends(TrendQuery query);
 
     List<RatingDistributionDTO> getFeedbackRatings();
 }
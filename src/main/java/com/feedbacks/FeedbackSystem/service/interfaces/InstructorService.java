@@ -18,12 +18,6 @@ public interface InstructorService {
 
     InstructorResponseDTO getInstructorResponseById(int instructorId);
 
-    @Transactional
-    void updateInstructorStateOnFeedbackAdd(Instructor instructor, int rating, boolean isEditing);
-
-    @Transactional
-    void updateInstructorStateOnFeedbackRemove(Instructor instructor, int rating);
-
     InstructorResponseDTO addInstructor(InstructorRequestDTO requestDTO);
 
     InstructorResponseDTO updateInstructorById(int instructorId, InstructorRequestDTO requestDTO);
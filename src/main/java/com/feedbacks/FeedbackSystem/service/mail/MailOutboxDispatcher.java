@@ -0,0 +1,228 @@
+package com.feedbacks.FeedbackSystem.service.mail;
+
+import com.feedbacks.FeedbackSystem.configure.FeedbackMetrics;
+import com.feedbacks.FeedbackSystem.model.MailOutboxMessage;
+import com.feedbacks.FeedbackSystem.repository.MailOutboxRepository;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Delivers the mail_outbox on the mailExecutor pool (see AsyncConfig); the scheduler thread only
+// triggers a cycle, so a slow SMTP server never holds up other @Scheduled jobs. Each cycle claims at most batchSize due messages and hands them to JavaMailSender in one call,
+// so the whole batch goes over a single SMTP connection; batchSize per pollInterval is the send rate.
+// Failed messages are retried with exponential backoff and given up after maxAttempts.
+@Slf4j
+@Component
+public class MailOutboxDispatcher {
+
+    private final MailOutboxRepository outboxRepo;
+    private final JavaMailSender mailSender;
+    private final FeedbackMetrics metrics;
+    private final boolean enabled;
+    private final String from;
+    private final int batchSize;
+    private final Duration pollInterval;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final TaskExecutor mailExecutor;
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public MailOutboxDispatcher(MailOutboxRepository outboxRepo,
+                                JavaMailSender mailSender,
+                                FeedbackMetrics metrics,
+                                @Qualifier("mailExecutor") TaskExecutor mailExecutor,
+                                @Value("${feedback.mail.dispatcher.enabled:true}") boolean enabled,
+                                @Value("${feedback.mail.from:${spring.mail.username:}}") String from,
+                                @Value("${feedback.mail.batch-size:20}") int batchSize,
+                                @Value("${feedback.mail.poll-interval:PT1S}") Duration pollInterval,
+                                @Value("${feedback.mail.retry.max-attempts:5}") int maxAttempts,
+                                @Value("${feedback.mail.retry.initial-backoff:PT30S}") Duration initialBackoff,
+                                @Value("${feedback.mail.retry.max-backoff:PT1H}") Duration maxBackoff) {
+        this.outboxRepo = outboxRepo;
+        this.mailSender = mailSender;
+        this.metrics = metrics;
+        this.mailExecutor = mailExecutor;
+        this.enabled = enabled;
+        this.from = from;
+        this.batchSize = batchSize;
+        this.pollInterval = pollInterval;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        metrics.registerMailOutboxDepth(pending);
+    }
+
+    // at most one cycle in flight; a tick that finds the previous cycle still sending is skipped
+    @Scheduled(fixedDelayString = "${feedback.mail.poll-interval:PT1S}")
+    public void poll() {
+        if (!enabled || !running.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            mailExecutor.execute(() -> {
+                try {
+                    cycle();
+                } finally {
+                    running.set(false);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            running.set(false);
+            log.warn("event=MAIL_DISPATCH_REJECTED");
+        }
+    }
+
+    private void cycle() {
+        try {
+            // a claim older than 10 poll intervals belongs to a dispatcher that died mid-send
+            outboxRepo.releaseStale(Instant.now().minus(pollInterval.multipliedBy(10).plusMinutes(5)));
+            dispatchDue();
+            pending.set(outboxRepo.countByStatus(MailOutboxMessage.Status.PENDING));
+        } catch (Exception e) {
+            log.error("event=MAIL_DISPATCH_FAILED", e);
+        }
+    }
+
+    // Sends one batch of due messages; returns how many were delivered
+    public int dispatchDue() {
+        Instant now = Instant.now();
+        List<MailOutboxMessage> claimed = new ArrayList<>();
+        for (MailOutboxMessage message : outboxRepo.findDue(now, PageRequest.of(0, batchSize))) {
+            if (outboxRepo.claim(message.getId(), now) == 1) {
+                message.setStatus(MailOutboxMessage.Status.SENDING);
+                message.setClaimedAt(now);
+                claimed.add(message);
+            }
+        }
+        if (claimed.isEmpty()) {
+            return 0;
+        }
+
+        Map<MimeMessage, MailOutboxMessage> batch = new IdentityHashMap<>();
+        for (MailOutboxMessage message : claimed) {
+            try {
+                batch.put(toMimeMessage(message), message);
+            } catch (MessagingException | IllegalArgumentException e) {
+                // a malformed address will never succeed, no point retrying
+                deadLetter(message, e);
+            }
+        }
+
+        Map<Object, Exception> failures = Map.of();
+        long start = System.nanoTime();
+        try {
+            if (!batch.isEmpty()) {
+                mailSender.send(batch.keySet().toArray(new MimeMessage[0]));
+            }
+        } catch (MailSendException e) {
+            failures = e.getFailedMessages();
+            if (failures.isEmpty()) {
+                failures = allFailed(batch, e);
+            }
+        } catch (MailException e) {
+            failures = allFailed(batch, e);
+        }
+        Duration took = Duration.ofNanos(System.nanoTime() - start);
+
+        int sent = 0;
+        Instant sentAt = Instant.now();
+        for (Map.Entry<MimeMessage, MailOutboxMessage> entry : batch.entrySet()) {
+            MailOutboxMessage message = entry.getValue();
+            Exception failure = failures.get(entry.getKey());
+            if (failure == null) {
+                message.setStatus(MailOutboxMessage.Status.SENT);
+                message.setSentAt(sentAt);
+                message.setLastError(null);
+                metrics.recordMailDeliveryLatency(Duration.between(message.getCreatedAt(), sentAt));
+                sent++;
+            } else {
+                retryLater(message, failure);
+            }
+        }
+        outboxRepo.saveAll(claimed);
+
+        metrics.recordMailBatch(took, sent, claimed.size() - sent);
+        log.info("event=MAIL_BATCH_SENT claimed={} sent={} failed={} tookMs={}",
+                claimed.size(), sent, claimed.size() - sent, took.toMillis());
+        return sent;
+    }
+
+    private MimeMessage toMimeMessage(MailOutboxMessage message) throws MessagingException {
+        MimeMessage mimeMessage = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, "UTF-8");
+        if (from != null && !from.isBlank()) {
+            helper.setFrom(from);
+        }
+        String[] recipients = message.getRecipients().split(",");
+        if (message.isBcc()) {
+            helper.setBcc(recipients);
+        } else {
+            helper.setTo(recipients);
+        }
+        helper.setSubject(message.getSubject());
+        helper.setText(message.getHtmlBody(), true);
+        return mimeMessage;
+    }
+
+    private void retryLater(MailOutboxMessage message, Exception failure) {
+        message.setAttempts(message.getAttempts() + 1);
+        message.setLastError(truncate(failure.getMessage()));
+        if (message.getAttempts() >= maxAttempts) {
+            message.setStatus(MailOutboxMessage.Status.FAILED);
+            metrics.incrementMailDeadLetterCount();
+            log.warn("event=MAIL_GAVE_UP id={} attempts={} error={}", message.getId(), message.getAttempts(), failure.getMessage());
+            return;
+        }
+        message.setStatus(MailOutboxMessage.Status.PENDING);
+        message.setNextAttemptAt(Instant.now().plus(backoff(message.getAttempts())));
+    }
+
+    private void deadLetter(MailOutboxMessage message, Exception failure) {
+        message.setAttempts(message.getAttempts() + 1);
+        message.setStatus(MailOutboxMessage.Status.FAILED);
+        message.setLastError(truncate(failure.getMessage()));
+        metrics.incrementMailDeadLetterCount();
+        log.warn("event=MAIL_REJECTED id={} error={}", message.getId(), failure.getMessage());
+    }
+
+    // initialBackoff * 2^(attempts-1), capped at maxBackoff
+    Duration backoff(int attempts) {
+        Duration delay = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    private static Map<Object, Exception> allFailed(Map<MimeMessage, MailOutboxMessage> batch, Exception e) {
+        Map<Object, Exception> failures = new IdentityHashMap<>();
+        batch.keySet().forEach(mimeMessage -> failures.put(mimeMessage, e));
+        return failures;
+    }
+
+    private static String truncate(String error) {
+        if (error == null) {
+            return null;
+        }
+        return error.length() > 500 ? error.substring(0, 500) : error;
+    }
+}
@@ -1,64 +1,54 @@
 package com.feedbacks.FeedbackSystem.service.other_services;
 
-import com.feedbacks.FeedbackSystem.Exception.MailSendingFailedException;
-import jakarta.mail.MessagingException;
-import jakarta.mail.internet.MimeMessage;
-import org.springframework.core.io.FileSystemResource;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
-import org.springframework.scheduling.annotation.Async;
+import com.feedbacks.FeedbackSystem.model.MailOutboxMessage;
+import com.feedbacks.FeedbackSystem.repository.MailOutboxRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
 
+// Mail is never sent on the caller's thread: messages are written to the mail_outbox table
+// and delivered by MailOutboxDispatcher. Bulk mail is split into Bcc batches, one outbox row each.
+@Slf4j
 @Service
 public class EmailService {
 
-    private final JavaMailSender mailSender;
+    private final MailOutboxRepository outboxRepo;
+    private final int bccBatchSize;
 
-    public EmailService(JavaMailSender mailSender) {
-        this.mailSender = mailSender;
+    public EmailService(MailOutboxRepository outboxRepo,
+                        @Value("${feedback.mail.bcc-batch-size:50}") int bccBatchSize) {
+        this.outboxRepo = outboxRepo;
+        this.bccBatchSize = bccBatchSize;
     }
 
-    @Async
+    @Transactional
     public void simpleMailSender(String to, String subject, String htmlBody){
-        try {
-            Thread.sleep(5000);
-            MimeMessage message = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, true); // to do multipart mail (img, aud, vid)
-
-            // getting file which is to be attached, using url path
-//            String url = System.getProperty("user.dir") + "\\sukuna.jpeg";
-//            FileSystemResource file = new FileSystemResource(new File(url));
-
-            helper.setTo(to);
-            helper.setSubject(subject);
-            helper.setText(htmlBody, true);  // the true tells that "this is HTML file or code". if not it takes the plain string as normal
-//            helper.addAttachment(file.getFilename(), file); // file(img, aud, vid) is attached in the mail
-            mailSender.send(message);
-
-        } catch (MessagingException | InterruptedException e) {
-            throw new MailSendingFailedException(e.getMessage());
-        }
+        outboxRepo.save(message(to, false, subject, htmlBody));
     }
 
     // Use thymeleaf template dependency for beautiful emails
 
-
-    @Async
-    public void newCourseAddedEmail(String receivers, String subject, String body) {
-        try {
-            Thread.sleep(5000);
-            MimeMessage mimeMessage = mailSender.createMimeMessage();
-            MimeMessageHelper messageHelper = new MimeMessageHelper(mimeMessage);
-
-            messageHelper.setSubject(subject);
-            messageHelper.setText(body, true);
-            messageHelper.setBcc(receivers);
-
-            mailSender.send(mimeMessage);
-        } catch (MessagingException | InterruptedException e){
-            throw new MailSendingFailedException(e.getMessage());
+    @Transactional
+    public void newCourseAddedEmail(List<String> receivers, String subject, String body) {
+        List<MailOutboxMessage> batches = new ArrayList<>();
+        for (int from = 0; from < receivers.size(); from += bccBatchSize) {
+            List<String> batch = receivers.subList(from, Math.min(from + bccBatchSize, receivers.size()));
+            batches.add(message(String.join(",", batch), true, subject, body));
         }
+        outboxRepo.saveAll(batches);
+        log.info("event=BULK_MAIL_QUEUED recipients={} messages={}", receivers.size(), batches.size());
+    }
+
+    private static MailOutboxMessage message(String recipients, boolean bcc, String subject, String htmlBody) {
+        MailOutboxMessage message = new MailOutboxMessage();
+        message.setRecipients(recipients);
+        message.setBcc(bcc);
+        message.setSubject(subject);
+        message.setHtmlBody(htmlBody);
+        return message;
     }
 }
@@ -1,82 +1,49 @@
 package com.feedbacks.FeedbackSystem.service.other_services;
 
-import com.feedbacks.FeedbackSystem.DTO.EntityDTO.responseDTOs.UserResponseDTO;
 import com.feedbacks.FeedbackSystem.model.Course;
-import com.feedbacks.FeedbackSystem.model.User;
+import com.feedbacks.FeedbackSystem.service.export.CsvReportWriter;
+import com.feedbacks.FeedbackSystem.service.export.ExportProgress;
+import com.feedbacks.FeedbackSystem.service.export.StudentReportSource;
+import com.feedbacks.FeedbackSystem.service.export.XlsxReportWriter;
 import com.feedbacks.FeedbackSystem.service.serviceImple.CourseServiceImpl;
-import com.feedbacks.FeedbackSystem.service.serviceImple.UserServiceImpl;
+import lombok.extern.slf4j.Slf4j;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
-import org.springframework.core.io.ByteArrayResource;
-import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.io.ByteArrayOutputStream;
+import java.io.BufferedOutputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.lang.reflect.Field;
 import java.nio.file.Paths;
-import java.time.LocalDate;
 import java.util.List;
 
+@Slf4j
 @Service
 public class ExcelExportService {
 
-    private final UserServiceImpl userService;
     private final CourseServiceImpl courseService;
+    private final XlsxReportWriter xlsxWriter;
+    private final CsvReportWriter csvWriter;
+    private final StudentReportSource studentSource;
 
-    public ExcelExportService(UserServiceImpl userService, CourseServiceImpl courseService) {
-        this.userService = userService;
+    public ExcelExportService(CourseServiceImpl courseService, XlsxReportWriter xlsxWriter, CsvReportWriter csvWriter,
+                              StudentReportSource studentSource) {
         this.courseService = courseService;
+        this.xlsxWriter = xlsxWriter;
+        this.csvWriter = csvWriter;
+        this.studentSource = studentSource;
     }
 
     public String exportStudentsDetailsToExcel() throws IOException {
-        String path = System.getProperty("user.dir") + "\\exported_resources\\students.xlsx";
+        String path = Paths.get(System.getProperty("user.dir"), "exported_resources", "students.xlsx").toString();
 
-        try (Workbook workbook = new XSSFWorkbook()) {
-            Sheet sheet = workbook.createSheet("students");
-            // Header row values
-            Row headerRow = sheet.createRow(0);
-            headerRow.createCell(0).setCellValue("Roll No");
-            headerRow.createCell(1).setCellValue("Name");
-            headerRow.createCell(2).setCellValue("Email");
-            headerRow.createCell(3).setCellValue("Signed At");
-
-            // Data and rows values
-            List<UserResponseDTO> usersList = userService.getAllUsersByRole(User.Role.STUDENT);
-
-            List<LocalDate> createdDate = usersList.stream()
-                    .map(u -> {
-                        User user = userService.getUserById(u.getUserId());
-                        return user.getUserCreatedAt();
-                    })
-                    .toList();
-
-
-            int rowIndex = 1; // first row after header row
-            int dateIndex = 0;
-            for (UserResponseDTO user : usersList) {
-                Row row = sheet.createRow(rowIndex++);
-                row.createCell(0).setCellValue(user.getIdentityNo());
-                row.createCell(1).setCellValue(user.getUsername());
-                row.createCell(2).setCellValue(user.getEmail());
-
-                LocalDate created = createdDate.get(dateIndex++);
-                row.createCell(3).setCellValue(created != null ? created.toString() : "");
-
-            }
-
-            addSizing(rowIndex, sheet);
-
-            // Write to file
-            try (FileOutputStream fileOutput = new FileOutputStream(path)) {
-                workbook.write(fileOutput);
-            }
-        }
-        catch (Exception e) {
-            throw new RuntimeException("Error while creating excel sheet. " + e.getMessage());
+        try (OutputStream fileOutput = new BufferedOutputStream(new FileOutputStream(path))) {
+            writeStudentsExcel(fileOutput);
         }
         return path;
     }
@@ -88,43 +55,28 @@ public class ExcelExportService {
         }
     }
 
+    // SXSSF bounds memory, not time-to-first-byte: rows spill to a temp file and the xlsx is only written
+    // to the response once the last row is read. Use downloadStudentsCsv when first-byte latency matters.
+    public StreamingResponseBody downloadStudentsExcelSheet() {
+        return this::writeStudentsExcel;
+    }
 
-    public Resource downloadStudentsExcelSheet() throws IOException {
-        ByteArrayResource resource;
-
-        try (Workbook workbook = new XSSFWorkbook()) {
-            Sheet sheet = workbook.createSheet("students");
-            // Header row values
-            Row headerRow = sheet.createRow(0);
-            headerRow.createCell(0).setCellValue("Roll No");
-            headerRow.createCell(1).setCellValue("Name");
-            headerRow.createCell(2).setCellValue("Email");
-            headerRow.createCell(3).setCellValue("Signed At");
-
-            // Data and rows values
-            List<UserResponseDTO> usersList = userService.getAllUsersByRole(User.Role.STUDENT);
-
-            int rowIndex = 1; // first row after header row
-            for (UserResponseDTO user : usersList) {
-                Row row = sheet.createRow(rowIndex++);
-                row.createCell(0).setCellValue(user.getIdentityNo());
-                row.createCell(1).setCellValue(user.getUsername());
-                row.createCell(2).setCellValue(user.getEmail());
-            }
-
-            // Adding auto sizing to columns - 3 columns
-            addSizing(rowIndex ,sheet);
-
-            // Convert workbook to byte[]
-            ByteArrayOutputStream byteOutputStream = new ByteArrayOutputStream();
-            workbook.write(byteOutputStream);
+    // Each row is written to the response as it is read, so bytes reach the client while the query is still running
+    public StreamingResponseBody downloadStudentsCsv() {
+        return out -> {
+            long start = System.nanoTime();
+            ExportProgress progress = ExportProgress.untracked();
+            csvWriter.write(studentSource, out, progress);
+            log.info("event=STUDENT_CSV_EXPORTED rows={} tookMs={}", progress.rowsWritten(), (System.nanoTime() - start) / 1_000_000);
+        };
+    }
 
-            resource = new ByteArrayResource(byteOutputStream.toByteArray());
-        }
-        catch (Exception e) {
-            throw new RuntimeException("Error while exporting student excel sheet. " + e.getMessage());
-        }
-        return resource;
+    // Same SXSSF engine as the asynchronous exports (see ExportJobService)
+    public void writeStudentsExcel(OutputStream out) throws IOException {
+        long start = System.nanoTime();
+        ExportProgress progress = ExportProgress.untracked();
+        xlsxWriter.write(studentSource, out, progress);
+        log.info("event=STUDENT_EXCEL_EXPORTED rows={} tookMs={}", progress.rowsWritten(), (System.nanoTime() - start) / 1_000_000);
     }
 
     public String exportCourseDetailsToExcel() throws IOException {
@@ -18,25 +18,23 @@ public class HtmlEmailBody {
         this.emailService = emailService;
     }
 
+    // one announcement for every student, queued as Bcc batches instead of one sleeping async task per student
     public void newCourseAddedHtmlBody(String courseName){
-        List<UserResponseDTO> studentList = userService.getAllUsersByRole(User.Role.STUDENT);
-        List<String> receiversEmails = studentList.stream()
+        List<String> receiversEmails = userService.getAllUsersByRole(User.Role.STUDENT).stream()
                 .map(UserResponseDTO::getEmail)
                 .toList();
 
-        for(UserResponseDTO student : studentList) {
-            String htmlContent = "<h1 style=\"color: #4CAF50;\">Hello, " + student.getUsername() + "</h1>"
-                    + "<p>A new course is added in our feedback system</b> 🎉</p>"
-                    + "<p>Course name is " + courseName + "</p>"
-                    + "<p>Enroll to the course faster \uD83D\uDE80</p>"
-                    + "<hr>"
-                    + "<small>This is an automated email, please do not reply.</small>";
-            emailService.newCourseAddedEmail(   // Async call
-                    student.getEmail(),
-                    "New Course is Added \uD83D\uDCE2",
-                    htmlContent
-            );
-        }
+        String htmlContent = "<h1 style=\"color: #4CAF50;\">Hello, Student</h1>"
+                + "<p>A new course is added in our feedback system</b> 🎉</p>"
+                + "<p>Course name is " + courseName + "</p>"
+                + "<p>Enroll to the course faster \uD83D\uDE80</p>"
+                + "<hr>"
+                + "<small>This is an automated email, please do not reply.</small>";
+        emailService.newCourseAddedEmail(   // queued in the mail outbox
+                receiversEmails,
+                "New Course is Added \uD83D\uDCE2",
+                htmlContent
+        );
     }
 
     public void registrationEmail(UserResponseDTO user){
@@ -47,7 +45,7 @@ public class HtmlEmailBody {
                     + "<hr>"
                     + "<small>This is an automated email, please do not reply.</small>";
 
-            emailService.simpleMailSender(   // Async call
+            emailService.simpleMailSender(   // queued in the mail outbox
                     user.getEmail(),
                     "Registered Successfully!",
                     htmlContent
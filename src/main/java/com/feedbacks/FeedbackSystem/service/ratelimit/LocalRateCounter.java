@@ -0,0 +1,68 @@
+package com.feedbacks.FeedbackSystem.service.ratelimit;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Stand-in for Redis while the breaker is open: one counter per key and fixed window of the
+// policy's length (a day bucket for P1D), whatever the policy's algorithm. Approximate: it starts
+// from zero and counts only this node's requests.
+// Accepted requests are kept as pending usage and written to Redis once it is reachable again.
+final class LocalRateCounter {
+
+    record PendingUsage(String key, RateLimitPolicy policy, long windowEnd, long requests) {}
+
+    private static final class Bucket {
+        final RateLimitPolicy policy;
+        final long windowEnd;
+        final AtomicLong count = new AtomicLong();
+        final AtomicLong accepted = new AtomicLong();
+
+        Bucket(RateLimitPolicy policy, long windowEnd) {
+            this.policy = policy;
+            this.windowEnd = windowEnd;
+        }
+    }
+
+    // ConcurrentHashMap locks per bin, so concurrent subjects don't contend on one lock
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+    RateLimitDecision tryAcquire(String key, RateLimitPolicy policy, long now) {
+        long windowEnd = RateLimiter.fixedWindowEnd(now, policy.window().toMillis());
+        Bucket bucket = buckets.compute(key, (k, current) ->
+                current == null || current.windowEnd != windowEnd ? new Bucket(policy, windowEnd) : current);
+        long count = bucket.count.incrementAndGet();
+        boolean allowed = count <= policy.limit();
+        if (allowed) {
+            bucket.accepted.incrementAndGet();
+        }
+        return new RateLimitDecision(allowed, policy.limit(), (int) Math.max(0, policy.limit() - count), windowEnd);
+    }
+
+    boolean isEmpty() {
+        return buckets.isEmpty();
+    }
+
+    // Empties the counter; returns accepted usage whose window is still running
+    List<PendingUsage> drain(long now) {
+        List<PendingUsage> pending = new ArrayList<>();
+        Iterator<Map.Entry<String, Bucket>> it = buckets.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, Bucket> entry = it.next();
+            it.remove();
+            Bucket bucket = entry.getValue();
+            long accepted = bucket.accepted.get();
+            if (accepted > 0 && bucket.windowEnd > now) {
+                pending.add(new PendingUsage(entry.getKey(), bucket.policy, bucket.windowEnd, accepted));
+            }
+        }
+        return pending;
+    }
+
+    void purgeExpired(long now) {
+        buckets.values().removeIf(bucket -> bucket.windowEnd <= now);
+    }
+}
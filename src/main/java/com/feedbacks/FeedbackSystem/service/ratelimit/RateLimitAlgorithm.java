@@ -0,0 +1,35 @@
+package com.feedbacks.FeedbackSystem.service.ratelimit;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.List;
+
+// Each check is a single EVALSHA of the algorithm's script (src/main/resources/redis), so the
+// read-modify-write happens atomically on the Redis server in one round trip.
+@SuppressWarnings("rawtypes")
+public enum RateLimitAlgorithm {
+    // counter per calendar-aligned window, a P1D window resets at local midnight
+    FIXED_WINDOW("fw", "redis/rate-limit-fixed-window.lua"),
+    // at most `limit` requests in any trailing `window`
+    SLIDING_WINDOW("sw", "redis/rate-limit-sliding-window.lua"),
+    // bursts up to `limit`, refilled at limit/window
+    TOKEN_BUCKET("tb", "redis/rate-limit-token-bucket.lua");
+
+    private final String keyPart;
+    private final RedisScript<List> script;
+
+    RateLimitAlgorithm(String keyPart, String scriptPath) {
+        this.keyPart = keyPart;
+        this.script = RedisScript.of(new ClassPathResource(scriptPath), List.class);
+    }
+
+    // part of the Redis key: switching a policy's algorithm never reuses a key of another type
+    String keyPart() {
+        return keyPart;
+    }
+
+    RedisScript<List> script() {
+        return script;
+    }
+}
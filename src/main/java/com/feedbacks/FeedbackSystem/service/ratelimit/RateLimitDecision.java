@@ -0,0 +1,28 @@
+package com.feedbacks.FeedbackSystem.service.ratelimit;
+
+import com.feedbacks.FeedbackSystem.DTO.analytics.RateLimitInfo;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+// Outcome of one check; resetAtMillis is when the next request would be accepted (denied)
+// or when the full limit is available again (allowed)
+public record RateLimitDecision(boolean allowed, int limit, int remaining, long resetAtMillis) {
+
+    private static final DateTimeFormatter RESET_FORMAT =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss").withZone(ZoneId.systemDefault());
+
+    public String resetAt() {
+        // rounded up: "retry at" must not be before the actual reset
+        return RESET_FORMAT.format(Instant.ofEpochSecond(Math.ceilDiv(resetAtMillis, 1000L)));
+    }
+
+    public long retryAfterSeconds() {
+        return Math.max(1L, Math.ceilDiv(resetAtMillis - System.currentTimeMillis(), 1000L));
+    }
+
+    public RateLimitInfo toInfo() {
+        return new RateLimitInfo(limit, remaining, resetAt(), allowed ? null : retryAfterSeconds());
+    }
+}
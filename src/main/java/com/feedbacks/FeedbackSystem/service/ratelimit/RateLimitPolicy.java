@@ -0,0 +1,19 @@
+package com.feedbacks.FeedbackSystem.service.ratelimit;
+
+import java.time.Duration;
+
+// `limit` requests per `window`, enforced with `algorithm`
+public record RateLimitPolicy(RateLimitAlgorithm algorithm, int limit, Duration window) {
+
+    public RateLimitPolicy {
+        if (algorithm == null) {
+            algorithm = RateLimitAlgorithm.FIXED_WINDOW;
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("Rate limit must be at least 1, was " + limit);
+        }
+        if (window == null || window.toMillis() < 1) {
+            throw new IllegalArgumentException("Rate limit window must be positive, was " + window);
+        }
+    }
+}
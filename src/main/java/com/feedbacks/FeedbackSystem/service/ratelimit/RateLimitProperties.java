@@ -0,0 +1,27 @@
+package com.feedbacks.FeedbackSystem.service.ratelimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.Map;
+
+// feedback.rate-limit.policies.<endpoint>.<role>.{algorithm,limit,window}; role is the lower-case
+// user role, "default" applies to every role without its own entry.
+// A local deny is trusted for at most deny-cache.ttl, so a limit reset in Redis is seen within that time.
+// breaker: per-check Redis timeout, consecutive failures before falling back to the local counter,
+// and how long to stay on it before probing Redis again.
+@ConfigurationProperties("feedback.rate-limit")
+public record RateLimitProperties(Map<String, Map<String, RateLimitPolicy>> policies, DenyCache denyCache, Breaker breaker) {
+
+    public static final String DEFAULT_ROLE = "default";
+
+    public record DenyCache(Duration ttl, long maximumSize) {}
+
+    public record Breaker(Duration timeout, int failureThreshold, Duration openDuration) {}
+
+    public RateLimitProperties {
+        policies = policies == null ? Map.of() : policies;
+        denyCache = denyCache == null ? new DenyCache(Duration.ofMinutes(10), 10_000) : denyCache;
+        breaker = breaker == null ? new Breaker(Duration.ofMillis(250), 5, Duration.ofSeconds(30)) : breaker;
+    }
+}
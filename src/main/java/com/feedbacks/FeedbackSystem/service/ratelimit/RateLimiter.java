@@ -0,0 +1,248 @@
+package com.feedbacks.FeedbackSystem.service.ratelimit;
+
+import com.feedbacks.FeedbackSystem.configure.FeedbackMetrics;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Policy-driven rate limiting: one atomic Redis script per check (see RateLimitAlgorithm), policies
+// per endpoint and role from RateLimitProperties.
+// Subjects already over their limit are remembered locally until their reset time, so repeated
+// attempts are rejected without a Redis round trip.
+// Degraded mode: each script call is bounded by breaker.timeout instead of the connection's command
+// timeout, and after breaker.failure-threshold failures checks go to a LocalRateCounter until Redis
+// answers again. What was accepted locally is then written back to Redis.
+@Slf4j
+@Service
+public class RateLimiter {
+
+    public static final String MODE_REDIS = "redis";
+    public static final String MODE_LOCAL = "local";
+    public static final String MODE_DENY_CACHE = "deny-cache";
+
+    private static final String KEY_PREFIX = "rate:";
+    private static final String ROLE_PREFIX = "ROLE_";
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+
+    private final StringRedisTemplate redisTemplate;
+    private final FeedbackMetrics feedbackMetrics;
+    private final Map<String, Map<String, RateLimitPolicy>> policies;
+    private final Cache<String, Long> denied;
+    private final RedisCircuitBreaker breaker;
+    private final long timeoutMillis;
+    private final LocalRateCounter localCounter = new LocalRateCounter();
+    private final AtomicBoolean reconciling = new AtomicBoolean();
+    // lets a caller give up on a slow script without waiting for the Redis command timeout
+    private final ExecutorService redisCalls = Executors.newVirtualThreadPerTaskExecutor();
+    // sliding-window log members must be unique per request across nodes
+    private final String memberPrefix = UUID.randomUUID().toString().substring(0, 8) + ":";
+    private final AtomicLong memberSequence = new AtomicLong();
+
+    public RateLimiter(StringRedisTemplate redisTemplate, RateLimitProperties properties, FeedbackMetrics feedbackMetrics) {
+        this.redisTemplate = redisTemplate;
+        this.feedbackMetrics = feedbackMetrics;
+        this.policies = properties.policies();
+        this.denied = Caffeine.newBuilder()
+                .maximumSize(properties.denyCache().maximumSize())
+                .expireAfterWrite(properties.denyCache().ttl())
+                .build();
+        this.breaker = new RedisCircuitBreaker(properties.breaker().failureThreshold(), properties.breaker().openDuration());
+        this.timeoutMillis = properties.breaker().timeout().toMillis();
+        feedbackMetrics.registerRateLimitBreaker(breaker);
+    }
+
+    // Policy for the caller's role, resolved from the security context
+    public RateLimitDecision check(String endpoint, Object subject) {
+        return check(endpoint, currentRole(), subject);
+    }
+
+    public RateLimitDecision check(String endpoint, String role, Object subject) {
+        RateLimitPolicy policy = policyFor(endpoint, role);
+        String key = KEY_PREFIX + endpoint + ":" + policy.algorithm().keyPart() + ":" + subject;
+        long now = System.currentTimeMillis();
+
+        Long deniedUntil = denied.getIfPresent(key);
+        if (deniedUntil != null) {
+            if (deniedUntil > now) {
+                feedbackMetrics.recordRateLimitDecision(endpoint, MODE_DENY_CACHE, false);
+                return new RateLimitDecision(false, policy.limit(), 0, deniedUntil);
+            }
+            denied.invalidate(key);
+        }
+
+        RateLimitDecision decision = null;
+        String mode = MODE_REDIS;
+        if (breaker.allowRequest(now)) {
+            try {
+                decision = callRedis(policy, key, now, 1, false);
+                if (breaker.recordSuccess()) {
+                    log.info("event=RATE_LIMIT_REDIS_RECOVERED");
+                    redisCalls.execute(this::reconcile);
+                }
+            } catch (TimeoutException | ExecutionException | RuntimeException e) {
+                onRedisFailure(now, e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                onRedisFailure(now, e);
+            }
+        }
+        if (decision == null) {
+            mode = MODE_LOCAL;
+            decision = localCounter.tryAcquire(key, policy, now);
+        }
+
+        feedbackMetrics.recordRateLimitDecision(endpoint, mode, decision.allowed());
+        if (!decision.allowed()) {
+            denied.put(key, decision.resetAtMillis());
+        }
+        return decision;
+    }
+
+    public boolean hasPolicy(String endpoint) {
+        return policies.containsKey(endpoint);
+    }
+
+    public RateLimitPolicy policyFor(String endpoint, String role) {
+        Map<String, RateLimitPolicy> byRole = policies.get(endpoint);
+        if (byRole == null) {
+            throw new IllegalStateException("No rate limit policy configured for endpoint " + endpoint);
+        }
+        RateLimitPolicy policy = role == null ? null : byRole.get(role.toLowerCase(Locale.ROOT));
+        if (policy == null) {
+            policy = byRole.get(RateLimitProperties.DEFAULT_ROLE);
+        }
+        if (policy == null) {
+            throw new IllegalStateException("No rate limit policy for endpoint " + endpoint + " and role " + role);
+        }
+        return policy;
+    }
+
+    public RedisCircuitBreaker.State breakerState() {
+        return breaker.state();
+    }
+
+    // Writes locally accepted requests back to Redis, so a subject doesn't get a fresh limit
+    // once checks go to Redis again. Also retried on a schedule in case the first attempt fails.
+    @Scheduled(fixedDelayString = "${feedback.rate-limit.reconcile-interval-ms:30000}")
+    public void reconcile() {
+        long now = System.currentTimeMillis();
+        if (breaker.state() != RedisCircuitBreaker.State.CLOSED) {
+            localCounter.purgeExpired(now);
+            return;
+        }
+        if (localCounter.isEmpty() || !reconciling.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long reconciled = 0;
+            long dropped = 0;
+            for (LocalRateCounter.PendingUsage usage : localCounter.drain(now)) {
+                try {
+                    callRedis(usage.policy(), usage.key(), now, usage.requests(), true);
+                    reconciled += usage.requests();
+                } catch (TimeoutException | ExecutionException | RuntimeException e) {
+                    dropped += usage.requests();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    dropped += usage.requests();
+                }
+            }
+            feedbackMetrics.recordRateLimitReconciled(reconciled, dropped);
+            log.info("event=RATE_LIMIT_RECONCILED requests={} dropped={}", reconciled, dropped);
+        } finally {
+            reconciling.set(false);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        redisCalls.shutdownNow();
+    }
+
+    private void onRedisFailure(long now, Exception e) {
+        Throwable cause = e instanceof ExecutionException && e.getCause() != null ? e.getCause() : e;
+        if (breaker.recordFailure(now)) {
+            log.warn("event=RATE_LIMIT_DEGRADED reason={}", cause.toString());
+        } else {
+            log.debug("event=RATE_LIMIT_REDIS_FAILED reason={}", cause.toString());
+        }
+    }
+
+    private RateLimitDecision callRedis(RateLimitPolicy policy, String key, long now, long requests, boolean reconcile)
+            throws TimeoutException, ExecutionException, InterruptedException {
+        Future<RateLimitDecision> call = redisCalls.submit(() -> evaluate(policy, key, now, requests, reconcile));
+        try {
+            return call.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            call.cancel(true);
+            throw e;
+        }
+    }
+
+    // when reconciling, the usage already happened and is recorded even if it exceeds the limit
+    @SuppressWarnings("unchecked")
+    private RateLimitDecision evaluate(RateLimitPolicy policy, String key, long now, long requests, boolean reconcile) {
+        long windowMillis = policy.window().toMillis();
+        String cost = String.valueOf(requests);
+        String force = reconcile ? "1" : "0";
+        List<Long> result = switch (policy.algorithm()) {
+            case FIXED_WINDOW -> {
+                long windowEnd = fixedWindowEnd(now, windowMillis);
+                yield redisTemplate.execute(policy.algorithm().script(),
+                        List.of(key + ":" + windowEnd),
+                        String.valueOf(policy.limit()), String.valueOf(windowEnd - now), cost);
+            }
+            case SLIDING_WINDOW -> redisTemplate.execute(policy.algorithm().script(), List.of(key),
+                    String.valueOf(policy.limit()), String.valueOf(windowMillis),
+                    memberPrefix + memberSequence.incrementAndGet(), cost, force);
+            case TOKEN_BUCKET -> redisTemplate.execute(policy.algorithm().script(), List.of(key),
+                    String.valueOf(policy.limit()), String.valueOf(windowMillis), cost, force);
+        };
+        if (result == null || result.size() < 3) {
+            throw new IllegalStateException("Unexpected rate limit script result " + result + " for " + key);
+        }
+        return new RateLimitDecision(result.get(0) == 1L, policy.limit(), result.get(1).intValue(), now + result.get(2));
+    }
+
+    // Windows are aligned to the local clock, so a P1D window resets at local midnight
+    static long fixedWindowEnd(long now, long windowMillis) {
+        long offset = ZONE.getRules().getOffset(Instant.ofEpochMilli(now)).getTotalSeconds() * 1000L;
+        return Math.floorDiv(now + offset, windowMillis) * windowMillis + windowMillis - offset;
+    }
+
+    private static String currentRole() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null) {
+            return RateLimitProperties.DEFAULT_ROLE;
+        }
+        for (GrantedAuthority authority : authentication.getAuthorities()) {
+            String name = authority.getAuthority();
+            if (name != null && name.startsWith(ROLE_PREFIX)) {
+                return name.substring(ROLE_PREFIX.length());
+            }
+        }
+        return RateLimitProperties.DEFAULT_ROLE;
+    }
+}
@@ -0,0 +1,53 @@
+package com.feedbacks.FeedbackSystem.service.ratelimit;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Consecutive Redis failures open the breaker: checks skip Redis for openDuration, then a single
+// probe is let through (HALF_OPEN). The probe closes the breaker again or re-opens it.
+public final class RedisCircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int failureThreshold;
+    private final long openMillis;
+    private final AtomicInteger failures = new AtomicInteger();
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+    private volatile long openedAt;
+
+    public RedisCircuitBreaker(int failureThreshold, Duration openDuration) {
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openMillis = openDuration.toMillis();
+    }
+
+    public State state() {
+        return state.get();
+    }
+
+    public boolean allowRequest(long now) {
+        State current = state.get();
+        if (current == State.CLOSED) {
+            return true;
+        }
+        // only the caller that wins the CAS probes, everyone else stays on the fallback
+        return current == State.OPEN && now - openedAt >= openMillis
+                && state.compareAndSet(State.OPEN, State.HALF_OPEN);
+    }
+
+    // true when this success closed a breaker that was open
+    public boolean recordSuccess() {
+        failures.set(0);
+        return state.getAndSet(State.CLOSED) != State.CLOSED;
+    }
+
+    // true when this failure opened the breaker
+    public boolean recordFailure(long now) {
+        if (state.get() == State.HALF_OPEN || failures.incrementAndGet() >= failureThreshold) {
+            openedAt = now;
+            failures.set(0);
+            return state.getAndSet(State.OPEN) != State.OPEN;
+        }
+        return false;
+    }
+}
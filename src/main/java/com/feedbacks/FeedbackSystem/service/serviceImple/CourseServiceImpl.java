@@ -12,18 +12,21 @@ import com.feedbacks.FeedbackSystem.model.Course;
 import com.feedbacks.FeedbackSystem.model.Instructor;
 import com.feedbacks.FeedbackSystem.repository.CourseRepository;
 import com.feedbacks.FeedbackSystem.repository.InstructorRepository;
+import com.feedbacks.FeedbackSystem.service.autocomplete.AutocompleteService;
+import com.feedbacks.FeedbackSystem.service.cache.RankingCacheIndex;
 import com.feedbacks.FeedbackSystem.service.interfaces.CourseService;
 import com.feedbacks.FeedbackSystem.specification.CourseSpecification;
 import jakarta.transaction.Transactional;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.*;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -33,11 +36,15 @@ public class CourseServiceImpl implements CourseService {
     private final CourseRepository courseRepo;
     private final InstructorRepository instructorRepo;
     private final CourseMapper courseMapper;
+    private final RankingCacheIndex cacheIndex;
+    private final AutocompleteService autocomplete;
 
-    public CourseServiceImpl(CourseRepository courseRepo, InstructorRepository instructorRepo, CourseMapper courseMapper) {
+    public CourseServiceImpl(CourseRepository courseRepo, InstructorRepository instructorRepo, CourseMapper courseMapper, RankingCacheIndex cacheIndex, AutocompleteService autocomplete) {
         this.courseRepo = courseRepo;
         this.instructorRepo = instructorRepo;
         this.courseMapper = courseMapper;
+        this.cacheIndex = cacheIndex;
+        this.autocomplete = autocomplete;
     }
 
     public List<Course> getAllCourses() {
@@ -74,7 +81,9 @@ public class CourseServiceImpl implements CourseService {
                  course.getCourseId(), requestDTO.getCourseName()
         );
 
-        return courseMapper.toResponse(courseRepo.save(course));
+        Course saved = courseRepo.save(course);
+        autocomplete.courseChanged(saved);
+        return courseMapper.toResponse(saved);
     }
 
 //    public Course addCourseDTO(CourseDTO courseDTO){
@@ -85,34 +94,6 @@ public class CourseServiceImpl implements CourseService {
 //        return course;
 //    }
 
-    @Transactional
-    @Override
-    public void updateCourseStateOnFeedbackAdd(Course course, int rating, boolean isEditing){
-        long count = course.getFeedbackCount();
-        if (!isEditing) {
-            count += 1;
-        }
-        double avgRating = ((course.getAvgRating() * course.getFeedbackCount()) + rating) / count;
-        course.setFeedbackCount(count);
-        course.setAvgRating(avgRating);
-    }
-
-    @Transactional
-    @Override
-    public void updateCourseStateOnFeedbackRemove(Course course, int rating){
-        long count = course.getFeedbackCount() - 1;
-
-        if (count == 0){
-            course.setFeedbackCount(0L);
-            course.setAvgRating(0.0);
-            return;
-        }
-
-        double avgRating = ((course.getAvgRating() * count + 1) - rating) / count;
-        course.setFeedbackCount(count);
-        course.setAvgRating(avgRating);
-    }
-
     @Override
     public CourseResponseDTO updateCourseById(int courseId, CourseRequestDTO requestDTO){
         Course course = getCourseById(courseId);
@@ -123,7 +104,9 @@ public class CourseServiceImpl implements CourseService {
                 course.getCourseId(), requestDTO.getCourseName()
         );
 
-        return courseMapper.toResponse(courseRepo.save(course));
+        Course saved = courseRepo.save(course);
+        autocomplete.courseChanged(saved);
+        return courseMapper.toResponse(saved);
     }
 
     // @SqlDelete Soft Delete the record instead of physically deleting it
@@ -139,6 +122,7 @@ public class CourseServiceImpl implements CourseService {
         );
 
         courseRepo.deleteById(courseId);
+        autocomplete.courseRemoved(courseId);
     }
 
     @Override
@@ -162,6 +146,7 @@ public class CourseServiceImpl implements CourseService {
         course.setDeletedBy(null);
         course.setRestoredBy(SecurityContextHolder.getContext().getAuthentication().getName());
         courseRepo.save(course);
+        autocomplete.courseChanged(course);
 
         log.info(
                 "event=COURSE_RESTORED courseId={} courseName={} restoredBy={}",
@@ -181,6 +166,7 @@ public class CourseServiceImpl implements CourseService {
         log.info("event=COURSE_PERMANENTLY_DELETED courseId={}", courseId);
 
         courseRepo.deletePermanently(courseId);
+        autocomplete.courseRemoved(courseId);
     }
 
     @Override
@@ -276,27 +262,29 @@ public class CourseServiceImpl implements CourseService {
                 .collect(Collectors.toList());
     }
 
+    // cached through RankingCacheIndex rather than @Cacheable, so the page is indexed only after it is put
     @Override
-    @Cacheable(
-            value = "popularCourses",
-            key = "#pageNumber + ':' + #pageSize"
-    )
     @org.springframework.transaction.annotation.Transactional(readOnly = true)
     public List<PopularCourseDTO> getPopularCourses(int pageNumber, int pageSize) {
         Pageable pageable = PageRequest.of(pageNumber, pageSize);
-        return courseRepo.findPopularCourses(pageable);
+        return cacheIndex.getOrLoad("popularCourses", pageNumber + ":" + pageSize,
+                () -> courseRepo.findPopularCourses(pageable), this::feedbackCounts);
     }
 
     // Slice<T> is useful for infinite scrolling or “Load More” UI. & Doesn't count data
     @Override
-    @Cacheable(
-            value = "unpopularCourses",
-            key = "#pageNumber + ':' + #pageSize"
-    )
     @org.springframework.transaction.annotation.Transactional(readOnly = true)
     public Slice<PopularCourseDTO> getUnPopularCourses(int pageNumber, int pageSize) {
         Pageable pageable = PageRequest.of(pageNumber, pageSize);
-        return courseRepo.findUnPopularCourses(pageable);
+        return cacheIndex.getOrLoad("unpopularCourses", pageNumber + ":" + pageSize,
+                () -> courseRepo.findUnPopularCourses(pageable), courses -> feedbackCounts(courses.getContent()));
+    }
+
+    // sort value of each row, so a feedback write only evicts the pages it can reorder
+    private Map<Integer, Integer> feedbackCounts(List<PopularCourseDTO> courses) {
+        Map<Integer, Integer> counts = new LinkedHashMap<>();
+        courses.forEach(course -> counts.put(course.getCourseId(), course.getFeedbackCount()));
+        return counts;
     }
 
     @Override
@@ -357,13 +345,14 @@ public class CourseServiceImpl implements CourseService {
     }
 
     @Override
-    @Cacheable(
-            value = "courseRanking",
-            key = "#page +':'+ #size"
-    )
     @org.springframework.transaction.annotation.Transactional(readOnly = true)
     public List<CourseRankingDTO> getCourseRanking(int page, int size){
-        return courseRepo.getCourseRaking(PageRequest.of(page, size));
+        return cacheIndex.getOrLoad("courseRanking", page + ":" + size,
+                () -> courseRepo.getCourseRaking(PageRequest.of(page, size)), ranking -> {
+                    Map<Integer, Double> ratings = new LinkedHashMap<>();
+                    ranking.forEach(course -> ratings.put(course.courseId(), course.avgRating()));
+                    return ratings;
+                });
     }
 
 }
@@ -1,44 +1,30 @@
 package com.feedbacks.FeedbackSystem.service.serviceImple;
 
 import com.feedbacks.FeedbackSystem.DTO.analytics.RateLimitInfo;
-import com.feedbacks.FeedbackSystem.Exception.NotAllowedException;
 import com.feedbacks.FeedbackSystem.Exception.TooManyRequestException;
+import com.feedbacks.FeedbackSystem.service.ratelimit.RateLimitDecision;
+import com.feedbacks.FeedbackSystem.service.ratelimit.RateLimiter;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Service;
 
-import java.time.Duration;
-import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.util.concurrent.TimeUnit;
-
+// Feedback submissions per student, policy feedback.rate-limit.policies.feedback-submit.*
 @Slf4j
 @Service
 public class FeedbackRateLimiterService {
 
-    private static final int DAILY_LIMIT = 10;
+    public static final String ENDPOINT = "feedback-submit";
 
-    private final StringRedisTemplate redisTemplate;
+    private final RateLimiter rateLimiter;
 
-    public FeedbackRateLimiterService(StringRedisTemplate redisTemplate) {
-        this.redisTemplate = redisTemplate;
+    public FeedbackRateLimiterService(RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
     }
 
 
     public RateLimitInfo checkRateLimit(Integer studentId){
-        String key = buildKey(studentId);
-
-        Long count = redisTemplate.opsForValue().increment(key);
-
-        if (count == 1){
-            redisTemplate.expire(key, secondsTillMidnight(), TimeUnit.SECONDS);
-        }
-
-        Integer remaining = (int)(DAILY_LIMIT - count);
-        String restAt = LocalDate.now().plusDays(1).atStartOfDay().format(DateTimeFormatter.ofPattern("yyyy-MM-dd"));
+        RateLimitDecision decision = rateLimiter.check(ENDPOINT, studentId);
 
-        if (count > DAILY_LIMIT) {
+        if (!decision.allowed()) {
 
             log.info(
                     "event=RATE_LIMITED userId={} ",
@@ -46,29 +32,11 @@ public class FeedbackRateLimiterService {
             );
 
             throw new TooManyRequestException(
-                    "You've reached your limit of feedbacks. Try after "
-                            + LocalDate.now().plusDays(1).atStartOfDay().format(DateTimeFormatter.ofPattern("yyyy-MM-dd")) + " .",
-                    new RateLimitInfo(
-                            DAILY_LIMIT,
-                            remaining,
-                            restAt
-                    )
+                    "You've reached your limit of feedbacks. Try after " + decision.resetAt() + " .",
+                    decision.toInfo()
             );
         }
 
-        return new RateLimitInfo(DAILY_LIMIT, remaining, restAt);
-    }
-
-
-    public String buildKey(Integer studentId){
-        String date = LocalDate.now().format(DateTimeFormatter.BASIC_ISO_DATE);
-        return "feedback:rate:"+studentId+":today:"+date;
-    }
-
-    public Long secondsTillMidnight(){
-        return Duration.between(
-                LocalDateTime.now(),
-                LocalDate.now().plusDays(1).atStartOfDay()
-        ).getSeconds();
+        return decision.toInfo();
     }
 }
@@ -1,11 +1,17 @@
 package com.feedbacks.FeedbackSystem.service.serviceImple;
 
+import com.feedbacks.FeedbackSystem.DTO.CursorPage;
 import com.feedbacks.FeedbackSystem.DTO.EntityDTO.requestDTOs.FeedbackRequestDTO;
+import com.feedbacks.FeedbackSystem.DTO.FeedbackCursor;
+import com.feedbacks.FeedbackSystem.DTO.FeedbackSearchHit;
+import com.feedbacks.FeedbackSystem.DTO.FeedbackSearchScore;
 import com.feedbacks.FeedbackSystem.DTO.analytics.CourseFeedbackSummary;
 import com.feedbacks.FeedbackSystem.DTO.EntityDTO.responseDTOs.FeedbackResponseDTO;
 import com.feedbacks.FeedbackSystem.DTO.analytics.FeedbackTrendDTO;
 import com.feedbacks.FeedbackSystem.DTO.analytics.RateLimitInfo;
 import com.feedbacks.FeedbackSystem.DTO.analytics.RatingDistributionDTO;
+import com.feedbacks.FeedbackSystem.DTO.analytics.TrendQuery;
+import com.feedbacks.FeedbackSystem.Exception.BadRequestException;
 import com.feedbacks.FeedbackSystem.Exception.NotAllowedException;
 import com.feedbacks.FeedbackSystem.Exception.ResourceNotFoundException;
 import com.feedbacks.FeedbackSystem.configure.FeedbackMetrics;
@@ -15,17 +21,22 @@ import com.feedbacks.FeedbackSystem.model.Feedback;
 import com.feedbacks.FeedbackSystem.model.Instructor;
 import com.feedbacks.FeedbackSystem.model.User;
 import com.feedbacks.FeedbackSystem.repository.EnrollmentRepository;
+import com.feedbacks.FeedbackSystem.repository.FeedbackDailyStatsRepository;
 import com.feedbacks.FeedbackSystem.repository.FeedbackRepository;
+import com.feedbacks.FeedbackSystem.service.aggregate.RatingAggregateService;
+import com.feedbacks.FeedbackSystem.service.aggregate.RatingAggregateService.RatingSnapshot;
 import com.feedbacks.FeedbackSystem.service.interfaces.FeedbackService;
 import com.feedbacks.FeedbackSystem.specification.FeedbackSpecification;
+import com.feedbacks.FeedbackSystem.specification.FullTextQuery;
 import jakarta.transaction.Transactional;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -35,12 +46,20 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 public class FeedbackServiceImpl implements FeedbackService {
 
+    private static final int MAX_SCROLL_PAGE_SIZE = 100;
+    private static final Sort KEYSET_ORDER = Sort.by(Sort.Direction.DESC, "submittedAt")
+            .and(Sort.by(Sort.Direction.DESC, "feedbackId"));
+    // fetch graph for fluent Specification queries, same paths as Feedback.LISTING_GRAPH
+    private static final List<String> LISTING_PATHS = List.of("course.instructor", "student");
+
     private final FeedbackRepository feedbackRepo;
     private final UserServiceImpl userService;
     private final CourseServiceImpl courseService;
@@ -49,8 +68,10 @@ public class FeedbackServiceImpl implements FeedbackService {
     private final InstructorServiceImpl instructorService;
     private final FeedbackRateLimiterService rateLimiterService;
     private final FeedbackMetrics feedbackMetrics;
+    private final RatingAggregateService ratingAggregates;
+    private final FeedbackDailyStatsRepository dailyStatsRepo;
 
-    public FeedbackServiceImpl(FeedbackRepository feedbackRepo, UserServiceImpl userService, CourseServiceImpl courseService, EnrollmentRepository enrollmentRepo, FeedbackMapper feedbackMapper, InstructorServiceImpl instructorService, FeedbackRateLimiterService rateLimiterService, FeedbackMetrics feedbackMetrics) {
+    public FeedbackServiceImpl(FeedbackRepository feedbackRepo, UserServiceImpl userService, CourseServiceImpl courseService, EnrollmentRepository enrollmentRepo, FeedbackMapper feedbackMapper, InstructorServiceImpl instructorService, FeedbackRateLimiterService rateLimiterService, FeedbackMetrics feedbackMetrics, RatingAggregateService ratingAggregates, FeedbackDailyStatsRepository dailyStatsRepo) {
         this.feedbackRepo = feedbackRepo;
         this.userService = userService;
         this.courseService = courseService;
@@ -59,6 +80,8 @@ public class FeedbackServiceImpl implements FeedbackService {
         this.instructorService = instructorService;
         this.rateLimiterService = rateLimiterService;
         this.feedbackMetrics = feedbackMetrics;
+        this.ratingAggregates = ratingAggregates;
+        this.dailyStatsRepo = dailyStatsRepo;
     }
 
     public Feedback getFeedbackById(Integer feedbackId) {
@@ -71,26 +94,40 @@ public class FeedbackServiceImpl implements FeedbackService {
         return feedbackMapper.toResponse(getFeedbackById(feedbackId));
     }
 
+    // newest first, one keyset page at a time (see scrollFeedbacks)
     @org.springframework.transaction.annotation.Transactional(readOnly = true)
     @Override
-    public List<FeedbackResponseDTO> getFeedbacks() {
-        List<Feedback> feedbacks = feedbackRepo.findAll();
-        return feedbacks.stream()
-                .map(feedbackMapper::toResponse)
-                .collect(Collectors.toList());
+    public CursorPage<FeedbackResponseDTO> getFeedbacks(String cursor, int size) {
+        return scrollFeedbacks(null, null, null, null, null, null, null, null, null, cursor, size);
     }
 
+    // analytics caches are invalidated per key after commit, see AnalyticsCacheInvalidator
+    @Transactional
     @Override
-    @CacheEvict(
-            value = {"feedbackTrends",
-                    "feedbackDistribution",
-                    "popularCourses",
-                    "unpopularCourses",
-                    "courseRanking",
-                    "TopInstructors"},
-            allEntries = true
-    )
     public FeedbackResponseDTO submitFeedback(@Valid FeedbackRequestDTO feedbackRequestDTO) {
+        Feedback feedback = prepareFeedback(feedbackRequestDTO);
+        //save it to the database
+        feedbackRepo.save(feedback);
+
+        log.info(
+                "event=FEEDBACK_SUBMITTED studentId={} courseId={} rating={}",
+                feedbackRequestDTO.getStudentId(), feedbackRequestDTO.getCourseId(), feedback.getCourseRating()
+        );
+
+        // Actuator metrics check
+        feedbackMetrics.incrementFeedbackSubmittedCount();
+
+        // atomic sum/count increments on course and instructor
+        ratingAggregates.onFeedbackAdded(feedback);
+
+        //returning response as FeedbackResponseDTO
+        return feedbackMapper.toResponse(feedback);
+        //same procedure for updating feedback
+    }
+
+    // Runs every check of a submission (rate limit, role, enrollment) and builds the unsaved entity.
+    // Shared by the synchronous path above and the write-behind ingestion queue.
+    public Feedback prepareFeedback(@Valid FeedbackRequestDTO feedbackRequestDTO) {
         // rate limiting logic first
         rateLimiterService.checkRateLimit(feedbackRequestDTO.getStudentId());
 
@@ -116,30 +153,11 @@ public class FeedbackServiceImpl implements FeedbackService {
         }
         Feedback feedback = new Feedback();
         //convert the FeedbackDTO into Feedback
-        feedbackMapper.toEntity(feedbackRequestDTO, feedback, course, student, instructor);
-        //save it to the database
-        feedbackRepo.save(feedback);
-
-        log.info(
-                "event=FEEDBACK_SUBMITTED studentId={} courseId={} rating={}",
-                studentId, courseId, feedback.getCourseRating()
-        );
-
-        // Actuator metrics check
-        feedbackMetrics.incrementFeedbackSubmittedCount();
-
-        // update state of count and avg rating separately
-        courseService.updateCourseStateOnFeedbackAdd(
-                course, feedback.getCourseRating(), false);
-        instructorService.updateInstructorStateOnFeedbackAdd(
-                feedback.getInstructor(), feedback.getInstructorRating(), false);
-
-        //returning response as FeedbackResponseDTO
-        return feedbackMapper.toResponse(feedback);
-        //same procedure for updating feedback
+        return feedbackMapper.toEntity(feedbackRequestDTO, feedback, course, student, instructor);
     }
 
 
+    @Transactional
     @Override
     public FeedbackResponseDTO editFeedback(Integer feedbackId,
                                             @Valid FeedbackRequestDTO feedbackRequestDTO) {
@@ -163,6 +181,8 @@ public class FeedbackServiceImpl implements FeedbackService {
         }
 
         Feedback feedback = getFeedbackById(feedbackId);
+        // the mapper edits the entity in place, so keep the old ratings for the delta
+        RatingSnapshot before = RatingSnapshot.of(feedback);
         Feedback editedFeedback = feedbackMapper.toEntity(feedbackRequestDTO, feedback, course, student, instructor);
         feedbackRepo.save(editedFeedback);
 
@@ -171,8 +191,7 @@ public class FeedbackServiceImpl implements FeedbackService {
                 studentId, courseId, feedback.getCourseRating()
         );
 
-        courseService.updateCourseStateOnFeedbackAdd(course, editedFeedback.getCourseRating(), true);
-        instructorService.updateInstructorStateOnFeedbackAdd(feedback.getInstructor(), editedFeedback.getInstructorRating(), true);
+        ratingAggregates.onFeedbackEdited(before, editedFeedback);
         return feedbackMapper.toResponse(editedFeedback);
     }
 
@@ -193,8 +212,7 @@ public class FeedbackServiceImpl implements FeedbackService {
             feedback.setDeletedAt(LocalDateTime.now());
             feedback.setDeletedBy(SecurityContextHolder.getContext().getAuthentication().getName());
 
-            courseService.updateCourseStateOnFeedbackRemove(feedback.getCourse(), feedback.getCourseRating());
-            instructorService.updateInstructorStateOnFeedbackRemove(feedback.getCourse().getInstructor(), feedback.getInstructorRating());
+            ratingAggregates.onFeedbackRemoved(feedback);
 
             log.info(
                     "event=FEEDBACK_DELETED userId={} feedbackId={} deletedBy={}",
@@ -219,6 +237,7 @@ public class FeedbackServiceImpl implements FeedbackService {
                 .toList();
     }
 
+    @Transactional
     @Override
     public FeedbackResponseDTO restoreFeedback(int userId, int feedbackId){
         Feedback feedback = getFeedbackById(feedbackId);
@@ -230,6 +249,7 @@ public class FeedbackServiceImpl implements FeedbackService {
             throw new NotAllowedException("You can not restore someone's feedback");
         }
 
+        boolean wasDeleted = feedback.isDeleted();
         feedback.setDeleted(false);
         feedback.setDeletedBy(null);
         feedback.setDeletedAt(null);
@@ -242,8 +262,10 @@ public class FeedbackServiceImpl implements FeedbackService {
 
         feedbackRepo.save(feedback);
 
-        courseService.updateCourseStateOnFeedbackRemove(feedback.getCourse(), feedback.getCourseRating());
-        instructorService.updateInstructorStateOnFeedbackRemove(feedback.getCourse().getInstructor(), feedback.getInstructorRating());
+        // a restored feedback counts again
+        if (wasDeleted) {
+            ratingAggregates.onFeedbackAdded(feedback);
+        }
 
         return feedbackMapper.toResponse(feedback);
     }
@@ -269,8 +291,10 @@ public class FeedbackServiceImpl implements FeedbackService {
                 userId, feedbackId, accessor.getUsername()
         );
 
-        courseService.updateCourseStateOnFeedbackRemove(feedback.getCourse(), feedback.getCourseRating());
-        instructorService.updateInstructorStateOnFeedbackRemove(feedback.getCourse().getInstructor(), feedback.getInstructorRating());
+        // a soft-deleted feedback was already taken out of the aggregates
+        if (!feedback.isDeleted()) {
+            ratingAggregates.onFeedbackRemoved(feedback);
+        }
 
         feedbackRepo.deletePermanently(feedbackId);
     }
@@ -284,35 +308,36 @@ public class FeedbackServiceImpl implements FeedbackService {
         return Sort.by(direction, sortBy);
     }
 
+    // Any sort order, so this stays offset based: a Slice (one extra row, no COUNT) with a bounded page size.
+    // feedbackId breaks ties so rows don't move between pages; deep paging belongs on /scroll?courseId=.
     @Override
-    public Page<FeedbackResponseDTO> getSortedFeedbackByCourseId(int courseId,
-                                                                 int page,
-                                                                 int size,
-                                                                 String sort){
+    @org.springframework.transaction.annotation.Transactional(readOnly = true)
+    public Slice<FeedbackResponseDTO> getSortedFeedbackByCourseId(int courseId,
+                                                                  int page,
+                                                                  int size,
+                                                                  String sort){
         Sort sorting = sortingFunction(sort);
+        if (sorting.getOrderFor("feedbackId") == null) {
+            sorting = sorting.and(Sort.by(Sort.Direction.DESC, "feedbackId"));
+        }
 
         if(courseService.getCourseById(courseId) == null){
             throw new ResourceNotFoundException("Course not found!");
         }
-        Pageable pageable = PageRequest.of(page, size, sorting);
-        Page<Feedback> feedbacks = feedbackRepo.findByCourse_CourseId(courseId, pageable);
+        Pageable pageable = PageRequest.of(Math.max(page, 0), Math.clamp(size, 1, MAX_SCROLL_PAGE_SIZE), sorting);
+        Slice<Feedback> feedbacks = feedbackRepo.findByCourse_CourseId(courseId, pageable);
 
         return feedbacks.map(feedbackMapper::toResponse);
     }
 
 
     @Override
-    public List<FeedbackResponseDTO> getFilteredFeedback(int courseId, int minRating, int maxRating,
-                                                         LocalDate fromDate, LocalDate toDate, boolean anonymous) {
+    public CursorPage<FeedbackResponseDTO> getFilteredFeedback(Integer courseId, Integer minRating, Integer maxRating,
+                                                               LocalDate fromDate, LocalDate toDate, Boolean anonymous,
+                                                               String cursor, int size) {
         // parameters can be null
-        List<Feedback> feedbacks = feedbackRepo.filterFeedback(
-                courseId, minRating, maxRating, fromDate, toDate, anonymous
-        );
-
-        // It converts the feedbacks into FeedBackResponseDTO
-        return  feedbacks.stream()
-                .map(feedbackMapper::toResponse)
-                .collect(Collectors.toList());
+        return scrollFeedbacks(courseId, null, minRating, maxRating, null, null, anonymous,
+                fromDate, toDate, cursor, size);
     }
 
     @Override
@@ -372,37 +397,93 @@ public class FeedbackServiceImpl implements FeedbackService {
     }
 
     @Override
-    public List<FeedbackResponseDTO> searchFeedback(Integer courseId, Integer studentId,
-                                                    Integer minRating, String keyword,
-                                                    String studentName, Boolean anonymous,
-                                                    LocalDate fromDate, LocalDate toDate
+    public CursorPage<FeedbackResponseDTO> searchFeedback(Integer courseId, Integer studentId,
+                                                          Integer minRating, String keyword,
+                                                          String studentName, Boolean anonymous,
+                                                          LocalDate fromDate, LocalDate toDate,
+                                                          String cursor, int size
     ){
+        return scrollFeedbacks(courseId, studentId, minRating, null, keyword, studentName, anonymous,
+                fromDate, toDate, cursor, size);
+    }
+
+    // Keyset pagination over (submittedAt DESC, feedbackId DESC): each page seeks past the
+    // cursor instead of skipping OFFSET rows, and one extra row replaces the COUNT query.
+    @Override
+    @org.springframework.transaction.annotation.Transactional(readOnly = true)
+    public CursorPage<FeedbackResponseDTO> scrollFeedbacks(Integer courseId, Integer studentId,
+                                                           Integer minRating, Integer maxRating,
+                                                           String keyword, String studentName, Boolean anonymous,
+                                                           LocalDate fromDate, LocalDate toDate,
+                                                           String cursor, int size
+    ){
+        int pageSize = Math.clamp(size, 1, MAX_SCROLL_PAGE_SIZE);
         Specification<Feedback> specification = Specification.allOf(
                 FeedbackSpecification.hasCourseId(courseId),
                 FeedbackSpecification.hasStudentId(studentId),
                 FeedbackSpecification.courseRatingGreaterThan(minRating),
+                FeedbackSpecification.courseRatingAtMost(maxRating),
                 FeedbackSpecification.containsKeyword(keyword),
                 FeedbackSpecification.hasStudentName(studentName),
                 FeedbackSpecification.anonymousFeedbacks(anonymous),
-                FeedbackSpecification.feedbackSubmittedBetween(fromDate, toDate)
-                );
-        return feedbackRepo.findAll(specification).stream()
-                .map(feedbackMapper::toResponse)
+                FeedbackSpecification.feedbackSubmittedBetween(fromDate, toDate),
+                FeedbackSpecification.after(FeedbackCursor.decode(cursor))
+        );
+        List<Feedback> rows = feedbackRepo.findBy(specification, query -> query
+                .project(LISTING_PATHS)
+                .sortBy(KEYSET_ORDER)
+                .limit(pageSize + 1)
+                .all());
+
+        boolean hasNext = rows.size() > pageSize;
+        List<Feedback> page = hasNext ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            Feedback last = page.get(page.size() - 1);
+            nextCursor = new FeedbackCursor(last.getSubmittedAt(), last.getFeedbackId()).encode();
+        }
+        return new CursorPage<>(page.stream().map(feedbackMapper::toResponse).toList(), nextCursor);
+    }
+
+    // Ranked full-text search over course and instructor comments. Quoted text is matched as a phrase,
+    // other words as required prefixes (see FullTextQuery); one query for the ranked ids, one for the rows.
+    @Override
+    @org.springframework.transaction.annotation.Transactional(readOnly = true)
+    public Slice<FeedbackSearchHit> searchFeedbackText(String text, int page, int size) {
+        String booleanQuery = FullTextQuery.booleanMode(text);
+        if (booleanQuery == null) {
+            throw new BadRequestException("Search text needs at least one word of "
+                    + FullTextQuery.MIN_TOKEN_LENGTH + " or more characters.");
+        }
+        Pageable pageable = PageRequest.of(Math.max(page, 0), Math.clamp(size, 1, MAX_SCROLL_PAGE_SIZE));
+        Slice<FeedbackSearchScore> scores = feedbackRepo.searchComments(booleanQuery, FullTextQuery.likePattern(text), pageable);
+        if (scores.isEmpty()) {
+            return new SliceImpl<>(List.of(), pageable, false);
+        }
+
+        Map<Integer, Feedback> feedbacks = feedbackRepo.findByFeedbackIdIn(
+                        scores.stream().map(FeedbackSearchScore::feedbackId).toList()).stream()
+                .collect(Collectors.toMap(Feedback::getFeedbackId, Function.identity()));
+        List<FeedbackSearchHit> hits = scores.stream()
+                .filter(score -> feedbacks.containsKey(score.feedbackId()))
+                .map(score -> new FeedbackSearchHit(feedbackMapper.toResponse(feedbacks.get(score.feedbackId())), score.score()))
                 .toList();
+        return new SliceImpl<>(hits, pageable, scores.hasNext());
     }
 
+    // one cache per granularity (see TrendCacheResolver), keyed by the whole query
     @Override
     @Cacheable(
-            value = "feedbackTrends",
-            key = "'trends'"
+            cacheResolver = "trendCacheResolver",
+            key = "#query.cacheKey()"
     )
     @org.springframework.transaction.annotation.Transactional(readOnly = true)
-    public List<FeedbackTrendDTO> getFeedbackTrends(String groupBy){
-        return switch (groupBy.toUpperCase()){
-            case "DAY" -> feedbackRepo.getDailyTrends();
-            case "MONTH" -> feedbackRepo.getMonthlyTrends();
-            case "YEAR" -> feedbackRepo.getYearlyTrends();
-            default -> feedbackRepo.getMonthlyTrends();
+    public List<FeedbackTrendDTO> getFeedbackTrends(TrendQuery query){
+        // served from the feedback_daily_stats rollup, not the feedback table
+        return switch (query.granularity()){
+            case DAY -> dailyStatsRepo.getDailyTrends(query.from(), query.to(), query.courseId(), query.instructorId());
+            case MONTH -> dailyStatsRepo.getMonthlyTrends(query.from(), query.to(), query.courseId(), query.instructorId());
+            case YEAR -> dailyStatsRepo.getYearlyTrends(query.from(), query.to(), query.courseId(), query.instructorId());
         };
     }
 
@@ -413,21 +494,27 @@ public class FeedbackServiceImpl implements FeedbackService {
     )
     @org.springframework.transaction.annotation.Transactional(readOnly = true)
     public List<RatingDistributionDTO> getFeedbackRatings() {
-        return feedbackRepo.getRatingDistribution();
+        return dailyStatsRepo.getCourseStarHistogram().toDistribution();
     }
 
 
+    @org.springframework.transaction.annotation.Transactional(readOnly = true)
     public Double avgRatingOfInstructorsLast7days(){
         LocalDate sevenDaysLess = LocalDate.now().minusDays(7);
-        return feedbackRepo.avgInstructRatingLast7Days(sevenDaysLess);
+        return dailyStatsRepo.avgInstructorRatingSince(sevenDaysLess);
     }
 
+    @org.springframework.transaction.annotation.Transactional(readOnly = true)
     public Double avgRatingOfCoursesLast7days(){
         LocalDate sevenDaysLess = LocalDate.now().minusDays(7);
-        return feedbackRepo.avgCourseRatingLast7Days(sevenDaysLess);
+        return dailyStatsRepo.avgCourseRatingSince(sevenDaysLess);
     }
 
+    // same [rating, count] rows the old GROUP BY query returned
+    @org.springframework.transaction.annotation.Transactional(readOnly = true)
     public List<Object[]> instructorRatingDistribution(Integer instructorId){
-        return feedbackRepo.ratingDistribution(instructorId);
+        return dailyStatsRepo.getInstructorStarHistogram(instructorId).toDistribution().stream()
+                .map(row -> new Object[]{row.rating(), row.count()})
+                .toList();
     }
 }
@@ -13,11 +13,12 @@ import com.feedbacks.FeedbackSystem.model.Course;
 import com.feedbacks.FeedbackSystem.model.Instructor;
 import com.feedbacks.FeedbackSystem.repository.CourseRepository;
 import com.feedbacks.FeedbackSystem.repository.InstructorRepository;
+import com.feedbacks.FeedbackSystem.service.autocomplete.AutocompleteService;
+import com.feedbacks.FeedbackSystem.service.cache.RankingCacheIndex;
 import com.feedbacks.FeedbackSystem.service.interfaces.InstructorService;
 import com.feedbacks.FeedbackSystem.specification.InstructorSpecification;
 import jakarta.transaction.Transactional;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -25,7 +26,9 @@ import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @Service
@@ -34,11 +37,15 @@ public class InstructorServiceImpl implements InstructorService {
     private final InstructorRepository instructorRepo;
     private final CourseRepository courseRepo;
     private final InstructorMapper instructorMapper;
+    private final RankingCacheIndex cacheIndex;
+    private final AutocompleteService autocomplete;
 
-    public InstructorServiceImpl(InstructorRepository instructorRepo, CourseRepository courseRepo, InstructorMapper instructorMapper) {
+    public InstructorServiceImpl(InstructorRepository instructorRepo, CourseRepository courseRepo, InstructorMapper instructorMapper, RankingCacheIndex cacheIndex, AutocompleteService autocomplete) {
         this.instructorRepo = instructorRepo;
         this.courseRepo = courseRepo;
         this.instructorMapper = instructorMapper;
+        this.cacheIndex = cacheIndex;
+        this.autocomplete = autocomplete;
     }
 
 
@@ -60,34 +67,6 @@ public class InstructorServiceImpl implements InstructorService {
         return instructorMapper.toResponse(instructor);
     }
 
-    @Transactional
-    @Override
-    public void updateInstructorStateOnFeedbackAdd(Instructor instructor, int rating, boolean isEditing){
-        long count = instructor.getFeedbackCount();
-        if (!isEditing){
-            count += 1;
-        }
-        double avgRating = ((instructor.getAvgRating() * instructor.getFeedbackCount()) + rating) / count;
-        instructor.setAvgRating(avgRating);
-        instructor.setFeedbackCount(count);
-    }
-
-    @Transactional
-    @Override
-    public void updateInstructorStateOnFeedbackRemove(Instructor instructor, int rating){
-        long count = instructor.getFeedbackCount() - 1;
-
-        if (count == 0){
-            instructor.setFeedbackCount(0L);
-            instructor.setAvgRating(0.0);
-            return;
-        }
-
-        double avgRating = ((instructor.getAvgRating() * count + 1) - rating) / count;
-        instructor.setFeedbackCount(count);
-        instructor.setAvgRating(avgRating);
-    }
-
     @Override
     public InstructorResponseDTO addInstructor(InstructorRequestDTO requestDTO) {
         Instructor instructor = instructorMapper.toEntity(requestDTO);
@@ -95,7 +74,9 @@ public class InstructorServiceImpl implements InstructorService {
                 "event=INSTRUCTOR_CREATED instructorName={}",
                 requestDTO.getInstructorName()
         );
-        return instructorMapper.toResponse(instructorRepo.save(instructor));
+        Instructor saved = instructorRepo.save(instructor);
+        autocomplete.instructorChanged(saved);
+        return instructorMapper.toResponse(saved);
     }
 
     @Override
@@ -106,7 +87,9 @@ public class InstructorServiceImpl implements InstructorService {
                 "event=INSTRUCTOR_UPDATED instructorId={} instructorName={}",
                 instructorId, requestDTO.getInstructorName()
         );
-        return instructorMapper.toResponse(instructorRepo.save(exist));
+        Instructor saved = instructorRepo.save(exist);
+        autocomplete.instructorChanged(saved);
+        return instructorMapper.toResponse(saved);
     }
 
     @Override
@@ -119,6 +102,7 @@ public class InstructorServiceImpl implements InstructorService {
                 instructorId, instructor.getDeletedBy()
         );
         instructorRepo.delete(instructor);
+        autocomplete.instructorRemoved(instructorId);
     }
 
     @Override
@@ -188,6 +172,7 @@ public class InstructorServiceImpl implements InstructorService {
         instructor.setDeletedAt(null);
         instructor.setRestoredBy(SecurityContextHolder.getContext().getAuthentication().getName());
         instructorRepo.save(instructor);
+        autocomplete.instructorChanged(instructor);
         return instructorMapper.toResponse(instructor);
 
     }
@@ -258,14 +243,16 @@ public class InstructorServiceImpl implements InstructorService {
     }
 
 
+    // cached through RankingCacheIndex rather than @Cacheable, so the page is indexed only after it is put
     @Override
-    @Cacheable(
-            value = "TopInstructors",
-            key = "#page +':'+ #size"
-    )
     @org.springframework.transaction.annotation.Transactional(readOnly = true)
     public List<InstructorRankingDTO> getTopRatedInstructor(int page, int size){
-        return instructorRepo.getTopRatedInstructor(PageRequest.of(page, size));
+        return cacheIndex.getOrLoad("TopInstructors", page + ":" + size,
+                () -> instructorRepo.getTopRatedInstructor(PageRequest.of(page, size)), ranking -> {
+                    Map<Integer, Double> ratings = new LinkedHashMap<>();
+                    ranking.forEach(instructor -> ratings.put(instructor.instructorId(), instructor.instructorRating()));
+                    return ratings;
+                });
     }
 }
 
@@ -9,6 +9,7 @@ import com.feedbacks.FeedbackSystem.Exception.ResourceNotFoundException;
 import com.feedbacks.FeedbackSystem.mapper.UserMapper;
 import com.feedbacks.FeedbackSystem.model.User;
 import com.feedbacks.FeedbackSystem.repository.UserRepository;
+import com.feedbacks.FeedbackSystem.security.UserDetailsCache;
 import com.feedbacks.FeedbackSystem.service.interfaces.UserService;
 import com.feedbacks.FeedbackSystem.specification.UserSpecification;
 import lombok.extern.slf4j.Slf4j;
@@ -28,10 +29,12 @@ public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepo;
     private final UserMapper userMapper;
+    private final UserDetailsCache userDetailsCache;
 
-    public UserServiceImpl(UserRepository userRepo, UserMapper userMapper) {
+    public UserServiceImpl(UserRepository userRepo, UserMapper userMapper, UserDetailsCache userDetailsCache) {
         this.userRepo = userRepo;
         this.userMapper = userMapper;
+        this.userDetailsCache = userDetailsCache;
     }
 
     @Override
@@ -102,8 +105,12 @@ public class UserServiceImpl implements UserService {
         }
 
         User userExist = getUserById(userId);
+        String previousEmail = userExist.getEmail();
         userExist = userMapper.toEntity(userExist, userRequestDTO);
         userRepo.save(userExist);
+        // password, role or email may have changed: drop the cached login details
+        userDetailsCache.evict(previousEmail);
+        userDetailsCache.evict(userExist.getEmail());
         log.info(
                 "event=USER_UPDATED userId={} userName={} userIdentity={}",
                 userExist.getUserId(), userExist.getUsername(), userExist.getIdentityNo()
@@ -113,11 +120,11 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public void deleteByUserId(int userId) {
-        if(!userRepo.existsById(userId)){
-            throw new ResourceNotFoundException("User not exist - ID:"+userId);
-        }
+        User user = userRepo.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not exist - ID:"+userId));
 
         userRepo.deleteById(userId);
+        userDetailsCache.evict(user.getEmail());
         log.info(
                 "event=USER_DELETED userId={}",
                 userId
@@ -1,5 +1,6 @@
 package com.feedbacks.FeedbackSystem.specification;
 
+import com.feedbacks.FeedbackSystem.DTO.FeedbackCursor;
 import com.feedbacks.FeedbackSystem.model.Feedback;
 import org.springframework.data.jpa.domain.Specification;
 
@@ -22,16 +23,42 @@ public class FeedbackSpecification {
                 courseRating == null ? null : criteriaBuilder.greaterThanOrEqualTo(root.get("courseRating"), courseRating));
     }
 
+    public static Specification<Feedback> courseRatingAtMost(Integer courseRating) {
+        return ((root, query, criteriaBuilder) ->
+                courseRating == null ? null : criteriaBuilder.lessThanOrEqualTo(root.get("courseRating"), courseRating));
+    }
+
+    // FULLTEXT match on course and instructor comments (ft_feedback_comments);
+    // keywords too short for the index fall back to the substring scan
     public static Specification<Feedback> containsKeyword(String keyword) {
-        return (root, query, criteriaBuilder) ->
-                keyword == null || keyword.isEmpty() ? null
-                        : criteriaBuilder.like(criteriaBuilder.lower(root.get("courseComment")), "%" + keyword.toLowerCase() + "%");
+        return (root, query, criteriaBuilder) -> {
+            if (keyword == null || keyword.isBlank()) return null;
+            String booleanQuery = FullTextQuery.booleanMode(keyword);
+            if (booleanQuery == null) {
+                return criteriaBuilder.like(criteriaBuilder.lower(root.get("courseComment")), FullTextQuery.likePattern(keyword));
+            }
+            return criteriaBuilder.greaterThan(
+                    criteriaBuilder.function("text_match2", Double.class,
+                            root.get("courseComment"), root.get("instructorComment"),
+                            criteriaBuilder.literal(booleanQuery), criteriaBuilder.literal(FullTextQuery.likePattern(keyword))),
+                    0.0);
+        };
     }
 
+    // FULLTEXT word-prefix match on the student's username (ft_users_username)
     public static Specification<Feedback> hasStudentName(String studentName) {
-        return ((root, query, criteriaBuilder) ->
-                studentName == null || studentName.isEmpty() ? null
-                        : criteriaBuilder.like(root.join("student").get("username"), "%" + studentName.toLowerCase() + "%"));
+        return (root, query, criteriaBuilder) -> {
+            if (studentName == null || studentName.isBlank()) return null;
+            String booleanQuery = FullTextQuery.booleanMode(studentName);
+            if (booleanQuery == null) {
+                return criteriaBuilder.like(criteriaBuilder.lower(root.join("student").get("username")), FullTextQuery.likePattern(studentName));
+            }
+            return criteriaBuilder.greaterThan(
+                    criteriaBuilder.function("text_match", Double.class,
+                            root.join("student").get("username"),
+                            criteriaBuilder.literal(booleanQuery), criteriaBuilder.literal(FullTextQuery.likePattern(studentName))),
+                    0.0);
+        };
     }
 
     public static Specification<Feedback> feedbackSubmittedBetween(LocalDate fromDate, LocalDate toDate) {
@@ -55,4 +82,18 @@ public class FeedbackSpecification {
             return cb.equal(root.get("anonymous"), onlyAnonymous);
         };
     }
+
+    // Keyset predicate for (submittedAt DESC, feedbackId DESC): rows strictly after the cursor
+    public static Specification<Feedback> after(FeedbackCursor cursor) {
+        return (root, query, cb) -> {
+            if (cursor == null) return null;
+            return cb.or(
+                    cb.lessThan(root.get("submittedAt"), cursor.submittedAt()),
+                    cb.and(
+                            cb.equal(root.get("submittedAt"), cursor.submittedAt()),
+                            cb.lessThan(root.get("feedbackId"), cursor.feedbackId())
+                    )
+            );
+        };
+    }
 }
@@ -0,0 +1,57 @@
+package com.feedbacks.FeedbackSystem.specification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// User search text -> MySQL boolean-mode FULLTEXT query. "quoted text" stays a phrase, every other
+// word becomes a required prefix term (+word*). Operator characters are stripped so user input can
+// never produce a syntax error, and words shorter than InnoDB's default token size (3) are dropped
+// because the index does not contain them.
+public final class FullTextQuery {
+
+    public static final int MIN_TOKEN_LENGTH = 3;
+
+    private static final Pattern PHRASE_OR_WORD = Pattern.compile("\"([^\"]*)\"|(\\S+)");
+    private static final Pattern NOT_WORD = Pattern.compile("[^\\p{L}\\p{N}_']+");
+
+    private FullTextQuery() {
+    }
+
+    // null when nothing searchable is left
+    public static String booleanMode(String text) {
+        if (text == null || text.isBlank()) {
+            return null;
+        }
+        List<String> terms = new ArrayList<>();
+        Matcher matcher = PHRASE_OR_WORD.matcher(text);
+        while (matcher.find()) {
+            if (matcher.group(1) != null) {
+                String phrase = NOT_WORD.matcher(matcher.group(1)).replaceAll(" ").trim();
+                if (!phrase.isEmpty()) {
+                    terms.add(phrase.contains(" ") ? "+\"" + phrase + "\"" : word(phrase));
+                }
+            } else {
+                for (String part : NOT_WORD.split(matcher.group(2))) {
+                    if (part.length() >= MIN_TOKEN_LENGTH) {
+                        terms.add(word(part));
+                    }
+                }
+            }
+        }
+        terms.removeIf(String::isEmpty);
+        return terms.isEmpty() ? null : String.join(" ", terms);
+    }
+
+    // substring pattern used by databases without FULLTEXT (H2 in tests), see FullTextFunctionContributor
+    public static String likePattern(String text) {
+        String plain = text == null ? "" : text.replace("\"", "").trim().toLowerCase(Locale.ROOT);
+        return "%" + plain.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+    }
+
+    private static String word(String word) {
+        return word.length() < MIN_TOKEN_LENGTH ? "" : "+" + word + "*";
+    }
+}
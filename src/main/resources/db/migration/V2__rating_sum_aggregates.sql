@@ -0,0 +1,30 @@
+-- Course and instructor aggregates are kept as an exact sum + count.
+-- avg_rating stays as a derived column so the ranking queries keep reading it.
+ALTER TABLE `course`
+    ADD COLUMN `rating_sum` BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE `instructor`
+    ADD COLUMN `rating_sum` BIGINT NOT NULL DEFAULT 0;
+
+-- rebuild both aggregates from the live feedback rows
+UPDATE `course` c
+SET c.`rating_sum` = (SELECT COALESCE(SUM(f.`course_rating`), 0)
+                      FROM `feedback` f
+                      WHERE f.`course_id` = c.`course_id` AND f.`is_deleted` = 0),
+    c.`feedback_count` = (SELECT COUNT(*)
+                          FROM `feedback` f
+                          WHERE f.`course_id` = c.`course_id` AND f.`is_deleted` = 0);
+
+UPDATE `course`
+SET `avg_rating` = CASE WHEN `feedback_count` > 0 THEN `rating_sum` / `feedback_count` ELSE 0 END;
+
+UPDATE `instructor` i
+SET i.`rating_sum` = (SELECT COALESCE(SUM(f.`instructor_rating`), 0)
+                      FROM `feedback` f
+                      WHERE f.`instructor_id` = i.`instructor_id` AND f.`is_deleted` = 0),
+    i.`feedback_count` = (SELECT COUNT(*)
+                          FROM `feedback` f
+                          WHERE f.`instructor_id` = i.`instructor_id` AND f.`is_deleted` = 0);
+
+UPDATE `instructor`
+SET `avg_rating` = CASE WHEN `feedback_count` > 0 THEN `rating_sum` / `feedback_count` ELSE 0 END;
@@ -0,0 +1,43 @@
+-- Daily rollup of live (not soft-deleted) feedback per course and instructor.
+-- Trend, distribution and 7-day average endpoints read this instead of grouping the feedback table.
+CREATE TABLE `feedback_daily_stats` (
+   `stat_day` DATE NOT NULL,
+   `course_id` INT NOT NULL,
+   `instructor_id` INT NOT NULL,
+   `feedback_count` BIGINT NOT NULL DEFAULT 0,
+   `course_rating_sum` BIGINT NOT NULL DEFAULT 0,
+   `instructor_rating_sum` BIGINT NOT NULL DEFAULT 0,
+   `course_stars_1` BIGINT NOT NULL DEFAULT 0,
+   `course_stars_2` BIGINT NOT NULL DEFAULT 0,
+   `course_stars_3` BIGINT NOT NULL DEFAULT 0,
+   `course_stars_4` BIGINT NOT NULL DEFAULT 0,
+   `course_stars_5` BIGINT NOT NULL DEFAULT 0,
+   `instructor_stars_1` BIGINT NOT NULL DEFAULT 0,
+   `instructor_stars_2` BIGINT NOT NULL DEFAULT 0,
+   `instructor_stars_3` BIGINT NOT NULL DEFAULT 0,
+   `instructor_stars_4` BIGINT NOT NULL DEFAULT 0,
+   `instructor_stars_5` BIGINT NOT NULL DEFAULT 0,
+   PRIMARY KEY (`stat_day`, `course_id`, `instructor_id`),
+   KEY `idx_daily_stats_instructor` (`instructor_id`, `stat_day`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+-- backfill from existing feedback
+INSERT INTO `feedback_daily_stats`
+    (`stat_day`, `course_id`, `instructor_id`, `feedback_count`, `course_rating_sum`, `instructor_rating_sum`,
+     `course_stars_1`, `course_stars_2`, `course_stars_3`, `course_stars_4`, `course_stars_5`,
+     `instructor_stars_1`, `instructor_stars_2`, `instructor_stars_3`, `instructor_stars_4`, `instructor_stars_5`)
+SELECT f.`submitted_at`, f.`course_id`, f.`instructor_id`,
+       COUNT(*), SUM(f.`course_rating`), SUM(f.`instructor_rating`),
+       SUM(CASE WHEN f.`course_rating` = 1 THEN 1 ELSE 0 END),
+       SUM(CASE WHEN f.`course_rating` = 2 THEN 1 ELSE 0 END),
+       SUM(CASE WHEN f.`course_rating` = 3 THEN 1 ELSE 0 END),
+       SUM(CASE WHEN f.`course_rating` = 4 THEN 1 ELSE 0 END),
+       SUM(CASE WHEN f.`course_rating` = 5 THEN 1 ELSE 0 END),
+       SUM(CASE WHEN f.`instructor_rating` = 1 THEN 1 ELSE 0 END),
+       SUM(CASE WHEN f.`instructor_rating` = 2 THEN 1 ELSE 0 END),
+       SUM(CASE WHEN f.`instructor_rating` = 3 THEN 1 ELSE 0 END),
+       SUM(CASE WHEN f.`instructor_rating` = 4 THEN 1 ELSE 0 END),
+       SUM(CASE WHEN f.`instructor_rating` = 5 THEN 1 ELSE 0 END)
+FROM `feedback` f
+WHERE f.`is_deleted` = 0 AND f.`submitted_at` IS NOT NULL AND f.`course_id` IS NOT NULL
+GROUP BY f.`submitted_at`, f.`course_id`, f.`instructor_id`;
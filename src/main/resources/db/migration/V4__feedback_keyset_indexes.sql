@@ -0,0 +1,5 @@
+-- Composite indexes for keyset (seek) pagination ordered by (submitted_at DESC, feedback_id DESC).
+-- The leading equality column lets course/student scoped pages read the index in order without a filesort.
+CREATE INDEX `idx_feedback_keyset` ON `feedback` (`submitted_at`, `feedback_id`);
+CREATE INDEX `idx_feedback_course_keyset` ON `feedback` (`course_id`, `submitted_at`, `feedback_id`);
+CREATE INDEX `idx_feedback_student_keyset` ON `feedback` (`student_id`, `submitted_at`, `feedback_id`);
@@ -0,0 +1,19 @@
+-- Asynchronous report exports. Output files live in feedback.export.directory and are purged with the row at expires_at.
+CREATE TABLE `export_jobs` (
+   `job_id` VARCHAR(36) NOT NULL,
+   `report` VARCHAR(20) NOT NULL,
+   `format` VARCHAR(10) NOT NULL,
+   `status` VARCHAR(20) NOT NULL,
+   `requested_by` VARCHAR(255),
+   `rows_written` BIGINT NOT NULL DEFAULT 0,
+   `total_rows` BIGINT,
+   `file_path` VARCHAR(255),
+   `file_size` BIGINT,
+   `error` VARCHAR(500),
+   `created_at` DATETIME(6) NOT NULL,
+   `started_at` DATETIME(6),
+   `completed_at` DATETIME(6),
+   `expires_at` DATETIME(6),
+   PRIMARY KEY (`job_id`),
+   KEY `idx_export_jobs_expires_at` (`expires_at`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
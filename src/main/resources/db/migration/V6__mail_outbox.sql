@@ -0,0 +1,17 @@
+-- Outgoing mail is written here first and delivered by MailOutboxDispatcher (batched, rate limited, retried with backoff).
+CREATE TABLE `mail_outbox` (
+   `id` BIGINT NOT NULL AUTO_INCREMENT,
+   `recipients` TEXT NOT NULL,
+   `bcc` BIT(1) NOT NULL,
+   `subject` VARCHAR(255) NOT NULL,
+   `html_body` MEDIUMTEXT NOT NULL,
+   `status` VARCHAR(20) NOT NULL,
+   `attempts` INT NOT NULL DEFAULT 0,
+   `next_attempt_at` DATETIME(6) NOT NULL,
+   `claimed_at` DATETIME(6),
+   `last_error` VARCHAR(500),
+   `created_at` DATETIME(6) NOT NULL,
+   `sent_at` DATETIME(6),
+   PRIMARY KEY (`id`),
+   KEY `idx_mail_outbox_due` (`status`, `next_attempt_at`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
@@ -0,0 +1,7 @@
+-- Keyword search on comments and student names goes through MATCH ... AGAINST instead of LIKE '%kw%'
+-- (see FullTextFunctionContributor). InnoDB keeps both indexes in sync on insert, update and delete.
+ALTER TABLE `feedback`
+    ADD FULLTEXT INDEX `ft_feedback_comments` (`course_comment`, `instructor_comment`);
+
+ALTER TABLE `users`
+    ADD FULLTEXT INDEX `ft_users_username` (`username`);
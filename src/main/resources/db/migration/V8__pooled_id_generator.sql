@@ -0,0 +1,21 @@
+-- Feedback, course, enrollment and users ids come from id_generator (@TableGenerator, pooled-lo) instead of
+-- AUTO_INCREMENT, so Hibernate can batch their INSERTs. Each row holds the last id handed out; Hibernate
+-- reserves 50 ids per round trip, JDBC batch writers a whole block through IdBlockAllocator.
+-- AUTO_INCREMENT stays on the columns for manual inserts, but the application always supplies the id.
+CREATE TABLE `id_generator` (
+   `sequence_name` VARCHAR(255) NOT NULL,
+   `next_val` BIGINT NOT NULL,
+   PRIMARY KEY (`sequence_name`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+INSERT INTO `id_generator` (`sequence_name`, `next_val`)
+SELECT 'feedback', COALESCE(MAX(`feedback_id`), 0) FROM `feedback`;
+
+INSERT INTO `id_generator` (`sequence_name`, `next_val`)
+SELECT 'course', COALESCE(MAX(`course_id`), 0) FROM `course`;
+
+INSERT INTO `id_generator` (`sequence_name`, `next_val`)
+SELECT 'enrollment', COALESCE(MAX(`enroll_id`), 0) FROM `enrollment`;
+
+INSERT INTO `id_generator` (`sequence_name`, `next_val`)
+SELECT 'users', COALESCE(MAX(`user_id`), 0) FROM `users`;
@@ -0,0 +1,6 @@
+-- Export jobs run in memory on the node that accepted them, and their files live on that node's disk.
+-- owner_node records that node so a restart only fails its own unfinished jobs, not jobs other nodes are running.
+-- Rows from before this column are left NULL and are never touched by the startup sweep.
+ALTER TABLE `export_jobs`
+    ADD COLUMN `owner_node` VARCHAR(64) NULL AFTER `requested_by`,
+    ADD KEY `idx_export_jobs_owner_status` (`owner_node`, `status`);
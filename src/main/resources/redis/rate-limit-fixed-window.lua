@@ -0,0 +1,16 @@
+-- Fixed window counter. KEYS[1]: counter of the current window (window start is part of the key)
+-- ARGV[1]: limit, ARGV[2]: milliseconds until the window ends, ARGV[3]: requests to count (1, more when
+-- reconciling usage counted locally while Redis was unreachable)
+-- Returns {allowed, remaining, milliseconds until reset}
+local limit = tonumber(ARGV[1])
+local count = redis.call('INCRBY', KEYS[1], tonumber(ARGV[3] or '1'))
+-- INCRBY and PEXPIRE in one script: the counter can never be left without a TTL
+local ttl = redis.call('PTTL', KEYS[1])
+if ttl < 0 then
+    redis.call('PEXPIRE', KEYS[1], ARGV[2])
+    ttl = tonumber(ARGV[2])
+end
+if count > limit then
+    return {0, 0, ttl}
+end
+return {1, limit - count, ttl}
@@ -0,0 +1,27 @@
+-- Sliding window log: one sorted-set member per accepted request, scored by Redis server time.
+-- KEYS[1]: log key, ARGV[1]: limit, ARGV[2]: window in milliseconds, ARGV[3]: unique member prefix,
+-- ARGV[4]: requests (default 1), ARGV[5]: '1' to record them even over the limit (reconciliation)
+-- Returns {allowed, remaining, milliseconds until the oldest request leaves the window}
+local limit = tonumber(ARGV[1])
+local window = tonumber(ARGV[2])
+local cost = tonumber(ARGV[4] or '1')
+local force = ARGV[5] == '1'
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+
+redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', now - window)
+local count = redis.call('ZCARD', KEYS[1])
+if count + cost > limit and not force then
+    local oldest = redis.call('ZRANGE', KEYS[1], 0, 0, 'WITHSCORES')
+    if oldest[2] == nil then
+        return {0, 0, window}
+    end
+    return {0, 0, tonumber(oldest[2]) + window - now}
+end
+
+for i = 1, cost do
+    redis.call('ZADD', KEYS[1], now, ARGV[3] .. ':' .. i)
+end
+redis.call('PEXPIRE', KEYS[1], window)
+local oldest = redis.call('ZRANGE', KEYS[1], 0, 0, 'WITHSCORES')
+return {1, math.max(0, limit - count - cost), tonumber(oldest[2]) + window - now}
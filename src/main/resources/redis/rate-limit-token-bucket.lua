@@ -0,0 +1,33 @@
+-- Token bucket of `limit` tokens, refilled continuously so an empty bucket is full again after `window`.
+-- KEYS[1]: bucket hash {tokens, ts}, ARGV[1]: capacity, ARGV[2]: full refill time in milliseconds,
+-- ARGV[3]: tokens to take (default 1), ARGV[4]: '1' to take them even from a short bucket (reconciliation)
+-- Returns {allowed, whole tokens left, milliseconds until the next token (denied) or a full bucket (allowed)}
+local capacity = tonumber(ARGV[1])
+local window = tonumber(ARGV[2])
+local cost = tonumber(ARGV[3] or '1')
+local force = ARGV[4] == '1'
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+local rate = capacity / window
+
+local state = redis.call('HMGET', KEYS[1], 'tokens', 'ts')
+local tokens = tonumber(state[1]) or capacity
+local ts = tonumber(state[2]) or now
+tokens = math.min(capacity, tokens + math.max(0, now - ts) * rate)
+
+local allowed = 0
+if tokens >= cost then
+    tokens = tokens - cost
+    allowed = 1
+elseif force then
+    tokens = 0
+    allowed = 1
+end
+redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'ts', tostring(now))
+-- an untouched bucket is full again after one window, so it can simply expire
+redis.call('PEXPIRE', KEYS[1], window)
+
+if allowed == 1 then
+    return {1, math.floor(tokens), math.ceil((capacity - tokens) / rate)}
+end
+return {0, 0, math.ceil((1 - tokens) / rate)}
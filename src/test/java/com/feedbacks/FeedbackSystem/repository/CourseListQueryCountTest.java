@@ -0,0 +1,104 @@
+package com.feedbacks.FeedbackSystem.repository;
+
+import com.feedbacks.FeedbackSystem.mapper.CourseMapper;
+import com.feedbacks.FeedbackSystem.mapper.InstructorMapper;
+import com.feedbacks.FeedbackSystem.model.Course;
+import com.feedbacks.FeedbackSystem.model.Instructor;
+import com.feedbacks.FeedbackSystem.service.autocomplete.AutocompleteService;
+import com.feedbacks.FeedbackSystem.service.cache.RankingCacheIndex;
+import com.feedbacks.FeedbackSystem.service.serviceImple.CourseServiceImpl;
+import com.feedbacks.FeedbackSystem.service.serviceImple.InstructorServiceImpl;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+// Course list endpoints must map every row from a single SELECT: the instructor name comes
+// from the fetched association, not from one lookup per course (N+1).
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({CourseServiceImpl.class, CourseMapper.class, InstructorServiceImpl.class})
+class CourseListQueryCountTest {
+
+    private static final int COURSES = 6;
+
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private CourseServiceImpl courseService;
+
+    @MockitoBean
+    private RankingCacheIndex cacheIndex;
+    @MockitoBean
+    private InstructorMapper instructorMapper;
+    @MockitoBean
+    private AutocompleteService autocomplete;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        Instructor[] instructors = new Instructor[3];
+        for (int i = 0; i < instructors.length; i++) {
+            instructors[i] = new Instructor();
+            instructors[i].setInstructorName("Instructor " + i);
+            entityManager.persist(instructors[i]);
+        }
+        for (int i = 0; i < COURSES; i++) {
+            Course course = new Course();
+            course.setCourseName("Course " + i);
+            course.setCourseDescription("Description " + i);
+            // one course without instructor
+            course.setInstructor(i == 0 ? null : instructors[i % instructors.length]);
+            entityManager.persist(course);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void getAllCoursesDTOUsesOneStatement() {
+        Assertions.assertEquals(COURSES, courseService.getAllCoursesDTO().size());
+        Assertions.assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void searchCourseUsesOneStatement() {
+        Assertions.assertEquals(COURSES, courseService.searchCourse(null, null, null, null).size());
+        Assertions.assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void searchCourseByNameUsesOneStatement() {
+        Assertions.assertEquals(COURSES, courseService.searchCourseByName("course").size());
+        Assertions.assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getCoursesScalableUsesOneStatementPerQuery() {
+        // filters are OR-ed, the name filter matches every course; page 0 holds every row,
+        // so Spring Data skips the count query
+        var page = courseService.getCoursesScalable(null, "course", null, null, null, null, 0.0,
+                "courseName", "ASC", 0, 20);
+
+        Assertions.assertEquals(COURSES, page.getContent().size());
+        Assertions.assertEquals("Instructor 1", page.getContent().get(1).getInstructorName());
+        Assertions.assertEquals(1, statistics.getPrepareStatementCount());
+    }
+}
@@ -0,0 +1,193 @@
+package com.feedbacks.FeedbackSystem.repository;
+
+import com.feedbacks.FeedbackSystem.DTO.CursorPage;
+import com.feedbacks.FeedbackSystem.DTO.EntityDTO.responseDTOs.FeedbackResponseDTO;
+import com.feedbacks.FeedbackSystem.Exception.BadRequestException;
+import com.feedbacks.FeedbackSystem.configure.FeedbackMetrics;
+import com.feedbacks.FeedbackSystem.mapper.FeedbackMapper;
+import com.feedbacks.FeedbackSystem.model.Course;
+import com.feedbacks.FeedbackSystem.model.Feedback;
+import com.feedbacks.FeedbackSystem.model.Instructor;
+import com.feedbacks.FeedbackSystem.model.User;
+import com.feedbacks.FeedbackSystem.service.aggregate.RatingAggregateService;
+import com.feedbacks.FeedbackSystem.service.serviceImple.CourseServiceImpl;
+import com.feedbacks.FeedbackSystem.service.serviceImple.FeedbackRateLimiterService;
+import com.feedbacks.FeedbackSystem.service.serviceImple.FeedbackServiceImpl;
+import com.feedbacks.FeedbackSystem.service.serviceImple.InstructorServiceImpl;
+import com.feedbacks.FeedbackSystem.service.serviceImple.UserServiceImpl;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// Feedback listings load course, instructor and student with the feedback rows (Feedback.listing graph):
+// one statement per list, or per page plus its count query.
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({FeedbackServiceImpl.class, FeedbackMapper.class})
+class FeedbackListQueryCountTest {
+
+    private static final int FEEDBACKS = 12;
+
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private FeedbackServiceImpl feedbackService;
+
+    @MockitoBean
+    private UserServiceImpl userService;
+    @MockitoBean
+    private CourseServiceImpl courseService;
+    @MockitoBean
+    private InstructorServiceImpl instructorService;
+    @MockitoBean
+    private FeedbackRateLimiterService rateLimiterService;
+    @MockitoBean
+    private FeedbackMetrics feedbackMetrics;
+    @MockitoBean
+    private RatingAggregateService ratingAggregates;
+
+    private Statistics statistics;
+    private int studentId;
+    private int courseId;
+
+    @BeforeEach
+    void setUp() {
+        Instructor[] instructors = new Instructor[2];
+        Course[] courses = new Course[3];
+        User[] students = new User[4];
+        for (int i = 0; i < instructors.length; i++) {
+            instructors[i] = new Instructor();
+            instructors[i].setInstructorName("Instructor " + i);
+            entityManager.persist(instructors[i]);
+        }
+        for (int i = 0; i < courses.length; i++) {
+            courses[i] = new Course();
+            courses[i].setCourseName("Course " + i);
+            courses[i].setInstructor(instructors[i % instructors.length]);
+            entityManager.persist(courses[i]);
+        }
+        for (int i = 0; i < students.length; i++) {
+            students[i] = new User();
+            students[i].setUsername("student" + i);
+            students[i].setEmail("student" + i + "@test.local");
+            students[i].setPassword("secret");
+            students[i].setRole(User.Role.STUDENT);
+            entityManager.persist(students[i]);
+        }
+        for (int i = 0; i < FEEDBACKS; i++) {
+            Feedback feedback = new Feedback();
+            feedback.setCourseRating(1 + i % 5);
+            feedback.setInstructorRating(1 + i % 5);
+            feedback.setCourseComment("comment " + i);
+            feedback.setAnonymous(i % 4 == 0);
+            feedback.setSubmittedAt(LocalDate.now().minusDays(i % 3));
+            feedback.setCourse(courses[i % courses.length]);
+            feedback.setInstructor(courses[i % courses.length].getInstructor());
+            feedback.setStudent(students[i % students.length]);
+            entityManager.persist(feedback);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        studentId = students[1].getUserId();
+        courseId = courses[0].getCourseId();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void getFeedbacksUsesOneStatement() {
+        CursorPage<FeedbackResponseDTO> feedbacks = feedbackService.getFeedbacks(null, 20);
+
+        Assertions.assertEquals(FEEDBACKS, feedbacks.getContent().size());
+        Assertions.assertFalse(feedbacks.isHasNext());
+        Assertions.assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void searchFeedbackUsesOneStatement() {
+        Assertions.assertEquals(FEEDBACKS, feedbackService.searchFeedback(null, null, null, "comment", null, null, null, null,
+                null, 20).getContent().size());
+        Assertions.assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getFeedbackByUserIdUsesOneStatement() {
+        // fits in one page, so no count query
+        Page<FeedbackResponseDTO> page = feedbackService.getFeedbackByUserId(studentId, 0, 20, "feedbackId,DESC");
+
+        Assertions.assertEquals(FEEDBACKS / 4, page.getContent().size());
+        Assertions.assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getRecentFeedbacksByCourseIdUsesOneStatement() {
+        Assertions.assertEquals(FEEDBACKS / 3, feedbackService.getRecentFeedbacksByCourseId(courseId).size());
+        Assertions.assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void scrollFeedbacksUsesOneStatement() {
+        Assertions.assertEquals(5, feedbackService.scrollFeedbacks(null, null, null, null, null, null, null,
+                null, null, null, 5).getContent().size());
+        Assertions.assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void followingNextCursorReturnsEveryFeedbackOnceInKeysetOrder() {
+        // a page size of 5 splits the four feedbacks that share each submittedAt day across pages
+        List<FeedbackResponseDTO> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            CursorPage<FeedbackResponseDTO> page = feedbackService.getFeedbacks(cursor, 5);
+            seen.addAll(page.getContent());
+            cursor = page.getNextCursor();
+            Assertions.assertTrue(++pages <= FEEDBACKS, "cursor did not advance");
+        } while (cursor != null);
+
+        Set<Integer> ids = new HashSet<>();
+        seen.forEach(feedback -> Assertions.assertTrue(ids.add(feedback.getFeedbackId()), "duplicate " + feedback.getFeedbackId()));
+        Assertions.assertEquals(FEEDBACKS, ids.size());
+
+        List<FeedbackResponseDTO> expected = new ArrayList<>(seen);
+        expected.sort(Comparator.comparing(FeedbackResponseDTO::getSubmittedAt)
+                .thenComparing(FeedbackResponseDTO::getFeedbackId).reversed());
+        Assertions.assertEquals(expected, seen);
+    }
+
+    @Test
+    void garbledCursorIsRejected() {
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        String noSeparator = encoder.encodeToString("garbled".getBytes(StandardCharsets.UTF_8));
+        String badDate = encoder.encodeToString("2026-13-45:1".getBytes(StandardCharsets.UTF_8));
+
+        Assertions.assertThrows(BadRequestException.class, () -> feedbackService.getFeedbacks("garbled!!", 5));
+        Assertions.assertThrows(BadRequestException.class, () -> feedbackService.getFeedbacks(noSeparator, 5));
+        Assertions.assertThrows(BadRequestException.class, () -> feedbackService.getFeedbacks(badDate, 5));
+    }
+}
@@ -0,0 +1,205 @@
+package loadTest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.feedbacks.FeedbackSystem.service.aggregate.DailyStatsRollup;
+import com.feedbacks.FeedbackSystem.service.aggregate.RatingAggregateService;
+import com.feedbacks.FeedbackSystem.service.id.IdBlockAllocator;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// End-to-end load run against the real HTTP endpoints: H2 + embedded Redis, seeded data,
+// a weighted read/write mix, per-endpoint percentiles in target/loadtest-report.json.
+// Excluded from the normal build; run with
+//   mvn -Ploadtest test -Dloadtest.duration=PT2M -Dloadtest.concurrency=64
+@Slf4j
+@Tag("loadtest")
+@ActiveProfiles("loadtest")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class FeedbackLoadTest {
+
+    private static RedisServer redisServer;
+
+    @DynamicPropertySource
+    static void redisProperties(DynamicPropertyRegistry registry) throws IOException {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        redisServer = new RedisServer(port);
+        redisServer.start();
+        registry.add("spring.data.redis.host", () -> "localhost");
+        registry.add("spring.data.redis.port", () -> port);
+    }
+
+    @AfterAll
+    static void stopRedis() throws IOException {
+        if (redisServer != null) {
+            redisServer.stop();
+        }
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+    @Autowired
+    private RatingAggregateService ratingAggregates;
+    @Autowired
+    private DailyStatsRollup dailyStats;
+    @Autowired
+    private IdBlockAllocator idAllocator;
+
+    @Value("${loadtest.seed.instructors}") private int instructors;
+    @Value("${loadtest.seed.courses}") private int courses;
+    @Value("${loadtest.seed.students}") private int students;
+    @Value("${loadtest.seed.enrollments-per-student}") private int enrollmentsPerStudent;
+    @Value("${loadtest.seed.feedbacks}") private int feedbacks;
+    @Value("${loadtest.seed.history-days}") private int historyDays;
+    @Value("${loadtest.seed.random-seed}") private long randomSeed;
+    @Value("${loadtest.concurrency}") private int concurrency;
+    @Value("${loadtest.warmup}") private Duration warmup;
+    @Value("${loadtest.duration}") private Duration duration;
+    @Value("${loadtest.mix.submit-feedback}") private int submitWeight;
+    @Value("${loadtest.mix.dashboards}") private int dashboardWeight;
+    @Value("${loadtest.mix.search}") private int searchWeight;
+    @Value("${loadtest.mix.exports}") private int exportWeight;
+    @Value("${loadtest.max-error-rate}") private double maxErrorRate;
+    @Value("${loadtest.report-file}") private String reportFile;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    @Test
+    void mixedWorkload() throws Exception {
+        long seedStart = System.nanoTime();
+        LoadTestSeeder.SeedData data = new LoadTestSeeder(jdbcTemplate, idAllocator, randomSeed).seed(
+                instructors, courses, students, enrollmentsPerStudent, feedbacks, historyDays,
+                passwordEncoder.encode(LoadTestSeeder.PASSWORD));
+        // seeded rows bypass the service layer, so rebuild aggregates and rollup the same way production does
+        ratingAggregates.reconcile();
+        dailyStats.rebuild();
+        log.info("event=LOADTEST_SEEDED students={} courses={} enrollments={} feedbacks={} took={}ms",
+                students, courses, data.enrollments().size(), feedbacks, (System.nanoTime() - seedStart) / 1_000_000);
+
+        String adminToken = login(LoadTestSeeder.ADMIN_EMAIL);
+        String studentToken = login(LoadTestSeeder.studentEmail(1));
+
+        LoadDriver driver = new LoadDriver(client, scenarios(data, adminToken, studentToken), randomSeed);
+        LoadReport report = driver.run(concurrency, warmup, duration);
+
+        log.info("event=LOADTEST_FINISHED concurrency={} duration={}s{}", concurrency, duration.toSeconds(), report.toTable());
+        report.writeJson(Path.of(reportFile));
+
+        for (LoadReport.EndpointResult endpoint : report.endpoints()) {
+            assertTrue(endpoint.requests() > 0, endpoint.endpoint() + " was never exercised");
+            assertTrue(endpoint.errorRate() <= maxErrorRate,
+                    endpoint.endpoint() + " error rate " + endpoint.errorRate() + " exceeds " + maxErrorRate);
+        }
+    }
+
+    private List<LoadScenario> scenarios(LoadTestSeeder.SeedData data, String adminToken, String studentToken) {
+        // round-robin over enrollments spreads submissions across students (daily per-student rate limit)
+        AtomicInteger nextEnrollment = new AtomicInteger();
+        LocalDate today = LocalDate.now();
+
+        return List.of(
+                new LoadScenario("submit-feedback", submitWeight, random -> {
+                    List<LoadTestSeeder.Enrollment> enrollments = data.enrollments();
+                    LoadTestSeeder.Enrollment enrollment = enrollments.get(Math.floorMod(nextEnrollment.getAndIncrement(), enrollments.size()));
+                    String body = """
+                            {"courseRating":%d,"courseComment":"load test %s","instructorRating":%d,
+                             "instructorComment":"load test","anonymous":false,"studentId":%d,"courseId":%d,"instructorId":%d}
+                            """.formatted(1 + random.nextInt(5), LoadTestSeeder.keyword(random), 1 + random.nextInt(5),
+                            enrollment.studentId(), enrollment.courseId(), enrollment.instructorId());
+                    return post("/api/v1/feedbacks", studentToken, body);
+                }),
+                new LoadScenario("analytics-trends", split(dashboardWeight, 4), random ->
+                        get("/api/v1/analytics/feedbacks/trends?groupBy=" + (random.nextBoolean() ? "DAY" : "MONTH")
+                                + "&fromDate=" + today.minusDays(90), adminToken)),
+                new LoadScenario("analytics-ratings", split(dashboardWeight, 4), random ->
+                        get("/api/v1/analytics/feedbacks/ratings", adminToken)),
+                new LoadScenario("analytics-top-courses", split(dashboardWeight, 4), random ->
+                        get("/api/v1/analytics/courses/top?page=" + random.nextInt(3) + "&size=5", adminToken)),
+                new LoadScenario("analytics-top-instructors", split(dashboardWeight, 4), random ->
+                        get("/api/v1/analytics/instructors/top?page=" + random.nextInt(3) + "&size=5", adminToken)),
+                new LoadScenario("feedback-search", split(searchWeight, 2), random ->
+                        get("/api/v1/feedbacks/search?keyword=" + LoadTestSeeder.keyword(random)
+                                + "&minRating=" + (1 + random.nextInt(5))
+                                + "&courseId=" + data.courseIds().get(random.nextInt(data.courseIds().size())), studentToken)),
+                new LoadScenario("feedback-scroll", split(searchWeight, 2), random ->
+                        get("/api/v1/feedbacks/scroll?size=20&courseId="
+                                + data.courseIds().get(random.nextInt(data.courseIds().size())), studentToken)),
+                new LoadScenario("export-job-submit", split(exportWeight, 2), random ->
+                        post("/api/v1/exports?report=FEEDBACKS&format=CSV", adminToken, "")),
+                new LoadScenario("export-students-xlsx", split(exportWeight, 2), random ->
+                        get("/export/user/excel/download", adminToken))
+        );
+    }
+
+    private static int split(int groupWeight, int parts) {
+        return groupWeight == 0 ? 0 : Math.max(1, groupWeight / parts);
+    }
+
+    private String login(String email) throws IOException, InterruptedException {
+        String body = objectMapper.writeValueAsString(Map.of("email", email, "password", LoadTestSeeder.PASSWORD));
+        HttpResponse<String> response = client.send(post("/auth/login", null, body), HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, response.statusCode(), "login failed for " + email + ": " + response.body());
+        JsonNode json = objectMapper.readTree(response.body());
+        return json.get("accessToken").asText();
+    }
+
+    private HttpRequest get(String path, String token) {
+        return request(path, token).GET().build();
+    }
+
+    private HttpRequest post(String path, String token, String body) {
+        return request(path, token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .timeout(Duration.ofSeconds(30));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+}
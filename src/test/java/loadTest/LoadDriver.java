@@ -0,0 +1,115 @@
+package loadTest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Closed-loop driver: `concurrency` workers each pick a weighted scenario, send it and wait
+// for the full response body before sending the next one. Latencies recorded during warmup
+// are discarded. Being closed-loop, queueing delay inside the server is visible in the
+// percentiles but a stalled server also slows the offered load down.
+class LoadDriver {
+
+    private static final long MAX_TRACKED_NANOS = TimeUnit.MINUTES.toNanos(10);
+
+    private final HttpClient client;
+    private final List<LoadScenario> scenarios;
+    private final int totalWeight;
+    private final long randomSeed;
+
+    LoadDriver(HttpClient client, List<LoadScenario> scenarios, long randomSeed) {
+        this.client = client;
+        this.scenarios = scenarios.stream().filter(scenario -> scenario.weight() > 0).toList();
+        this.totalWeight = this.scenarios.stream().mapToInt(LoadScenario::weight).sum();
+        this.randomSeed = randomSeed;
+    }
+
+    static final class ScenarioStats {
+        final Histogram latencies = new ConcurrentHistogram(MAX_TRACKED_NANOS, 3);
+        final LongAdder success = new LongAdder();
+        final LongAdder clientErrors = new LongAdder();
+        final LongAdder throttled = new LongAdder();
+        final LongAdder serverErrors = new LongAdder();
+        final LongAdder ioErrors = new LongAdder();
+    }
+
+    LoadReport run(int concurrency, Duration warmup, Duration duration) throws InterruptedException {
+        Map<String, ScenarioStats> stats = new LinkedHashMap<>();
+        scenarios.forEach(scenario -> stats.put(scenario.name(), new ScenarioStats()));
+
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long deadline = measureFrom + duration.toNanos();
+
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Runnable> tasks = new ArrayList<>(concurrency);
+            for (int i = 0; i < concurrency; i++) {
+                Random random = new Random(randomSeed + i);
+                tasks.add(() -> work(random, stats, measureFrom, deadline));
+            }
+            tasks.forEach(workers::submit);
+            workers.shutdown();
+            workers.awaitTermination(warmup.plus(duration).plusMinutes(5).toMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        return LoadReport.of(stats, concurrency, duration);
+    }
+
+    private void work(Random random, Map<String, ScenarioStats> stats, long measureFrom, long deadline) {
+        long now;
+        while ((now = System.nanoTime()) < deadline) {
+            LoadScenario scenario = pick(random);
+            ScenarioStats scenarioStats = stats.get(scenario.name());
+            boolean measured = now >= measureFrom;
+            try {
+                long sent = System.nanoTime();
+                HttpResponse<byte[]> response = client.send(scenario.request().apply(random), HttpResponse.BodyHandlers.ofByteArray());
+                long elapsed = System.nanoTime() - sent;
+                if (!measured) {
+                    continue;
+                }
+                scenarioStats.latencies.recordValue(Math.min(elapsed, MAX_TRACKED_NANOS));
+                int status = response.statusCode();
+                if (status == 429) {
+                    scenarioStats.throttled.increment();
+                } else if (status >= 500) {
+                    scenarioStats.serverErrors.increment();
+                } else if (status >= 400) {
+                    scenarioStats.clientErrors.increment();
+                } else {
+                    scenarioStats.success.increment();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                if (measured) {
+                    scenarioStats.ioErrors.increment();
+                }
+            }
+        }
+    }
+
+    private LoadScenario pick(Random random) {
+        int point = random.nextInt(totalWeight);
+        for (LoadScenario scenario : scenarios) {
+            point -= scenario.weight();
+            if (point < 0) {
+                return scenario;
+            }
+        }
+        return scenarios.getLast();
+    }
+}
@@ -0,0 +1,73 @@
+package loadTest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// Per-endpoint throughput and latency percentiles of one load run.
+// Written as JSON so runs can be diffed, and printed as a table for the console.
+record LoadReport(Instant finishedAt, int concurrency, long durationSeconds, List<EndpointResult> endpoints) {
+
+    record EndpointResult(String endpoint, long requests, double throughputPerSecond,
+                          long success, long clientErrors, long throttled, long serverErrors, long ioErrors,
+                          double p50Ms, double p90Ms, double p95Ms, double p99Ms, double maxMs) {
+
+        double errorRate() {
+            return requests == 0 ? 0 : (double) (serverErrors + ioErrors) / requests;
+        }
+    }
+
+    static LoadReport of(Map<String, LoadDriver.ScenarioStats> stats, int concurrency, Duration duration) {
+        double seconds = duration.toMillis() / 1000.0;
+        List<EndpointResult> endpoints = new ArrayList<>();
+        stats.forEach((name, s) -> {
+            Histogram latencies = s.latencies;
+            long requests = latencies.getTotalCount();
+            endpoints.add(new EndpointResult(
+                    name, requests, requests / seconds,
+                    s.success.sum(), s.clientErrors.sum(), s.throttled.sum(), s.serverErrors.sum(), s.ioErrors.sum(),
+                    millis(latencies.getValueAtPercentile(50)),
+                    millis(latencies.getValueAtPercentile(90)),
+                    millis(latencies.getValueAtPercentile(95)),
+                    millis(latencies.getValueAtPercentile(99)),
+                    millis(latencies.getMaxValue())
+            ));
+        });
+        return new LoadReport(Instant.now(), concurrency, duration.toSeconds(), endpoints);
+    }
+
+    String toTable() {
+        StringBuilder table = new StringBuilder(String.format("%n%-28s %9s %9s %7s %7s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "req/s", "4xx", "429", "5xx", "p50 ms", "p90 ms", "p95 ms", "p99 ms", "max ms"));
+        for (EndpointResult e : endpoints) {
+            table.append(String.format("%-28s %9d %9.1f %7d %7d %7d %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    e.endpoint(), e.requests(), e.throughputPerSecond(), e.clientErrors(), e.throttled(),
+                    e.serverErrors() + e.ioErrors(), e.p50Ms(), e.p90Ms(), e.p95Ms(), e.p99Ms(), e.maxMs()));
+        }
+        return table.toString();
+    }
+
+    void writeJson(Path file) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        new ObjectMapper()
+                .findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(file.toFile(), this);
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
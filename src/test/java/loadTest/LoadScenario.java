@@ -0,0 +1,9 @@
+package loadTest;
+
+import java.net.http.HttpRequest;
+import java.util.Random;
+import java.util.function.Function;
+
+// One endpoint in the request mix. weight is relative to the other scenarios;
+// request builds a fresh request per call (random ids, keywords, students).
+record LoadScenario(String name, int weight, Function<Random, HttpRequest> request) {}
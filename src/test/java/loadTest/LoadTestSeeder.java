@@ -0,0 +1,146 @@
+package loadTest;
+
+import com.feedbacks.FeedbackSystem.model.IdGenerators;
+import com.feedbacks.FeedbackSystem.service.id.IdBlockAllocator;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Fills the empty H2 schema through plain JDBC batches, then lets the application rebuild
+// its own aggregates and rollup (see FeedbackLoadTest). Instructor ids are read back after the insert;
+// course, user, enrollment and feedback ids are reserved from id_generator like the application does.
+// Rows are only referenced after they were inserted.
+class LoadTestSeeder {
+
+    static final String ADMIN_EMAIL = "admin@loadtest.local";
+    static final String PASSWORD = "loadtest-pw";
+
+    private static final int BATCH_SIZE = 1000;
+    private static final String[] WORDS = {
+            "clear", "engaging", "confusing", "practical", "boring", "challenging", "helpful",
+            "labs", "slides", "assignments", "examples", "pace", "project", "lectures", "feedback"
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final IdBlockAllocator idAllocator;
+    private final Random random;
+
+    LoadTestSeeder(JdbcTemplate jdbcTemplate, IdBlockAllocator idAllocator, long randomSeed) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.idAllocator = idAllocator;
+        this.random = new Random(randomSeed);
+    }
+
+    record Enrollment(int studentId, int courseId, int instructorId) {}
+
+    record SeedData(List<Enrollment> enrollments, List<Integer> courseIds, List<Integer> instructorIds) {}
+
+    SeedData seed(int instructors, int courses, int students, int enrollmentsPerStudent,
+                  int feedbacks, int historyDays, String passwordHash) {
+        LocalDate today = LocalDate.now();
+
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 1; i <= instructors; i++) {
+            rows.add(new Object[]{"Instructor " + i});
+        }
+        insert("INSERT INTO instructor (instructor_name, avg_rating, feedback_count, rating_sum, is_deleted) VALUES (?, 0, 0, 0, false)", rows);
+        List<Integer> instructorIds = jdbcTemplate.queryForList("SELECT instructor_id FROM instructor ORDER BY instructor_id", Integer.class);
+
+        rows.clear();
+        int courseId = idAllocator.allocate(IdGenerators.COURSE, courses);
+        for (int i = 1; i <= courses; i++) {
+            rows.add(new Object[]{courseId++, "Course " + i, "Seeded course " + i, instructorIds.get(i % instructorIds.size())});
+        }
+        insert("INSERT INTO course (course_id, course_name, course_description, instructor_id, avg_rating, feedback_count, rating_sum, is_deleted) VALUES (?, ?, ?, ?, 0, 0, 0, false)", rows);
+        List<Object[]> courseRows = new ArrayList<>();
+        jdbcTemplate.query("SELECT course_id, instructor_id FROM course ORDER BY course_id",
+                rs -> { courseRows.add(new Object[]{rs.getInt(1), rs.getInt(2)}); });
+
+        rows.clear();
+        int userId = idAllocator.allocate(IdGenerators.USERS, students + 1);
+        rows.add(new Object[]{userId++, "loadtest-admin", ADMIN_EMAIL, passwordHash, "ADMIN", "2025admin01", Date.valueOf(today)});
+        for (int i = 1; i <= students; i++) {
+            rows.add(new Object[]{userId++, "student" + i, studentEmail(i), passwordHash, "STUDENT", "LT" + i, Date.valueOf(today)});
+        }
+        insert("INSERT INTO users (user_id, username, email, password, role, identity_no, created_at) VALUES (?, ?, ?, ?, ?, ?, ?)", rows);
+        List<Integer> studentIds = jdbcTemplate.queryForList("SELECT user_id FROM users WHERE role = 'STUDENT' ORDER BY user_id", Integer.class);
+
+        rows.clear();
+        List<Enrollment> enrollments = new ArrayList<>();
+        int perStudent = Math.min(enrollmentsPerStudent, courseRows.size());
+        for (int studentId : studentIds) {
+            int first = random.nextInt(courseRows.size());
+            for (int k = 0; k < perStudent; k++) {
+                Object[] course = courseRows.get((first + k) % courseRows.size());
+                enrollments.add(new Enrollment(studentId, (int) course[0], (int) course[1]));
+                rows.add(new Object[]{Date.valueOf(today.minusDays(historyDays)), course[0], studentId});
+            }
+        }
+        int enrollId = idAllocator.allocate(IdGenerators.ENROLLMENT, rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            Object[] row = rows.get(i);
+            rows.set(i, new Object[]{enrollId + i, row[0], row[1], row[2]});
+        }
+        insert("INSERT INTO enrollment (enroll_id, enrollment_date, course_course_id, student_user_id) VALUES (?, ?, ?, ?)", rows);
+
+        rows.clear();
+        for (int i = 0; i < feedbacks; i++) {
+            Enrollment enrollment = enrollments.get(random.nextInt(enrollments.size()));
+            rows.add(new Object[]{
+                    random.nextInt(10) == 0, comment(), 1 + random.nextInt(5), comment(), 1 + random.nextInt(5),
+                    Date.valueOf(today.minusDays(random.nextInt(historyDays))),
+                    enrollment.courseId(), enrollment.studentId(), enrollment.instructorId()
+            });
+            if (rows.size() == BATCH_SIZE) {
+                insertFeedbacks(rows);
+                rows.clear();
+            }
+        }
+        insertFeedbacks(rows);
+
+        List<Integer> courseIds = courseRows.stream().map(course -> (Integer) course[0]).toList();
+        return new SeedData(enrollments, courseIds, instructorIds);
+    }
+
+    static String studentEmail(int index) {
+        return "student" + index + "@loadtest.local";
+    }
+
+    String comment() {
+        return WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)] + " and "
+                + WORDS[random.nextInt(WORDS.length)];
+    }
+
+    static String keyword(Random random) {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+
+    private void insertFeedbacks(List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        int feedbackId = idAllocator.allocate(IdGenerators.FEEDBACK, rows.size());
+        List<Object[]> withIds = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            Object[] withId = new Object[row.length + 1];
+            withId[0] = feedbackId++;
+            System.arraycopy(row, 0, withId, 1, row.length);
+            withIds.add(withId);
+        }
+        insert("""
+                INSERT INTO feedback (feedback_id, anonymous, course_comment, course_rating, instructor_comment, instructor_rating,
+                                      submitted_at, course_id, student_id, instructor_id, is_deleted)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, false)
+                """, withIds);
+    }
+
+    private void insert(String sql, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+            jdbcTemplate.batchUpdate(sql, rows.subList(from, Math.min(from + BATCH_SIZE, rows.size())));
+        }
+    }
+}
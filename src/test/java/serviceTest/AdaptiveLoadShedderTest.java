@@ -0,0 +1,44 @@
+package serviceTest;
+
+import com.feedbacks.FeedbackSystem.service.admission.AdaptiveLoadShedder;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+public class AdaptiveLoadShedderTest {
+
+    private static final long MS = 1_000_000L;
+
+    @Test
+    void noSheddingBelowTarget() {
+        AdaptiveLoadShedder shedder = new AdaptiveLoadShedder(Duration.ofMillis(500), 0.9);
+        for (int i = 0; i < 100; i++) {
+            shedder.record(100 * MS);
+        }
+        Assertions.assertEquals(0.0, shedder.shedRatio());
+        Assertions.assertFalse(shedder.shouldShed());
+    }
+
+    @Test
+    void shedRatioGrowsWithLatencyAndIsCapped() {
+        AdaptiveLoadShedder shedder = new AdaptiveLoadShedder(Duration.ofMillis(500), 0.9);
+        shedder.record(1000 * MS);
+        Assertions.assertEquals(0.5, shedder.shedRatio(), 1e-9);
+
+        for (int i = 0; i < 200; i++) {
+            shedder.record(60_000 * MS);
+        }
+        Assertions.assertEquals(0.9, shedder.shedRatio(), 1e-9);
+    }
+
+    @Test
+    void recoversAsFastRequestsComeBack() {
+        AdaptiveLoadShedder shedder = new AdaptiveLoadShedder(Duration.ofMillis(500), 0.9);
+        shedder.record(5000 * MS);
+        for (int i = 0; i < 100; i++) {
+            shedder.record(50 * MS);
+        }
+        Assertions.assertEquals(0.0, shedder.shedRatio());
+    }
+}
@@ -0,0 +1,115 @@
+package serviceTest;
+
+import com.feedbacks.FeedbackSystem.configure.ConnectionGuardDataSource;
+import com.feedbacks.FeedbackSystem.model.IdGenerators;
+import com.feedbacks.FeedbackSystem.service.id.IdBlockAllocator;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+// Every caller holds its first connection while it reserves an id block on a second one (what
+// IdBlockAllocator's REQUIRES_NEW and Hibernate's @TableGenerator do), with the pool exactly as large
+// as the guard's permits. Without the nested reserve, callers fill the pool and time out waiting.
+public class ConnectionGuardDataSourceTest {
+
+    private static final int POOL_SIZE = 4;
+    private static final int CALLERS = 16;
+    private static final int ROWS_PER_CALLER = 5;
+
+    HikariDataSource pool;
+    ConnectionGuardDataSource guard;
+
+    @BeforeEach
+    void setUp() {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:mem:guard-" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+        config.setUsername("sa");
+        config.setMaximumPoolSize(POOL_SIZE);
+        config.setConnectionTimeout(2000);
+        pool = new HikariDataSource(config);
+        guard = new ConnectionGuardDataSource(pool, POOL_SIZE, 1, Duration.ofSeconds(2));
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(guard);
+        jdbcTemplate.execute("CREATE TABLE " + IdGenerators.TABLE + " (" + IdGenerators.NAME_COLUMN
+                + " VARCHAR(255) PRIMARY KEY, " + IdGenerators.VALUE_COLUMN + " BIGINT NOT NULL)");
+        jdbcTemplate.update("INSERT INTO " + IdGenerators.TABLE + " VALUES (?, 0)", IdGenerators.FEEDBACK);
+        jdbcTemplate.execute("CREATE TABLE feedback (feedback_id INT PRIMARY KEY, caller INT NOT NULL)");
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.close();
+    }
+
+    @Test
+    void concurrentInsertsWithIdBlocksCompleteWhenPoolSizeEqualsPermits() throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService callers = Executors.newFixedThreadPool(CALLERS);
+        List<Future<?>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < CALLERS; i++) {
+                int caller = i;
+                results.add(callers.submit(() -> {
+                    start.await();
+                    insertWithIdBlock(caller);
+                    return null;
+                }));
+            }
+            start.countDown();
+            // a permit or pool timeout surfaces here as an ExecutionException
+            for (Future<?> result : results) {
+                result.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(guard);
+        Assertions.assertEquals(CALLERS * ROWS_PER_CALLER,
+                jdbcTemplate.queryForObject("SELECT COUNT(DISTINCT feedback_id) FROM feedback", Integer.class));
+        Assertions.assertEquals(0, guard.inUse());
+    }
+
+    // the caller's transaction keeps `outer` for the whole insert and takes its id block on a second connection
+    private void insertWithIdBlock(int caller) throws SQLException, InterruptedException {
+        try (Connection outer = guard.getConnection()) {
+            outer.setAutoCommit(false);
+            // keep the first connection busy so the callers overlap
+            Thread.sleep(20);
+            int first;
+            try (Connection nested = guard.getConnection()) {
+                nested.setAutoCommit(false);
+                IdBlockAllocator allocator = new IdBlockAllocator(new JdbcTemplate(new SingleConnectionDataSource(nested, true)));
+                first = allocator.allocate(IdGenerators.FEEDBACK, ROWS_PER_CALLER);
+                nested.commit();
+            }
+            try (PreparedStatement insert = outer.prepareStatement("INSERT INTO feedback (feedback_id, caller) VALUES (?, ?)")) {
+                for (int row = 0; row < ROWS_PER_CALLER; row++) {
+                    insert.setInt(1, first + row);
+                    insert.setInt(2, caller);
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+            }
+            outer.commit();
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package serviceTest;
+
+import com.feedbacks.FeedbackSystem.DTO.imports.EnrollmentKey;
+import com.feedbacks.FeedbackSystem.DTO.imports.FeedbackImportReport;
+import com.feedbacks.FeedbackSystem.DTO.imports.ImportCourseRef;
+import com.feedbacks.FeedbackSystem.DTO.imports.ImportRowError;
+import com.feedbacks.FeedbackSystem.DTO.imports.ImportStudentRef;
+import com.feedbacks.FeedbackSystem.Exception.BadRequestException;
+import com.feedbacks.FeedbackSystem.configure.FeedbackMetrics;
+import com.feedbacks.FeedbackSystem.model.User;
+import com.feedbacks.FeedbackSystem.repository.CourseRepository;
+import com.feedbacks.FeedbackSystem.repository.EnrollmentRepository;
+import com.feedbacks.FeedbackSystem.repository.InstructorRepository;
+import com.feedbacks.FeedbackSystem.repository.UserRepository;
+import com.feedbacks.FeedbackSystem.service.aggregate.RatingAggregateService;
+import com.feedbacks.FeedbackSystem.service.imports.CsvImportReader;
+import com.feedbacks.FeedbackSystem.service.imports.FeedbackImportService;
+import com.feedbacks.FeedbackSystem.service.imports.FeedbackImportWriter;
+import com.feedbacks.FeedbackSystem.service.imports.ImportedFeedback;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Objects;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class FeedbackImportServiceTest {
+
+    // row 4: not enrolled, row 5: blank (skipped), row 6: rating out of range, row 7: not a student
+    private static final String CSV = """
+            \uFEFFStudent,Course ID,Course Rating,Instructor Rating,Course Comment,Anonymous,Submitted At
+            alice@uni.edu,10,5,4,"Great, ""really""",yes,2024-03-01
+            ROLL-2,10,3,3,,no,
+            alice@uni.edu,11,4,4,,,
+
+            bob@uni.edu,10,7,4,,,
+            carol@uni.edu,10,4,4,,,
+            """.replace("\n\n", "\r\n\r\n");
+
+    @Mock
+    UserRepository userRepo;
+    @Mock
+    CourseRepository courseRepo;
+    @Mock
+    InstructorRepository instructorRepo;
+    @Mock
+    EnrollmentRepository enrollmentRepo;
+    @Mock
+    FeedbackImportWriter writer;
+    @Mock
+    RatingAggregateService ratingAggregates;
+
+    FeedbackImportService importService;
+
+    @BeforeEach
+    void setUp() {
+        // chunks of two rows, so the file needs several lookups and batches
+        importService = new FeedbackImportService(List.of(new CsvImportReader()), userRepo, courseRepo, instructorRepo,
+                enrollmentRepo, writer, ratingAggregates, new FeedbackMetrics(new SimpleMeterRegistry()), 2, 100);
+    }
+
+    private void stubLookups() {
+        when(userRepo.findImportRefs(anyCollection())).thenReturn(List.of(
+                new ImportStudentRef(1, "Alice@uni.edu", "ROLL-1", User.Role.STUDENT),
+                new ImportStudentRef(2, "bob@uni.edu", "ROLL-2", User.Role.STUDENT),
+                new ImportStudentRef(3, "carol@uni.edu", "ADM-1", User.Role.ADMIN)));
+        when(courseRepo.findImportRefs(anyCollection())).thenReturn(List.of(
+                new ImportCourseRef(10, 100),
+                new ImportCourseRef(11, 101)));
+        when(enrollmentRepo.findEnrollmentKeys(anyCollection(), anyCollection())).thenReturn(List.of(
+                new EnrollmentKey(1, 10),
+                new EnrollmentKey(2, 10)));
+    }
+
+    private FeedbackImportReport importCsv(boolean dryRun) throws IOException {
+        return importService.importFeedbacks("feedbacks.csv",
+                new ByteArrayInputStream(CSV.getBytes(StandardCharsets.UTF_8)), dryRun);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void importsValidRowsAndReportsRejectedOnes() throws IOException {
+        stubLookups();
+
+        FeedbackImportReport report = importCsv(false);
+
+        Assertions.assertEquals(5, report.totalRows());
+        Assertions.assertEquals(2, report.imported());
+        Assertions.assertEquals(3, report.rejected());
+        Assertions.assertFalse(report.errorsTruncated());
+        Assertions.assertEquals(List.of(4, 6, 7), report.errors().stream().map(ImportRowError::row).toList());
+        Assertions.assertEquals(List.of("course_rating", "student"),
+                report.errors().stream().map(ImportRowError::column).filter(Objects::nonNull).toList());
+
+        // the second chunk (rows 4 and 7) has nothing valid left to write
+        ArgumentCaptor<List<ImportedFeedback>> written = ArgumentCaptor.forClass(List.class);
+        verify(writer, times(1)).insert(written.capture());
+        ImportedFeedback first = written.getValue().get(0);
+        Assertions.assertEquals(1, first.studentId());
+        Assertions.assertEquals(100, first.instructorId());
+        Assertions.assertEquals("Great, \"really\"", first.courseComment());
+        Assertions.assertTrue(first.anonymous());
+        Assertions.assertEquals(LocalDate.of(2024, 3, 1), first.submittedAt());
+        Assertions.assertEquals(LocalDate.now(), written.getValue().get(1).submittedAt());
+
+        // aggregates are folded once for the whole file
+        verify(ratingAggregates, times(1)).onSnapshotsAdded(argThat(snapshots -> snapshots.size() == 2));
+        verify(instructorRepo, never()).findActiveInstructorIds(anyCollection());
+    }
+
+    @Test
+    void dryRunWritesNothing() throws IOException {
+        stubLookups();
+
+        FeedbackImportReport report = importCsv(true);
+
+        Assertions.assertEquals(2, report.imported());
+        verify(writer, never()).insert(any());
+        verify(ratingAggregates, never()).onSnapshotsAdded(any());
+    }
+
+    @Test
+    void missingRequiredColumnRejectsFile() {
+        String csv = "student,course_id,course_rating\nalice@uni.edu,10,5\n";
+
+        BadRequestException e = Assertions.assertThrows(BadRequestException.class, () -> importService.importFeedbacks(
+                "feedbacks.csv", new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), false));
+        Assertions.assertTrue(e.getMessage().contains("instructor_rating"));
+        verifyNoInteractions(userRepo, writer);
+    }
+}
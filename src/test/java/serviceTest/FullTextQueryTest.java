@@ -0,0 +1,30 @@
+package serviceTest;
+
+import com.feedbacks.FeedbackSystem.specification.FullTextQuery;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class FullTextQueryTest {
+
+    @Test
+    void wordsBecomeRequiredPrefixTerms() {
+        Assertions.assertEquals("+great* +labs*", FullTextQuery.booleanMode("great labs"));
+    }
+
+    @Test
+    void quotedTextStaysAPhrase() {
+        Assertions.assertEquals("+\"great labs\" +pace*", FullTextQuery.booleanMode("\"great labs\" pace"));
+    }
+
+    @Test
+    void operatorsAndShortWordsAreDropped() {
+        Assertions.assertEquals("+labs* +slides*", FullTextQuery.booleanMode("-labs +slides* ok (a)"));
+        Assertions.assertNull(FullTextQuery.booleanMode("ok a ++"));
+        Assertions.assertNull(FullTextQuery.booleanMode("   "));
+    }
+
+    @Test
+    void likePatternEscapesWildcards() {
+        Assertions.assertEquals("%100\\% done%", FullTextQuery.likePattern("100% Done"));
+    }
+}
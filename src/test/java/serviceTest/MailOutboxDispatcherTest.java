@@ -0,0 +1,115 @@
+package serviceTest;
+
+import com.feedbacks.FeedbackSystem.configure.FeedbackMetrics;
+import com.feedbacks.FeedbackSystem.model.MailOutboxMessage;
+import com.feedbacks.FeedbackSystem.repository.MailOutboxRepository;
+import com.feedbacks.FeedbackSystem.service.mail.MailOutboxDispatcher;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+// Delivers outbox rows to a local GreenMail SMTP server
+@ExtendWith(MockitoExtension.class)
+public class MailOutboxDispatcherTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Mock
+    MailOutboxRepository outboxRepo;
+
+    @Test
+    void testSendsDueMessagesInOneBatch() {
+        MailOutboxMessage welcome = message(1L, "new.student@example.com", false);
+        MailOutboxMessage announcement = message(2L, "a@example.com,b@example.com,c@example.com", true);
+        when(outboxRepo.findDue(any(), any())).thenReturn(List.of(welcome, announcement));
+        when(outboxRepo.claim(anyLong(), any())).thenReturn(1);
+
+        int sent = dispatcher(greenMail.getSmtp().getPort()).dispatchDue();
+
+        Assertions.assertEquals(2, sent);
+        Assertions.assertEquals(MailOutboxMessage.Status.SENT, welcome.getStatus());
+        Assertions.assertEquals(MailOutboxMessage.Status.SENT, announcement.getStatus());
+        // GreenMail keeps one copy per recipient: 1 + 3 Bcc
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        Assertions.assertEquals(4, received.length);
+        Assertions.assertEquals(3, Arrays.stream(received).filter(m -> subjectOf(m).equals("Subject 2")).count());
+        verify(outboxRepo).saveAll(List.of(welcome, announcement));
+    }
+
+    @Test
+    void testRetriesWithBackoffWhenSmtpIsDown() {
+        MailOutboxMessage welcome = message(1L, "new.student@example.com", false);
+        when(outboxRepo.findDue(any(), any())).thenReturn(List.of(welcome));
+        when(outboxRepo.claim(anyLong(), any())).thenReturn(1);
+        Instant before = Instant.now();
+
+        // nothing listens on this port
+        int sent = dispatcher(greenMail.getSmtp().getPort() + 1).dispatchDue();
+
+        Assertions.assertEquals(0, sent);
+        Assertions.assertEquals(MailOutboxMessage.Status.PENDING, welcome.getStatus());
+        Assertions.assertEquals(1, welcome.getAttempts());
+        Assertions.assertTrue(welcome.getNextAttemptAt().isAfter(before.plusSeconds(29)));
+        Assertions.assertNotNull(welcome.getLastError());
+    }
+
+    @Test
+    void testGivesUpAfterMaxAttempts() {
+        MailOutboxMessage welcome = message(1L, "new.student@example.com", false);
+        welcome.setAttempts(4);
+        when(outboxRepo.findDue(any(), any())).thenReturn(List.of(welcome));
+        when(outboxRepo.claim(anyLong(), any())).thenReturn(1);
+
+        dispatcher(greenMail.getSmtp().getPort() + 1).dispatchDue();
+
+        Assertions.assertEquals(MailOutboxMessage.Status.FAILED, welcome.getStatus());
+        Assertions.assertEquals(5, welcome.getAttempts());
+    }
+
+    private MailOutboxDispatcher dispatcher(int smtpPort) {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(smtpPort);
+        return new MailOutboxDispatcher(outboxRepo, mailSender, new FeedbackMetrics(new SimpleMeterRegistry()),
+                new SyncTaskExecutor(), false, "noreply@example.com", 20, Duration.ofSeconds(1),
+                5, Duration.ofSeconds(30), Duration.ofHours(1));
+    }
+
+    private static String subjectOf(MimeMessage message) {
+        try {
+            return message.getSubject();
+        } catch (MessagingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static MailOutboxMessage message(Long id, String recipients, boolean bcc) {
+        MailOutboxMessage message = new MailOutboxMessage();
+        message.setId(id);
+        message.setRecipients(recipients);
+        message.setBcc(bcc);
+        message.setSubject("Subject " + id);
+        message.setHtmlBody("<p>Hello</p>");
+        return message;
+    }
+}
@@ -0,0 +1,69 @@
+package serviceTest;
+
+import com.feedbacks.FeedbackSystem.DTO.SuggestionDTO;
+import com.feedbacks.FeedbackSystem.service.autocomplete.PrefixIndex;
+import com.feedbacks.FeedbackSystem.service.autocomplete.SuggestRanking;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+public class PrefixIndexTest {
+
+    private PrefixIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new PrefixIndex();
+        index.replaceAll(List.of(
+                course(1, "Intro to Algorithms", 4.5, 10),
+                course(2, "Algebra I", 3.0, 40),
+                course(3, "Advanced Algorithms", 4.8, 5),
+                course(4, "Économie Générale", 4.0, 8)
+        ));
+    }
+
+    @Test
+    void matchesAnyWordStartRankedByRating() {
+        Assertions.assertEquals(List.of(3, 1, 2), ids(index.top("alg", 10, SuggestRanking.RATING.comparator())));
+    }
+
+    @Test
+    void rankByFeedbackCountAndLimit() {
+        Assertions.assertEquals(List.of(2, 1), ids(index.top("Alg", 2, SuggestRanking.FEEDBACKS.comparator())));
+    }
+
+    @Test
+    void ignoresCaseAccentsAndPunctuation() {
+        Assertions.assertEquals(List.of(4), ids(index.top("economie gen", 10, SuggestRanking.RATING.comparator())));
+        Assertions.assertEquals(List.of(1), ids(index.top("intro-to", 10, SuggestRanking.RATING.comparator())));
+        Assertions.assertTrue(index.top("  ", 10, SuggestRanking.RATING.comparator()).isEmpty());
+    }
+
+    @Test
+    void renameDropsOldKeys() {
+        index.put(course(2, "Linear Algebra", 3.0, 40));
+
+        Assertions.assertTrue(index.top("algebra i", 10, SuggestRanking.RATING.comparator()).isEmpty());
+        Assertions.assertEquals(List.of(2), ids(index.top("linear", 10, SuggestRanking.RATING.comparator())));
+        Assertions.assertEquals(4, index.size());
+    }
+
+    @Test
+    void removeAndRankUpdates() {
+        index.remove(3);
+        index.updateRank(2, 5.0, 41);
+
+        Assertions.assertEquals(List.of(2, 1), ids(index.top("alg", 10, SuggestRanking.RATING.comparator())));
+        Assertions.assertEquals(3, index.size());
+    }
+
+    private static SuggestionDTO course(int id, String name, double avgRating, long feedbackCount) {
+        return new SuggestionDTO("COURSE", id, name, avgRating, feedbackCount);
+    }
+
+    private static List<Integer> ids(List<SuggestionDTO> suggestions) {
+        return suggestions.stream().map(SuggestionDTO::id).toList();
+    }
+}
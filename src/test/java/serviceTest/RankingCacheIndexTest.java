@@ -0,0 +1,120 @@
+package serviceTest;
+
+import com.feedbacks.FeedbackSystem.configure.FeedbackMetrics;
+import com.feedbacks.FeedbackSystem.service.aggregate.RatingAggregatesChangedEvent;
+import com.feedbacks.FeedbackSystem.service.aggregate.RatingAggregatesChangedEvent.ScoreChange;
+import com.feedbacks.FeedbackSystem.service.cache.AnalyticsCacheInvalidator;
+import com.feedbacks.FeedbackSystem.service.cache.AnalyticsCacheWarmer;
+import com.feedbacks.FeedbackSystem.service.cache.RankingCacheIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// A ranking page must never outlive an eviction that concerns it, including one that runs while the
+// page is still being computed (before it is put or indexed). Redis is replaced by in-memory maps.
+public class RankingCacheIndexTest {
+
+    private static final String CACHE = AnalyticsCacheInvalidator.COURSE_RANKING;
+    private static final String KEY = "0:10";
+
+    Map<String, Map<Object, Object>> hashes = new HashMap<>();
+    Map<String, String> values = new HashMap<>();
+    ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager(CACHE);
+    RankingCacheIndex index;
+    AnalyticsCacheInvalidator invalidator;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+        HashOperations<String, Object, Object> hashOps = mock(HashOperations.class);
+        ValueOperations<String, String> valueOps = mock(ValueOperations.class);
+        when(redisTemplate.<Object, Object>opsForHash()).thenReturn(hashOps);
+        when(redisTemplate.opsForValue()).thenReturn(valueOps);
+
+        doAnswer(invocation -> {
+            hashes.computeIfAbsent(invocation.getArgument(0), name -> new LinkedHashMap<>())
+                    .put(invocation.getArgument(1), invocation.getArgument(2));
+            return null;
+        }).when(hashOps).put(anyString(), any(), any());
+        when(hashOps.entries(anyString())).thenAnswer(invocation ->
+                new LinkedHashMap<>(hashes.getOrDefault(invocation.<String>getArgument(0), Map.of())));
+        when(hashOps.delete(anyString(), any(Object[].class))).thenAnswer(invocation -> {
+            Object[] arguments = invocation.getArguments();
+            Map<Object, Object> hash = hashes.getOrDefault((String) arguments[0], new HashMap<>());
+            Arrays.stream(arguments, 1, arguments.length).forEach(hash::remove);
+            return (long) arguments.length - 1;
+        });
+        when(valueOps.increment(anyString())).thenAnswer(invocation ->
+                Long.parseLong(values.merge(invocation.getArgument(0), "1", (old, one) -> String.valueOf(Long.parseLong(old) + 1))));
+        when(valueOps.get(anyString())).thenAnswer(invocation -> values.get(invocation.<String>getArgument(0)));
+
+        index = new RankingCacheIndex(redisTemplate, cacheManager);
+        invalidator = new AnalyticsCacheInvalidator(cacheManager, index, new FeedbackMetrics(new SimpleMeterRegistry()),
+                mock(AnalyticsCacheWarmer.class));
+    }
+
+    private List<Integer> load(Runnable duringLoad) {
+        return index.getOrLoad(CACHE, KEY, () -> {
+            duringLoad.run();
+            return List.of(1, 2);
+        }, ids -> Map.of(1, 4.5, 2, 4.0));
+    }
+
+    private void ratingChanged(int courseId, double oldAvg, double newAvg) {
+        invalidator.onRatingAggregatesChanged(new RatingAggregatesChangedEvent(
+                List.of(new ScoreChange(courseId, oldAvg, newAvg, 1, 2)), List.of()));
+    }
+
+    private Cache cache() {
+        return cacheManager.getCache(CACHE);
+    }
+
+    @Test
+    void evictionDuringLoadDropsThePageOnceItIsPut() {
+        // the eviction finds no index entry yet: the page is neither cached nor registered
+        Assertions.assertEquals(List.of(1, 2), load(() -> ratingChanged(1, 4.5, 3.0)));
+
+        Assertions.assertNull(cache().get(KEY));
+        Assertions.assertTrue(index.pages(CACHE).isEmpty());
+    }
+
+    @Test
+    void evictionAfterLoadFindsThePageInTheIndex() {
+        load(() -> {});
+        Assertions.assertNotNull(cache().get(KEY));
+
+        ratingChanged(2, 4.0, 2.0);
+
+        Assertions.assertNull(cache().get(KEY));
+        Assertions.assertTrue(index.pages(CACHE).isEmpty());
+    }
+
+    @Test
+    void unrelatedChangeKeepsTheCachedPage() {
+        load(() -> {});
+
+        ratingChanged(99, 1.0, 1.5);
+
+        Assertions.assertNotNull(cache().get(KEY));
+        Assertions.assertEquals(List.of(1, 2), load(() -> Assertions.fail("served from the cache")));
+    }
+}
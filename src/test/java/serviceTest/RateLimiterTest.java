@@ -0,0 +1,102 @@
+package serviceTest;
+
+import com.feedbacks.FeedbackSystem.configure.FeedbackMetrics;
+import com.feedbacks.FeedbackSystem.service.ratelimit.RateLimitAlgorithm;
+import com.feedbacks.FeedbackSystem.service.ratelimit.RateLimitDecision;
+import com.feedbacks.FeedbackSystem.service.ratelimit.RateLimitPolicy;
+import com.feedbacks.FeedbackSystem.service.ratelimit.RateLimitProperties;
+import com.feedbacks.FeedbackSystem.service.ratelimit.RateLimiter;
+import com.feedbacks.FeedbackSystem.service.ratelimit.RedisCircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class RateLimiterTest {
+
+    @Mock
+    StringRedisTemplate redisTemplate;
+
+    RateLimiter rateLimiter;
+    SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        rateLimiter = new RateLimiter(redisTemplate, new RateLimitProperties(
+                Map.of("feedback-submit", Map.of(
+                        "default", new RateLimitPolicy(RateLimitAlgorithm.SLIDING_WINDOW, 10, Duration.ofDays(1)),
+                        "admin", new RateLimitPolicy(RateLimitAlgorithm.TOKEN_BUCKET, 100, Duration.ofMinutes(1)))),
+                new RateLimitProperties.DenyCache(Duration.ofMinutes(10), 100),
+                new RateLimitProperties.Breaker(Duration.ofMillis(200), 3, Duration.ofMinutes(1))),
+                new FeedbackMetrics(meterRegistry));
+    }
+
+    @Test
+    void rolesFallBackToDefaultPolicy() {
+        Assertions.assertEquals(100, rateLimiter.policyFor("feedback-submit", "ADMIN").limit());
+        Assertions.assertEquals(10, rateLimiter.policyFor("feedback-submit", "STUDENT").limit());
+        Assertions.assertThrows(IllegalStateException.class, () -> rateLimiter.policyFor("export", "STUDENT"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void allowedCheckReturnsRemaining() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .thenReturn(List.of(1L, 7L, 60_000L));
+
+        RateLimitDecision decision = rateLimiter.check("feedback-submit", "STUDENT", 42);
+
+        Assertions.assertTrue(decision.allowed());
+        Assertions.assertEquals(7, decision.toInfo().remaining());
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of("rate:feedback-submit:sw:42")), any(Object[].class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void deniedSubjectIsRejectedLocallyUntilReset() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .thenReturn(List.of(0L, 0L, 60_000L));
+
+        Assertions.assertFalse(rateLimiter.check("feedback-submit", "STUDENT", 42).allowed());
+        Assertions.assertFalse(rateLimiter.check("feedback-submit", "STUDENT", 42).allowed());
+        Assertions.assertFalse(rateLimiter.check("feedback-submit", "STUDENT", 42).allowed());
+
+        // only the first check reached Redis
+        verify(redisTemplate, times(1)).execute(any(RedisScript.class), anyList(), any(Object[].class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void unreachableRedisFallsBackToLocalCounter() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .thenThrow(new RedisConnectionFailureException("connection refused"));
+
+        for (int i = 0; i < 10; i++) {
+            Assertions.assertTrue(rateLimiter.check("feedback-submit", "STUDENT", 7).allowed());
+        }
+        Assertions.assertFalse(rateLimiter.check("feedback-submit", "STUDENT", 7).allowed());
+
+        // the breaker opened after three failures, the rest never waited on Redis
+        Assertions.assertEquals(RedisCircuitBreaker.State.OPEN, rateLimiter.breakerState());
+        verify(redisTemplate, times(3)).execute(any(RedisScript.class), anyList(), any(Object[].class));
+        Assertions.assertEquals(10, meterRegistry.counter("ratelimit.decisions",
+                "endpoint", "feedback-submit", "mode", RateLimiter.MODE_LOCAL, "outcome", "allowed").count());
+    }
+}
@@ -0,0 +1,100 @@
+package serviceTest;
+
+import com.feedbacks.FeedbackSystem.DTO.EntityDTO.requestDTOs.UserRequestDTO;
+import com.feedbacks.FeedbackSystem.mapper.UserMapper;
+import com.feedbacks.FeedbackSystem.model.User;
+import com.feedbacks.FeedbackSystem.repository.UserRepository;
+import com.feedbacks.FeedbackSystem.security.UserDetailsCache;
+import com.feedbacks.FeedbackSystem.service.cache.CacheInvalidationPublisher;
+import com.feedbacks.FeedbackSystem.service.serviceImple.UserServiceImpl;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+// Two nodes on one invalidation channel: a password change handled by node A must stop node B from
+// accepting the old password, although B had the user's details cached.
+@ExtendWith(MockitoExtension.class)
+public class UserDetailsCacheTest {
+
+    private static final String CHANNEL = "cache-invalidation";
+    private static final String EMAIL = "alice@uni.edu";
+
+    @Mock
+    UserRepository userRepo;
+    @Mock
+    StringRedisTemplate redisTemplate;
+    @Mock
+    RedisMessageListenerContainer listenerContainer;
+
+    PasswordEncoder passwordEncoder = new BCryptPasswordEncoder(4);
+    User user;
+    UserDetailsCache nodeA;
+    UserDetailsCache nodeB;
+
+    @BeforeEach
+    void setUp() {
+        user = new User(7, "alice", "21CS101", EMAIL, passwordEncoder.encode("old-secret"), User.Role.STUDENT, null);
+        nodeA = new UserDetailsCache(Duration.ofMinutes(1), 100, new CacheInvalidationPublisher(redisTemplate, CHANNEL), listenerContainer);
+        nodeB = new UserDetailsCache(Duration.ofMinutes(1), 100, new CacheInvalidationPublisher(redisTemplate, CHANNEL), listenerContainer);
+
+        // Redis delivers every publish to all subscribers, the publisher included
+        when(redisTemplate.convertAndSend(eq(CHANNEL), anyString())).thenAnswer(invocation -> {
+            DefaultMessage message = new DefaultMessage(CHANNEL.getBytes(StandardCharsets.UTF_8),
+                    invocation.<String>getArgument(1).getBytes(StandardCharsets.UTF_8));
+            nodeA.onMessage(message, null);
+            nodeB.onMessage(message, null);
+            return 2L;
+        });
+    }
+
+    // each node's login reads the shared users table through its own cache
+    private DaoAuthenticationProvider login(UserDetailsCache node) {
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider(email -> node.get(email, key ->
+                new org.springframework.security.core.userdetails.User(user.getEmail(), user.getPassword(),
+                        List.of(new SimpleGrantedAuthority("ROLE_" + user.getRole())))));
+        provider.setPasswordEncoder(passwordEncoder);
+        return provider;
+    }
+
+    @Test
+    void passwordChangeOnOneNodeRejectsOldPasswordOnAnother() {
+        // node B caches alice's details on login
+        Assertions.assertTrue(login(nodeB).authenticate(new UsernamePasswordAuthenticationToken(EMAIL, "old-secret")).isAuthenticated());
+
+        UserRequestDTO change = new UserRequestDTO();
+        change.setUsername("alice");
+        change.setIdentityNo("21CS101");
+        change.setEmail(EMAIL);
+        change.setPassword("new-secret");
+        change.setRole(User.Role.STUDENT);
+        when(userRepo.existsById(7)).thenReturn(true);
+        when(userRepo.existsByEmailAndUserIdNot(EMAIL, 7)).thenReturn(false);
+        when(userRepo.findById(7)).thenReturn(Optional.of(user));
+        new UserServiceImpl(userRepo, new UserMapper(passwordEncoder), nodeA).updateUser(7, change);
+
+        Assertions.assertThrows(BadCredentialsException.class,
+                () -> login(nodeB).authenticate(new UsernamePasswordAuthenticationToken(EMAIL, "old-secret")));
+        Assertions.assertTrue(login(nodeB).authenticate(new UsernamePasswordAuthenticationToken(EMAIL, "new-secret")).isAuthenticated());
+    }
+}